@@ -30,6 +30,7 @@ import java.util.logging.Logger;
 
 import jeco.core.benchmarks.Rastringin;
 import jeco.core.operator.comparator.SimpleDominance;
+import jeco.core.problem.PopulationMatrix;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
@@ -157,6 +158,17 @@ public class DifferentialEvolution extends Algorithm<Variable<Double>> {
      * @return target vector
      */
     protected Solution<Variable<Double>> targetVector(int i) {
+        return population.get(targetIndex(i));
+    }
+
+    /**
+     * Returns the index of a target vector selected by random not selected
+     * before, and different to i.
+     *
+     * @param i index of the target vector
+     * @return index of the selected vector
+     */
+    protected int targetIndex(int i) {
 
         int k = 0;
 
@@ -166,7 +178,7 @@ public class DifferentialEvolution extends Algorithm<Variable<Double>> {
 
         alreadyChosen.add(k);
 
-        return population.get(k);
+        return k;
 
     }
 
@@ -174,22 +186,25 @@ public class DifferentialEvolution extends Algorithm<Variable<Double>> {
     public void step() {
         currentGeneration++;
 
+        // Variation runs over the flat genome matrix of the population
+        PopulationMatrix current = PopulationMatrix.of(population);
+        int nVar = current.getNumberOfVariables();
+        double[] x = current.getGenes();
+
         // Mutation phase ******************************************************
         // Create the muted population
-        Solutions<Variable<Double>> noisyVectors = new Solutions<>();
+        PopulationMatrix noisyVectors = new PopulationMatrix(np, nVar, 0);
+        double[] v = noisyVectors.getGenes();
 
         for (int i = 0; i < np; i++) {
             // Target vectors are selected:
-            Solution<Variable<Double>> xa = targetVector(i);
-            Solution<Variable<Double>> xb = targetVector(i);
-            Solution<Variable<Double>> xc = targetVector(i);
+            int a = targetIndex(i) * nVar;
+            int b = targetIndex(i) * nVar;
+            int c = targetIndex(i) * nVar;
+            int row = i * nVar;
 
-            Solution<Variable<Double>> v = population.get(i);
-            // This clone is done just to have a new solution object. Content will be overwritten.
-            Solution<Variable<Double>> noisyVector = v.clone();
-
-            for (int j = 0; j < v.getVariables().size(); j++) {
-                double value = xc.getVariable(j).getValue() + (f * (xa.getVariable(j).getValue() - xb.getVariable(j).getValue()));
+            for (int j = 0; j < nVar; j++) {
+                double value = x[c + j] + (f * (x[a + j] - x[b + j]));
                 if (ceilAndFloor) {
                     // Ceil and floor for mutated values
                     if (value < problem.getLowerBound(j)) {
@@ -198,29 +213,27 @@ public class DifferentialEvolution extends Algorithm<Variable<Double>> {
                         value = problem.getUpperBound(j);
                     }
                 }
-                noisyVector.getVariable(j).setValue(value);
+                v[row + j] = value;
             }
 
-            noisyVectors.add(noisyVector);
-
             // Clean selected targets:
             alreadyChosen.clear();
         }
 
         // Recombination phase ******************************************************
-        // Create the recombined population
+        // Create the recombined population (noisy genes are replaced in place)
         Solutions<Variable<Double>> trialVectors = new Solutions<>();
 
         for (int i = 0; i < np; i++) {
-
-            Solution<Variable<Double>> t = population.get(i).clone();
-
-            for (int j = 0; j < t.getVariables().size(); j++) {
-                if (rnd.nextDouble() < gr) {
-                    t.getVariable(j).setValue(noisyVectors.get(i).getVariable(j).getValue());
+            int row = i * nVar;
+            for (int j = 0; j < nVar; j++) {
+                if (rnd.nextDouble() >= gr) {
+                    v[row + j] = x[row + j];
                 }
             }
 
+            Solution<Variable<Double>> t = population.get(i).clone();
+            noisyVectors.storeGenes(i, t);
             trialVectors.add(t);
 
         }
@@ -28,6 +28,7 @@ import java.util.logging.Logger;
 
 import jeco.core.benchmarks.dtlz.DTLZ1;
 import jeco.core.operator.assigner.CrowdingDistance;
+import jeco.core.operator.assigner.DominanceCache;
 import jeco.core.operator.assigner.FrontsExtractor;
 import jeco.core.operator.comparator.ComparatorNSGAII;
 import jeco.core.operator.comparator.SolutionDominance;
@@ -39,6 +40,7 @@ import jeco.core.operator.selection.BinaryTournamentNSGAII;
 import jeco.core.operator.selection.SelectionOperator;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
+import jeco.core.problem.SolutionPool;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
 import jeco.core.util.logger.JecoLogger;
@@ -93,6 +95,19 @@ public class NSGAII<V extends Variable<?>> extends Algorithm<V> {
      * Selection operator
      */
     protected SelectionOperator<V> selectionOperator;
+    /**
+     * Pool of discarded solutions, null if solutions are not recycled
+     */
+    protected SolutionPool<V> pool = null;
+    /**
+     * Non-dominated sorting algorithm, one of the FrontsExtractor.SORT_* constants
+     */
+    protected int sortAlgorithm = FrontsExtractor.SORT_AUTO;
+    /**
+     * Dominance relations of the survivors, kept between generations when
+     * sortAlgorithm is FrontsExtractor.SORT_CACHED
+     */
+    protected DominanceCache<V> dominanceCache = null;
 
     /**
      * Constructor
@@ -120,6 +135,7 @@ public class NSGAII<V extends Variable<?>> extends Algorithm<V> {
             population = initialSolutions;
         }
         dominance = new SolutionDominance<>();
+        dominanceCache = null;
         problem.evaluate(population);
         // Compute crowding distance
         CrowdingDistance<V> assigner = new CrowdingDistance<>(problem.getNumberOfObjectives());
@@ -181,6 +197,9 @@ public class NSGAII<V extends Variable<?>> extends Algorithm<V> {
 
         // Reducing the union
         population = reduce(mixedPop, maxPopulationSize);
+        if (pool != null) {
+            pool.releaseDiscarded(mixedPop, population);
+        }
         logger.fine("Generation " + currentGeneration + "/" + maxGenerations + "\n" + population.toString());
     } // step
 
@@ -191,7 +210,15 @@ public class NSGAII<V extends Variable<?>> extends Algorithm<V> {
      * @return Reduced population
      */
     public Solutions<V> reduce(Solutions<V> pop, int maxSize) {
-        FrontsExtractor<V> extractor = new FrontsExtractor<V>(dominance);
+        FrontsExtractor<V> extractor;
+        if (sortAlgorithm == FrontsExtractor.SORT_CACHED) {
+            if (dominanceCache == null) {
+                dominanceCache = new DominanceCache<V>(dominance);
+            }
+            extractor = new FrontsExtractor<V>(dominanceCache);
+        } else {
+            extractor = new FrontsExtractor<V>(dominance, sortAlgorithm);
+        }
         ArrayList<Solutions<V>> fronts = extractor.execute(pop);
 
         Solutions<V> reducedPop = new Solutions<V>();
@@ -229,6 +256,7 @@ public class NSGAII<V extends Variable<?>> extends Algorithm<V> {
      */
     public void setCrossoverOperator(CrossoverOperator<V> crossoverOperator) {
         this.crossoverOperator = crossoverOperator;
+        this.crossoverOperator.setSolutionPool(pool);
     }
 
     /**
@@ -239,6 +267,25 @@ public class NSGAII<V extends Variable<?>> extends Algorithm<V> {
         this.selectionOperator = selectionOperator;
     }
 
+    /**
+     * Set the pool used to recycle the solutions discarded in each generation.
+     * The crossover operator takes the offspring from this pool. Solutions
+     * returned by previous steps must not be kept by the caller.
+     * @param pool Solution pool, or null to disable recycling
+     */
+    public void setSolutionPool(SolutionPool<V> pool) {
+        this.pool = pool;
+        crossoverOperator.setSolutionPool(pool);
+    }
+
+    /**
+     * Set the non-dominated sorting algorithm used to extract the fronts
+     * @param sortAlgorithm One of the FrontsExtractor.SORT_* constants
+     */
+    public void setSortAlgorithm(int sortAlgorithm) {
+        this.sortAlgorithm = sortAlgorithm;
+    }
+
     /**
      * Set the maximum number of generations
      * @param maxGenerations Maximum number of generations
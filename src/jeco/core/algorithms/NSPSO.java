@@ -29,6 +29,8 @@ import jeco.core.operator.assigner.CrowdingDistance;
 import jeco.core.operator.assigner.NicheCount;
 import jeco.core.operator.comparator.PropertyComparator;
 import jeco.core.operator.comparator.SolutionDominance;
+import jeco.core.problem.DoubleSolution;
+import jeco.core.problem.NDTreeArchive;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
@@ -110,6 +112,10 @@ public class NSPSO<V extends Variable<Double>> extends Algorithm<V> {
      * External archive
      */
     protected Solutions<V> leaders;
+    /**
+     * Non-dominated archive that holds the external archive
+     */
+    protected NDTreeArchive<V> leadersArchive;
     /**
      * Dominance operator
      */
@@ -219,9 +225,10 @@ public class NSPSO<V extends Variable<Double>> extends Algorithm<V> {
         }
         problem.evaluate(swarm);
         leaders = new Solutions<V>();
+        leadersArchive = new NDTreeArchive<V>();
         dominance = new SolutionDominance<V>();
         for (Solution<V> particle : swarm) {
-            leaders.add(particle.clone());
+            leadersArchive.add(particle.clone());
         }
         reduceExternalArchive(2 * swarmSize);
 
@@ -282,12 +289,12 @@ public class NSPSO<V extends Variable<Double>> extends Algorithm<V> {
         // Add particles to the external archive
         for (int i = 0; i < swarmSize; i++) {
             Solution<V> particle = swarm.get(i);
-            leaders.add(particle.clone());
+            leadersArchive.add(particle.clone());
         }
 
         // Add personal bests
         for (int i = 0; i < swarmSize; ++i) {
-            leaders.add(personalBests.get(i));
+            leadersArchive.add(personalBests.get(i));
         }
 
         reduceExternalArchive(2 * swarmSize);
@@ -304,21 +311,21 @@ public class NSPSO<V extends Variable<Double>> extends Algorithm<V> {
         if (sortingMethod.indexOf("CROWDING_DISTANCE") == 0) {
             CrowdingDistance<V> assigner = new CrowdingDistance<V>(problem.getNumberOfObjectives());
             assigner.execute(leaders);
-            Collections.sort(leaders, new PropertyComparator<V>(CrowdingDistance.propertyCrowdingDistance));
+            Collections.sort(leaders, new PropertyComparator<V>(CrowdingDistance.keyCrowdingDistance));
             if (dynamicParameters) {
                 assigner.execute(swarm);
             }
         } else if (sortingMethod.indexOf("NICHE_COUNT") == 0) {
             NicheCount<V> assigner = new NicheCount<V>(problem.getNumberOfObjectives());
             assigner.execute(leaders);
-            Collections.sort(leaders, new PropertyComparator<V>(NicheCount.propertyNicheCount));
+            Collections.sort(leaders, new PropertyComparator<V>(NicheCount.keyNicheCount));
         } else {
             logger.severe("Sorting method not propertly defined: " + sortingMethod);
         }
 
         double r1, r2, W, C1, C2, cd;
         Solution<V> particle, personalBest, globalBest;
-        V vPart, pBest, gBest;
+        double vPart, pBest, gBest;
 
         for (int i = 0; i < swarmSize; i++) {
             particle = swarm.get(i);
@@ -336,7 +343,7 @@ public class NSPSO<V extends Variable<Double>> extends Algorithm<V> {
             r1 = RandomGenerator.nextDouble();
             r2 = RandomGenerator.nextDouble();
             if (dynamicParameters) {
-                cd = particle.getProperties().get(CrowdingDistance.propertyCrowdingDistance).doubleValue();
+                cd = particle.getProperty(CrowdingDistance.keyCrowdingDistance);
                 if (cd > 1.0) {
                     cd = 1.0;
                 }
@@ -352,13 +359,13 @@ public class NSPSO<V extends Variable<Double>> extends Algorithm<V> {
             }
 
             for (int j = 0; j < problem.getNumberOfVariables(); j++) {
-                vPart = particle.getVariables().get(j);
-                pBest = personalBest.getVariables().get(j);
-                gBest = globalBest.getVariables().get(j);
+                vPart = DoubleSolution.getValue(particle, j);
+                pBest = DoubleSolution.getValue(personalBest, j);
+                gBest = DoubleSolution.getValue(globalBest, j);
                 //Computing the velocity of this particle
                 speeds[i][j] = W * speeds[i][j]
-                        + C1 * r1 * (pBest.getValue() - vPart.getValue())
-                        + C2 * r2 * (gBest.getValue() - vPart.getValue());
+                        + C1 * r1 * (pBest - vPart)
+                        + C2 * r2 * (gBest - vPart);
                 if (dynamicVelocity) {
                     if (speeds[i][j] > delta[j]) {
                         speeds[i][j] = delta[j];
@@ -380,26 +387,27 @@ public class NSPSO<V extends Variable<Double>> extends Algorithm<V> {
         for (int i = 0; i < swarmSize; i++) {
             Solution<V> particle = swarm.get(i);
             for (int j = 0; j < problem.getNumberOfVariables(); j++) {
-                V variable = particle.getVariables().get(j);
-                variable.setValue(variable.getValue() + chi * speeds[i][j]);
-                if (variable.getValue() < problem.getLowerBound(j)) {
-                    variable.setValue(problem.getLowerBound(j));
+                double value = DoubleSolution.getValue(particle, j) + chi * speeds[i][j];
+                if (value < problem.getLowerBound(j)) {
+                    value = problem.getLowerBound(j);
                     speeds[i][j] = speeds[i][j] * -1.0;
                 }
-                if (variable.getValue() > problem.getUpperBound(j)) {
-                    variable.setValue(problem.getUpperBound(j));
+                if (value > problem.getUpperBound(j)) {
+                    value = problem.getUpperBound(j);
                     speeds[i][j] = speeds[i][j] * -1.0;
                 }
+                DoubleSolution.setValue(particle, j, value);
             }
         }
     } // computeNewPositions
 
     /**
-     * Reduce the external archive
+     * Reduce the external archive. The leaders are taken from the
+     * non-dominated archive, and the ones removed are also removed from it
      * @param maxSize Maximum size of the external archive
      */
     public void reduceExternalArchive(int maxSize) {
-        leaders.reduceToNonDominated(dominance);
+        leaders = leadersArchive.getSolutions();
         if (leaders.size() <= maxSize) {
             return;
         }
@@ -407,34 +415,38 @@ public class NSPSO<V extends Variable<Double>> extends Algorithm<V> {
         if (sortingMethod.indexOf("CROWDING_DISTANCE") == 0) {
             CrowdingDistance<V> assigner = new CrowdingDistance<V>(problem.getNumberOfObjectives());
             assigner.execute(leaders);
-            Collections.sort(leaders, new PropertyComparator<V>(CrowdingDistance.propertyCrowdingDistance));
+            Collections.sort(leaders, new PropertyComparator<V>(CrowdingDistance.keyCrowdingDistance));
 
         } else if (sortingMethod.indexOf("NICHE_COUNT") == 0) {
             NicheCount<V> assigner = new NicheCount<V>(problem.getNumberOfObjectives());
             assigner.execute(leaders);
-            Collections.sort(leaders, new PropertyComparator<V>(NicheCount.propertyNicheCount));
+            Collections.sort(leaders, new PropertyComparator<V>(NicheCount.keyNicheCount));
 
         } else {
             logger.severe("Sorting method not propertly defined: " + sortingMethod);
         }
         while (leaders.size() > maxSize) {
             if (sortingMethod.indexOf("CROWDING_DISTANCE") == 0) {
-                leaders.remove(0);
+                leadersArchive.remove(leaders.remove(0));
             } else // NICHE_COUNT
             {
-                leaders.remove(leaders.size() - 1);
+                leadersArchive.remove(leaders.remove(leaders.size() - 1));
             }
         }
 
         if (sortingMethod.indexOf("_REPLACE") > 0) {
             Solutions<V> pIs = problem.newRandomSetOfSolutions(1);
             problem.evaluate(pIs);
+            Solution<V> replaced;
             if (sortingMethod.indexOf("CROWDING_DISTANCE") == 0) {
-                leaders.set(0, pIs.get(0));
+                replaced = leaders.set(0, pIs.get(0));
             } else // NICHE_COUNT
             {
-                leaders.set(leaders.size() - 1, pIs.get(0));
+                replaced = leaders.set(leaders.size() - 1, pIs.get(0));
             }
+            // The random solution is only kept in the archive if it is not dominated
+            leadersArchive.remove(replaced);
+            leadersArchive.add(pIs.get(0));
 
         }
     }
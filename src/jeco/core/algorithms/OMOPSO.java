@@ -28,7 +28,10 @@ import jeco.core.operator.comparator.PropertyComparator;
 import jeco.core.operator.comparator.SolutionDominance;
 import jeco.core.operator.mutation.NonUniformMutation;
 import jeco.core.operator.mutation.UniformMutation;
+import jeco.core.problem.DoubleSolution;
+import jeco.core.problem.NDTreeArchive;
 import jeco.core.problem.Problem;
+import jeco.core.problem.SolutionArchive;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
@@ -71,8 +74,10 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
      * Leaders
      */
     protected Solutions<V> leaders;
-    //private Solutions externalArchive;
-    //private Comparator<Solution> epsilonComparator;
+    /**
+     * Non-dominated archive that holds the leaders (an ND-Tree by default)
+     */
+    protected SolutionArchive<V> leadersArchive = null;
     /**
      * Stores the speed of each particle
      */
@@ -145,10 +150,15 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
             personalBests.add(swarm.get(i).clone());
         }
         leaders = new Solutions<>();
+        if (leadersArchive == null) {
+            leadersArchive = new NDTreeArchive<>();
+        } else {
+            leadersArchive.clear();
+        }
 
         // Create the dominator for equadless and dominance
         objectivesComparator = new SolutionDominance<V>();
-        crowdingDistanceComparator = new PropertyComparator<V>(CrowdingDistance.propertyCrowdingDistance);
+        crowdingDistanceComparator = new PropertyComparator<V>(CrowdingDistance.keyCrowdingDistance);
         crowdingDistanceAssigner = new CrowdingDistance<V>(problem.getNumberOfObjectives());
 
         // Create the speed_ vector
@@ -176,12 +186,11 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
 
         // Step4 and 5
         for (Solution<V> particle : swarm) {
-            leaders.add(particle.clone());
-            //externalArchive.add(new Solution(particle));
+            leadersArchive.add(particle.clone());
         }
 
-        reduceLeaders();
-        //externalArchive.keepParetoNonDominated(epsilonComparator);
+        leaders = leadersArchive.getSolutions();
+        truncateLeaders();
 
         //-> Step 6. Initialize the memory of each particle
         for (int i = 0; i < swarm.size(); ++i) {
@@ -196,14 +205,26 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
      * Reduce the leaders to the swarm size
      */
     public void reduceLeaders() {
-        leaders.reduceToNonDominated(objectivesComparator);
+        leadersArchive.clear();
+        for (Solution<V> leader : leaders) {
+            leadersArchive.add(leader);
+        }
+        leaders = leadersArchive.getSolutions();
+        truncateLeaders();
+    }
+
+    /**
+     * Truncate the leaders, which are already non-dominated, to the swarm size.
+     * The removed leaders are also removed from the archive
+     */
+    protected void truncateLeaders() {
         if (leaders.size() <= swarmSize) {
             return;
         }
         crowdingDistanceAssigner.execute(leaders);
         Collections.sort(leaders, crowdingDistanceComparator);
         while (leaders.size() > swarmSize) {
-            leaders.remove(0);
+            leadersArchive.remove(leaders.remove(0));
         }
     }
 
@@ -213,7 +234,7 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
     private void computeSpeed() {
         double r1, r2, W, C1, C2;
         Solution<V> particle, personalBest, globalBest, one, two;
-        V vPart, pBest, gBest;
+        double vPart, pBest, gBest;
 
         crowdingDistanceAssigner.execute(leaders);
 
@@ -243,13 +264,13 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
             //
 
             for (int j = 0; j < problem.getNumberOfVariables(); ++j) {
-                vPart = particle.getVariables().get(j);
-                pBest = personalBest.getVariables().get(j);
-                gBest = globalBest.getVariables().get(j);
+                vPart = DoubleSolution.getValue(particle, j);
+                pBest = DoubleSolution.getValue(personalBest, j);
+                gBest = DoubleSolution.getValue(globalBest, j);
                 //Computing the velocity of this particle
                 speeds[i][j] = W * speeds[i][j]
-                        + C1 * r1 * (pBest.getValue() - vPart.getValue())
-                        + C2 * r2 * (gBest.getValue() - vPart.getValue());
+                        + C1 * r1 * (pBest - vPart)
+                        + C2 * r2 * (gBest - vPart);
                 if (dynamicVelocity) {
                     if (speeds[i][j] > delta[j]) {
                         speeds[i][j] = delta[j];
@@ -271,16 +292,16 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
             Solution<V> particle = swarm.get(i);
             //particle.move(speed_[i]);
             for (int j = 0; j < problem.getNumberOfVariables(); j++) {
-                V variable = particle.getVariables().get(j);
-                variable.setValue(variable.getValue() + speeds[i][j]);
-                if (variable.getValue() < problem.getLowerBound(j)) {
-                    variable.setValue(problem.getLowerBound(j));
+                double value = DoubleSolution.getValue(particle, j) + speeds[i][j];
+                if (value < problem.getLowerBound(j)) {
+                    value = problem.getLowerBound(j);
                     speeds[i][j] = speeds[i][j] * -1.0;
                 }
-                if (variable.getValue() > problem.getUpperBound(j)) {
-                    variable.setValue(problem.getUpperBound(j));
+                if (value > problem.getUpperBound(j)) {
+                    value = problem.getUpperBound(j);
                     speeds[i][j] = speeds[i][j] * -1.0;
                 }
+                DoubleSolution.setValue(particle, j, value);
             }
         }
     } // computeNewPositions
@@ -352,11 +373,10 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
         //Actualize the archive
         for (int i = 0; i < swarm.size(); i++) {
             Solution<V> particle = swarm.get(i).clone();
-            leaders.add(particle);
-            //externalArchive.add(new Solution(particle));
+            leadersArchive.add(particle);
         }
-        reduceLeaders();
-        //externalArchive.keepParetoNonDominated(epsilonComparator);
+        leaders = leadersArchive.getSolutions();
+        truncateLeaders();
 
         //Crowding the leaders_
         //crowdingDistanceAssigner.execute(leaders);
@@ -378,6 +398,15 @@ public class OMOPSO<V extends Variable<Double>> extends Algorithm<V> {
         this.maxT = maxT;
     }
 
+    /**
+     * Set the archive that holds the leaders. An EpsilonGridArchive bounds
+     * the number of leaders on degenerate fronts
+     * @param leadersArchive Leaders archive
+     */
+    public void setLeadersArchive(SolutionArchive<V> leadersArchive) {
+        this.leadersArchive = leadersArchive;
+    }
+
    	public static void main(String[] args) throws Exception {
 		JecoLogger.setup();
 		// First create the problem
@@ -0,0 +1,363 @@
+/*
+* File: SMSEMOA.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package jeco.core.algorithms;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.logging.Logger;
+
+import jeco.core.benchmarks.zdt.ZDT1;
+import jeco.core.operator.assigner.IncrementalFronts;
+import jeco.core.operator.comparator.SolutionDominance;
+import jeco.core.operator.crossover.CrossoverOperator;
+import jeco.core.operator.crossover.SBXCrossover;
+import jeco.core.operator.mutation.MutationOperator;
+import jeco.core.operator.mutation.PolynomialMutation;
+import jeco.core.operator.selection.BinaryTournament;
+import jeco.core.operator.selection.SelectionOperator;
+import jeco.core.problem.Problem;
+import jeco.core.problem.Solution;
+import jeco.core.problem.Solutions;
+import jeco.core.problem.Variable;
+import jeco.core.util.indicator.HyperVolumeContributions;
+import jeco.core.util.logger.JecoLogger;
+
+/**
+ * SMS-EMOA algorithm (Beume, Naujoks and Emmerich, 2007).
+ *
+ * Steady-state: each step creates one offspring and inserts it in the
+ * population, and the solution of the worst front with the smallest
+ * exclusive hypervolume contribution is removed. The fronts are updated
+ * incrementally with {@link IncrementalFronts}, and the contributions of the
+ * worst front are kept in a {@link HyperVolumeContributions} engine that is
+ * only updated with the solutions that enter or leave that front.
+ *
+ * @param <V> Variable type
+ */
+public class SMSEMOA<V extends Variable<?>> extends Algorithm<V> {
+
+    private static final Logger logger = Logger.getLogger(SMSEMOA.class.getName());
+    /////////////////////////////////////////////////////////////////////////
+    /**
+     * Maximum number of evaluations
+     */
+    protected int maxEvaluations;
+    /**
+     * Maximum population size
+     */
+    protected int maxPopulationSize;
+    /////////////////////////////////////////////////////////////////////////
+    /**
+     * Dominance comparator
+     */
+    protected Comparator<Solution<V>> dominance;
+    /**
+     * Current number of evaluations
+     */
+    protected int currentEvaluation;
+    /**
+     * Population
+     */
+    protected Solutions<V> population;
+    /**
+     * Fronts of the population
+     */
+    protected IncrementalFronts<V> fronts;
+    /**
+     * Mutation operator
+     */
+    protected MutationOperator<V> mutationOperator;
+    /**
+     * Crossover operator
+     */
+    protected CrossoverOperator<V> crossoverOperator;
+    /**
+     * Selection operator
+     */
+    protected SelectionOperator<V> selectionOperator;
+    /**
+     * Fixed reference point, null to use the nadir point of the worst front
+     * plus an offset
+     */
+    protected double[] referencePoint = null;
+    /**
+     * Offset added to the nadir point of the worst front
+     */
+    protected double offset = 1.0;
+    /**
+     * Hypervolume contributions of the solutions of the worst front
+     */
+    protected HyperVolumeContributions contributions = null;
+    /**
+     * Index in the contributions engine of each solution of the worst front
+     */
+    protected IdentityHashMap<Solution<V>, Integer> contributionIndices = new IdentityHashMap<Solution<V>, Integer>();
+    /**
+     * Solution of each index of the contributions engine
+     */
+    protected ArrayList<Solution<V>> contributors = new ArrayList<Solution<V>>();
+
+    /**
+     * Constructor
+     * @param problem Problem to solve
+     * @param maxPopulationSize Maximum population size
+     * @param maxEvaluations Maximum number of evaluations
+     * @param mutationOperator Mutation operator
+     * @param crossoverOperator Crossover operator
+     * @param selectionOperator Selection operator
+     */
+    public SMSEMOA(Problem<V> problem, int maxPopulationSize, int maxEvaluations, MutationOperator<V> mutationOperator, CrossoverOperator<V> crossoverOperator, SelectionOperator<V> selectionOperator) {
+        super(problem);
+        this.maxPopulationSize = maxPopulationSize;
+        this.maxEvaluations = maxEvaluations;
+        this.mutationOperator = mutationOperator;
+        this.crossoverOperator = crossoverOperator;
+        this.selectionOperator = selectionOperator;
+    }
+
+    @Override
+    public void initialize(Solutions<V> initialSolutions) {
+        if (initialSolutions == null) {
+            population = problem.newRandomSetOfSolutions(maxPopulationSize);
+        } else {
+            population = initialSolutions;
+        }
+        dominance = new SolutionDominance<V>();
+        problem.evaluate(population);
+        currentEvaluation = population.size();
+        fronts = new IncrementalFronts<V>(dominance, population);
+        // Repeated solutions are not in the fronts
+        population = new Solutions<V>();
+        for (Solutions<V> front : fronts.getFronts()) {
+            population.addAll(front);
+        }
+        contributions = null;
+        contributionIndices.clear();
+        contributors.clear();
+    }
+
+    @Override
+    public Solutions<V> execute() {
+        int nextPercentageReport = 10;
+        while (currentEvaluation < maxEvaluations) {
+            step();
+            int percentage = (int) ((currentEvaluation * 100L) / maxEvaluations);
+            if (percentage >= nextPercentageReport) {
+                logger.info(nextPercentageReport + "% performed ...");
+                nextPercentageReport += 10;
+            }
+        }
+        return getCurrentSolution();
+    }
+
+    /**
+     * Get the current solution: the non-dominated solutions of the population.
+     * @return the non-dominated solutions
+     */
+    public Solutions<V> getCurrentSolution() {
+        Solutions<V> solutions = new Solutions<V>();
+        solutions.addAll(fronts.getFront(0));
+        return solutions;
+    }
+
+    @Override
+    public void step() {
+        if (population.size() < 2) {
+            logger.severe("Evaluation: " + currentEvaluation + ". Population size is less than 2.");
+            currentEvaluation = maxEvaluations;
+            return;
+        }
+        Solution<V> parent1 = selectionOperator.execute(population).get(0);
+        Solution<V> parent2 = selectionOperator.execute(population).get(0);
+        Solutions<V> offSpring = crossoverOperator.execute(parent1, parent2);
+        Solution<V> child = offSpring.get(0);
+        mutationOperator.execute(child);
+        Solutions<V> childPop = new Solutions<V>();
+        childPop.add(child);
+        problem.evaluate(childPop);
+        currentEvaluation++;
+
+        if (fronts.insert(child) < 0) {
+            // Repeated solution
+            return;
+        }
+        population.add(child);
+        if (population.size() > maxPopulationSize) {
+            Solution<V> worst = selectWorst();
+            fronts.remove(worst);
+            Integer idx = contributionIndices.remove(worst);
+            if (idx != null) {
+                contributions.remove(idx);
+            }
+            for (int i = population.size() - 1; i >= 0; --i) {
+                if (population.get(i) == worst) {
+                    population.remove(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects the solution to be removed: the solution of the worst front
+     * with the smallest hypervolume contribution.
+     * @return The solution
+     */
+    protected Solution<V> selectWorst() {
+        Solutions<V> worstFront = fronts.getFront(fronts.getNumberOfFronts() - 1);
+        if (worstFront.size() == 1) {
+            return worstFront.get(0);
+        }
+        updateContributions(worstFront);
+        return contributors.get(contributions.getMinimumContributor());
+    }
+
+    /**
+     * Updates the contributions engine to the current worst front: solutions
+     * that are no longer in the worst front are removed from the engine, and
+     * the new ones are added. Then the reference point is updated.
+     * @param worstFront The worst front
+     */
+    protected void updateContributions(Solutions<V> worstFront) {
+        int m = problem.getNumberOfObjectives();
+        double[] reference = referencePoint;
+        if (reference == null) {
+            reference = new double[m];
+            for (int k = 0; k < m; ++k) {
+                reference[k] = Double.NEGATIVE_INFINITY;
+            }
+            for (Solution<V> solution : worstFront) {
+                for (int k = 0; k < m; ++k) {
+                    reference[k] = Math.max(reference[k], solution.getObjectiveValue(k));
+                }
+            }
+            for (int k = 0; k < m; ++k) {
+                reference[k] += offset;
+            }
+        }
+        if (contributions == null) {
+            contributions = new HyperVolumeContributions(m, reference);
+        } else {
+            contributions.setReference(reference);
+        }
+
+        IdentityHashMap<Solution<V>, Boolean> members = new IdentityHashMap<Solution<V>, Boolean>();
+        for (Solution<V> solution : worstFront) {
+            members.put(solution, Boolean.TRUE);
+        }
+        ArrayList<Solution<V>> leaving = new ArrayList<Solution<V>>();
+        for (Solution<V> solution : contributionIndices.keySet()) {
+            if (!members.containsKey(solution)) {
+                leaving.add(solution);
+            }
+        }
+        for (Solution<V> solution : leaving) {
+            contributions.remove(contributionIndices.remove(solution));
+        }
+        for (Solution<V> solution : worstFront) {
+            if (!contributionIndices.containsKey(solution)) {
+                double[] point = new double[m];
+                for (int k = 0; k < m; ++k) {
+                    point[k] = solution.getObjectiveValue(k);
+                }
+                int idx = contributions.add(point);
+                contributionIndices.put(solution, idx);
+                while (contributors.size() <= idx) {
+                    contributors.add(null);
+                }
+                contributors.set(idx, solution);
+            }
+        }
+    }
+
+    /**
+     * Sets the mutation operator
+     * @param mutationOperator Mutation operator
+     */
+    public void setMutationOperator(MutationOperator<V> mutationOperator) {
+        this.mutationOperator = mutationOperator;
+    }
+
+    /**
+     * Sets the crossover operator
+     * @param crossoverOperator Crossover operator
+     */
+    public void setCrossoverOperator(CrossoverOperator<V> crossoverOperator) {
+        this.crossoverOperator = crossoverOperator;
+    }
+
+    /**
+     * Sets the selection operator
+     * @param selectionOperator Selection operator
+     */
+    public void setSelectionOperator(SelectionOperator<V> selectionOperator) {
+        this.selectionOperator = selectionOperator;
+    }
+
+    /**
+     * Sets a fixed reference point for the hypervolume contributions. It must
+     * be dominated by all the solutions.
+     * @param referencePoint Reference point, or null to use the nadir point of
+     * the worst front plus the offset
+     */
+    public void setReferencePoint(double[] referencePoint) {
+        this.referencePoint = referencePoint;
+    }
+
+    /**
+     * Sets the offset added to the nadir point of the worst front to obtain
+     * the reference point
+     * @param offset Offset
+     */
+    public void setOffset(double offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Sets the maximum number of evaluations
+     * @param maxEvaluations Maximum number of evaluations
+     */
+    public void setMaxEvaluations(int maxEvaluations) {
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /**
+     * Sets the maximum population size
+     * @param maxPopulationSize Maximum population size
+     */
+    public void setMaxPopulationSize(int maxPopulationSize) {
+        this.maxPopulationSize = maxPopulationSize;
+    }
+
+    public static void main(String[] args) {
+		JecoLogger.setup();
+		// First create the problem
+		ZDT1 problem = new ZDT1(30);
+		// Second create the algorithm
+		SMSEMOA<Variable<Double>> algorithm = new SMSEMOA<Variable<Double>>(problem, 100, 25000, new PolynomialMutation<Variable<Double>>(problem), new SBXCrossover<Variable<Double>>(problem), new BinaryTournament<Variable<Double>>());
+		algorithm.initialize();
+		Solutions<Variable<Double>> solutions = algorithm.execute();
+		logger.info("solutions.size()="+ solutions.size());
+		System.out.println(solutions.toString());
+	}
+}
@@ -24,11 +24,11 @@ package jeco.core.algorithms;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.PriorityQueue;
 import java.util.logging.Logger;
 
 import jeco.core.benchmarks.zdt.ZDT1;
-import jeco.core.operator.comparator.ArrayDominance;
 import jeco.core.operator.comparator.PropertyComparator;
 import jeco.core.operator.comparator.SolutionDominance;
 import jeco.core.operator.crossover.CrossoverOperator;
@@ -37,8 +37,12 @@ import jeco.core.operator.mutation.MutationOperator;
 import jeco.core.operator.mutation.PolynomialMutation;
 import jeco.core.operator.selection.BinaryTournament;
 import jeco.core.operator.selection.SelectionOperator;
+import jeco.core.problem.DistanceMatrix;
+import jeco.core.problem.PopulationMatrix;
 import jeco.core.problem.Problem;
+import jeco.core.problem.PropertyKey;
 import jeco.core.problem.Solution;
+import jeco.core.problem.SolutionPool;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
 
@@ -48,6 +52,10 @@ import jeco.core.problem.Variable;
  */
 public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
     private static final Logger logger = Logger.getLogger(SPEA2.class.getName());
+    /**
+     * Registered key for the SPEA2 fitness.
+     */
+    public static final PropertyKey<Double> keyFitness = PropertyKey.register("fitness", Double.class);
     /////////////////////////////////////////////////////////////////////////
     /**
      * Maximum number of generations
@@ -86,10 +94,23 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
      * Selection operator
      */
     protected SelectionOperator<T> selectionOperator;
+    /**
+     * Pool of discarded solutions, null if solutions are not recycled
+     */
+    protected SolutionPool<T> pool = null;
     /**
      * K/sigma value
      */
     protected int K;
+    /**
+     * Distances between the solutions of the last call to assignFitness,
+     * reused by reduce in the same generation
+     */
+    protected DistanceMatrix distances = null;
+    /**
+     * Solutions of the distance matrix, by row
+     */
+    protected Solutions<T> distanceSolutions = null;
 
     /**
      * Constructor
@@ -148,8 +169,13 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
         } else if (unionReduced.size() > maxPopulationSize) {
             unionReduced = reduce(unionReduced, maxPopulationSize);
         }
+        distances = null;
+        distanceSolutions = null;
 
         archive = unionReduced;
+        if (pool != null) {
+            pool.releaseDiscarded(union, archive);
+        }
         if (currentGeneration == maxGenerations) {
             return;
         }
@@ -222,24 +248,17 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
         }
 
         // Assigns density
+        distances = new DistanceMatrix(PopulationMatrix.ofObjectives(solutions));
+        distanceSolutions = solutions;
+        int k = Math.min(K, popSize - 1);
         for (i = 0; i < popSize; ++i) {
-            sigma = computeSigma(i, solutions);
+            sigma = distances.kthSmallest(i, k);
             density[i] = 1 / (sigma + 2);
             fitness = raw[i] + density[i];
-            solutions.get(i).getProperties().put("fitness", fitness);
+            solutions.get(i).setProperty(keyFitness, fitness);
         }
     }
 
-    /**
-     * Computes the sigma value for a solution
-     * @param i Solution index
-     * @param solutions Solutions
-     * @return Sigma value
-     */
-    private double computeSigma(int i, Solutions<T> solutions) {
-        return computeSigmas(i, solutions).get(K);
-    }
-
     /**
      * Computes the euclidean distance between two solutions
      * @param sol1 Solution 1
@@ -257,23 +276,32 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
     }
 
     /**
-     * Computes the sigmas for a solution
-     * @param i Solution index
-     * @param solutions Solutions
-     * @return Sigmas
+     * Gets the distances between the solutions of a population, taken from
+     * the matrix of the last call to assignFitness when the population is a
+     * subset of its solutions.
+     * @param pop Population
+     * @return Distances between the solutions of the population
      */
-    private ArrayList<Double> computeSigmas(int i, Solutions<T> solutions) {
-        int popSize = solutions.size();
-        int j;
-        double distance;
-        ArrayList<Double> distancesToI = new ArrayList<Double>();
-        Solution<T> solI = solutions.get(i);
-        for (j = 0; j < popSize; j++) {
-            distance = euclideanDistance(solI, solutions.get(j));
-            distancesToI.add(distance);
+    protected DistanceMatrix distancesOf(Solutions<T> pop) {
+        if (distances != null) {
+            IdentityHashMap<Solution<T>, Integer> rowOf = new IdentityHashMap<Solution<T>, Integer>();
+            for (int i = 0; i < distanceSolutions.size(); ++i) {
+                rowOf.put(distanceSolutions.get(i), i);
+            }
+            int[] rows = new int[pop.size()];
+            for (int i = 0; i < rows.length; ++i) {
+                Integer row = rowOf.get(pop.get(i));
+                if (row == null) {
+                    rows = null;
+                    break;
+                }
+                rows[i] = row;
+            }
+            if (rows != null) {
+                return new DistanceMatrix(distances, rows);
+            }
         }
-        Collections.sort(distancesToI);
-        return distancesToI;
+        return new DistanceMatrix(PopulationMatrix.ofObjectives(pop));
     }
 
     /**
@@ -286,7 +314,7 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
         Solution<T> indI;
         for (int i = 0; i < pop.size(); ++i) {
             indI = pop.get(i);
-            if (indI.getProperties().get("fitness").doubleValue() < 1) {
+            if (indI.getProperty(keyFitness) < 1) {
                 result.add(indI);
             }
         }
@@ -302,10 +330,10 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
     public void expand(Solutions<T> pop, Solutions<T> all, int nElems) {
         int i = 0, count = 0, allSize = all.size();
         Solution<T> indI;
-        Collections.sort(all, new PropertyComparator<T>("fitness"));
+        Collections.sort(all, new PropertyComparator<T>(keyFitness));
         for (i = 0; i < allSize; ++i) {
             indI = all.get(i);
-            if (indI.getProperties().get("fitness").doubleValue() >= 1) {
+            if (indI.getProperty(keyFitness) >= 1) {
                 pop.add(indI);
                 count++;
                 if (count == nElems) {
@@ -316,41 +344,64 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
     }
 
     /**
-     * Reduces the population to a maximum size
+     * Reduces the population to a maximum size with the SPEA2 truncation:
+     * the solution with the smallest distance to its nearest neighbour is
+     * removed, ties broken by the distance to the second nearest one, and so
+     * on. Each solution keeps its neighbours sorted by distance and a pointer
+     * to the nearest one still in the population, and the solutions are kept
+     * in a priority queue by that distance. After a removal only the
+     * solutions whose nearest neighbour was removed are updated.
      * @param pop Population
      * @param maxSize Maximum size
      * @return Reduced population
      */
     public Solutions<T> reduce(Solutions<T> pop, int maxSize) {
-        int i, min;
-        ArrayList<ArrayList<Double>> allSigmas = new ArrayList<ArrayList<Double>>();
-        HashSet<Integer> erased = new HashSet<Integer>();
-        int toErase = pop.size() - maxSize;
-        ArrayDominance comparator = new ArrayDominance();
-
-        for (i = 0; i < pop.size(); i++) {
-            allSigmas.add(computeSigmas(i, pop));
+        int i, size = pop.size();
+        int toErase = size - maxSize;
+        DistanceMatrix matrix = distancesOf(pop);
+        int[][] neighbours = new int[size][];
+        int[] heads = new int[size];
+        boolean[] erased = new boolean[size];
+        PriorityQueue<Crowding> queue = new PriorityQueue<Crowding>();
+        for (i = 0; i < size; i++) {
+            neighbours[i] = matrix.sortedNeighbours(i);
+            queue.add(new Crowding(i, 0, nearestDistance(matrix, neighbours[i], 0, i)));
         }
 
-        while (erased.size() < toErase) {
-            min = 0;
-            while (erased.contains(min)) {
-                min++;
+        ArrayList<Crowding> ties = new ArrayList<Crowding>();
+        for (int count = 0; count < toErase; count++) {
+            Crowding min = pollValid(queue, heads, erased);
+            Crowding next = pollValid(queue, heads, erased);
+            while (next != null && next.distance == min.distance) {
+                if (compareNeighbours(matrix, neighbours, heads, erased, next.index, min.index) < 0) {
+                    ties.add(min);
+                    min = next;
+                } else {
+                    ties.add(next);
+                }
+                next = pollValid(queue, heads, erased);
+            }
+            if (next != null) {
+                queue.add(next);
             }
-            for (i = 0; i < pop.size(); i++) {
-                if (i == min || erased.contains(i)) {
+            queue.addAll(ties);
+            ties.clear();
+            erased[min.index] = true;
+            // Solutions whose nearest neighbour has been removed
+            for (i = 0; i < size; i++) {
+                if (erased[i] || heads[i] >= neighbours[i].length || neighbours[i][heads[i]] != min.index) {
                     continue;
                 }
-                if (comparator.compare(allSigmas.get(i), allSigmas.get(min)) == -1) {
-                    min = i;
-                }
+                do {
+                    heads[i]++;
+                } while (heads[i] < neighbours[i].length && erased[neighbours[i][heads[i]]]);
+                queue.add(new Crowding(i, heads[i], nearestDistance(matrix, neighbours[i], heads[i], i)));
             }
-            erased.add(min);
         }
 
         Solutions<T> result = new Solutions<T>();
-        for (i = 0; i < pop.size(); i++) {
-            if (!erased.contains(i)) {
+        for (i = 0; i < size; i++) {
+            if (!erased[i]) {
                 result.add(pop.get(i));
             }
         }
@@ -358,6 +409,63 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
         return result;
     }
 
+    /**
+     * Distance from a solution to a neighbour
+     * @param matrix Distances between the solutions
+     * @param neighbours Sorted neighbours of the solution
+     * @param head Position of the neighbour
+     * @param i Solution index
+     * @return Distance, infinity if there are no neighbours left
+     */
+    private double nearestDistance(DistanceMatrix matrix, int[] neighbours, int head, int i) {
+        return (head < neighbours.length) ? matrix.get(i, neighbours[head]) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Takes the next up-to-date entry of the queue
+     * @param queue Priority queue
+     * @param heads Position of the nearest neighbour of each solution
+     * @param erased Solutions removed
+     * @return The entry, null if the queue is empty
+     */
+    private Crowding pollValid(PriorityQueue<Crowding> queue, int[] heads, boolean[] erased) {
+        Crowding entry = queue.poll();
+        while (entry != null && (erased[entry.index] || heads[entry.index] != entry.head)) {
+            entry = queue.poll();
+        }
+        return entry;
+    }
+
+    /**
+     * Compares the sorted distances from two solutions to the remaining ones
+     * @param matrix Distances between the solutions
+     * @param neighbours Sorted neighbours of each solution
+     * @param heads Position of the nearest neighbour of each solution
+     * @param erased Solutions removed
+     * @param a First solution
+     * @param b Second solution
+     * @return Negative if the first solution is more crowded, positive if
+     * the second one is, 0 if they are equal
+     */
+    private int compareNeighbours(DistanceMatrix matrix, int[][] neighbours, int[] heads, boolean[] erased, int a, int b) {
+        int posA = heads[a], posB = heads[b];
+        while (true) {
+            while (posA < neighbours[a].length && erased[neighbours[a][posA]]) {
+                posA++;
+            }
+            while (posB < neighbours[b].length && erased[neighbours[b][posB]]) {
+                posB++;
+            }
+            if (posA >= neighbours[a].length || posB >= neighbours[b].length) {
+                return Integer.compare(a, b);
+            }
+            int compare = Double.compare(matrix.get(a, neighbours[a][posA++]), matrix.get(b, neighbours[b][posB++]));
+            if (compare != 0) {
+                return compare;
+            }
+        }
+    }
+
     /**
      * Sets the mutation operator
      * @param mutationOperator Mutation operator
@@ -372,6 +480,7 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
      */
     public void setCrossoverOperator(CrossoverOperator<T> crossoverOperator) {
         this.crossoverOperator = crossoverOperator;
+        this.crossoverOperator.setSolutionPool(pool);
     }
 
     /**
@@ -382,6 +491,17 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
         this.selectionOperator = selectionOperator;
     }
 
+    /**
+     * Sets the pool used to recycle the solutions discarded from the archive
+     * in each generation. The crossover operator takes the offspring from this
+     * pool. Solutions returned by previous steps must not be kept by the caller.
+     * @param pool Solution pool, or null to disable recycling
+     */
+    public void setSolutionPool(SolutionPool<T> pool) {
+        this.pool = pool;
+        crossoverOperator.setSolutionPool(pool);
+    }
+
     /**
      * Sets the maximum number of generations
      * @param maxGenerations Maximum number of generations
@@ -407,5 +527,27 @@ public class SPEA2<T extends Variable<?>> extends Algorithm<T> {
 		logger.info("solutions.size()="+ solutions.size());
 		System.out.println(solutions.toString());
 	}
+
+    /**
+     * Entry of the truncation queue: a solution and the distance to its
+     * nearest remaining neighbour
+     */
+    private static final class Crowding implements Comparable<Crowding> {
+        private final int index;
+        private final int head;
+        private final double distance;
+
+        Crowding(int index, int head, double distance) {
+            this.index = index;
+            this.head = head;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Crowding other) {
+            int compare = Double.compare(distance, other.distance);
+            return (compare != 0) ? compare : Integer.compare(index, other.index);
+        }
+    }
 } // Spea2
 
@@ -34,6 +34,7 @@ import jeco.core.operator.selection.BinaryTournament;
 import jeco.core.operator.selection.SelectionOperator;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
+import jeco.core.problem.SolutionPool;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
 import jeco.core.util.logger.JecoLogger;
@@ -87,6 +88,10 @@ public class SimpleGeneticAlgorithm<V extends Variable<?>> extends Algorithm<V>
      * Selection operator.
      */
     protected SelectionOperator<V> selectionOperator;
+    /**
+     * Pool of discarded solutions, null if solutions are not recycled.
+     */
+    protected SolutionPool<V> pool = null;
 
     /**
      * Constructor.
@@ -163,10 +168,13 @@ public class SimpleGeneticAlgorithm<V extends Variable<?>> extends Algorithm<V>
             }
         } // for
         problem.evaluate(childPop);
+        if (pool != null) {
+            pool.releaseAll(population);
+        }
         population = childPop;
         //Actualize the archive
         for (Solution<V> solution : population) {
-            Solution<V> clone = solution.clone();
+            Solution<V> clone = (pool == null) ? solution.clone() : pool.copyOf(solution);
             leaders.add(clone);
         }
         reduceLeaders();
@@ -177,28 +185,49 @@ public class SimpleGeneticAlgorithm<V extends Variable<?>> extends Algorithm<V>
      */
     public void reduceLeaders() {
         Collections.sort(leaders, dominance);
-        // Remove repetitions:
-        int compare;
-        Solution<V> solI;
-        Solution<V> solJ;
-        for (int i = 0; i < leaders.size() - 1; i++) {
-            solI = leaders.get(i);
-            for (int j = i + 1; j < leaders.size(); j++) {
-                solJ = leaders.get(j);
-                compare = dominance.compare(solI, solJ);
-                if (compare == 0) { // i == j, just one copy
-                    leaders.remove(j--);
+        // Remove repetitions. Once sorted, equal solutions are contiguous:
+        if (!leaders.isEmpty()) {
+            int last = 0;
+            Solution<V> solI;
+            for (int i = 1; i < leaders.size(); i++) {
+                solI = leaders.get(i);
+                if (dominance.compare(leaders.get(last), solI) == 0) { // i == last, just one copy
+                    release(solI);
+                } else {
+                    leaders.set(++last, solI);
                 }
             }
+            leaders.subList(last + 1, leaders.size()).clear();
         }
         if (leaders.size() <= maxPopulationSize) {
             return;
         }
         while (leaders.size() > maxPopulationSize) {
-            leaders.remove(leaders.size() - 1);
+            release(leaders.remove(leaders.size() - 1));
+        }
+    }
+
+    /**
+     * Returns a discarded solution to the pool, if any.
+     * @param solution The solution.
+     */
+    protected void release(Solution<V> solution) {
+        if (pool != null) {
+            pool.release(solution);
         }
     }
 
+    /**
+     * Sets the pool used to recycle the solutions discarded in each
+     * generation. The crossover operator takes the offspring from this pool.
+     * Solutions returned by previous steps must not be kept by the caller.
+     * @param pool Solution pool, or null to disable recycling.
+     */
+    public void setSolutionPool(SolutionPool<V> pool) {
+        this.pool = pool;
+        crossoverOperator.setSolutionPool(pool);
+    }
+
     /**
      * Get the population of solutions.
      * @return Population of solutions.
@@ -21,6 +21,7 @@
 package jeco.core.algorithms;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -70,6 +71,10 @@ public class TabuSearch<V extends Variable<?>> extends Algorithm<V> {
      * Tabu list.
      */
     protected Solutions<V> tabuList = new Solutions<>();
+    /**
+     * Solutions of the tabu list, for constant-time membership queries.
+     */
+    protected HashSet<Solution<V>> tabuSet = new HashSet<>();
     /**
      * Comparator for the objectives.
      */
@@ -118,7 +123,7 @@ public class TabuSearch<V extends Variable<?>> extends Algorithm<V> {
         // Let's check if the best neighbor is in the tabu list
         while(bestNeighbor == null && !neighbors.isEmpty()) {
             bestNeighbor = neighbors.remove(0);
-            if(tabuList.contains(bestNeighbor)) {
+            if(tabuSet.contains(bestNeighbor)) {
                 bestNeighbor = null;
             }
         }
@@ -128,8 +133,9 @@ public class TabuSearch<V extends Variable<?>> extends Algorithm<V> {
             }
             currentSolution = bestNeighbor.clone();
             tabuList.add(0, bestNeighbor); // Add the best neighbor to the tabu list
+            tabuSet.add(bestNeighbor);
             if(tabuList.size() > tabuSize) {
-                tabuList.remove(tabuList.size() - 1);
+                tabuSet.remove(tabuList.remove(tabuList.size() - 1));
             }
         }
         currentIteration++;
@@ -21,6 +21,7 @@ package jeco.core.benchmarks;
 
 import java.util.logging.Logger;
 
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
@@ -64,31 +65,23 @@ public class Rastringin extends Problem<Variable<Double>> {
     public Solutions<Variable<Double>> newRandomSetOfSolutions(int size) {
         Solutions<Variable<Double>> solutions = new Solutions<Variable<Double>>();
         for (int i = 0; i < size; ++i) {
-            Solution<Variable<Double>> solI = new Solution<Variable<Double>>(numberOfObjectives);
+            DoubleSolution solI = new DoubleSolution(numberOfVariables, numberOfObjectives);
             for (int j = 0; j < numberOfVariables; ++j) {
-                Variable<Double> varJ = new Variable<Double>(RandomGenerator.nextDouble(lowerBound[j], upperBound[j]));
-                solI.getVariables().add(varJ);
+                solI.setGene(j, RandomGenerator.nextDouble(lowerBound[j], upperBound[j]));
             }
             solutions.add(solI);
         }
         return solutions;
     }
 
-    @Override
-    public void evaluate(Solutions<Variable<Double>> solutions) {
-        for (Solution<Variable<Double>> solution : solutions) {
-            evaluate(solution);
-        }
-    }
-
     @Override
     public void evaluate(Solution<Variable<Double>> solution) {
         double fitness = 10 * super.numberOfVariables;
         for (int i = 0; i < numberOfVariables; ++i) {
-            double xi = solution.getVariables().get(i).getValue();
+            double xi = DoubleSolution.getValue(solution, i);
             fitness += Math.pow(xi, 2) - 10 * Math.cos(2 * Math.PI * xi);
         }
-        solution.getObjectives().set(0, fitness);
+        solution.setObjective(0, fitness);
         if (fitness < bestValue) {
             logger.info("Best value found: " + fitness);
             bestValue = fitness;
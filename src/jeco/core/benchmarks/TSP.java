@@ -85,12 +85,6 @@ public class TSP extends Problem<Variable<Integer>> {
         }
     } // TSP
     
-    @Override
-    public void evaluate(Solutions<Variable<Integer>> solutions) {
-    	for(Solution<Variable<Integer>> solution : solutions)
-    		evaluate(solution);
-    }
-
     @Override
     public void evaluate(Solution<Variable<Integer>> solution) {
         double fitness;
@@ -19,8 +19,7 @@
  */
 package jeco.core.benchmarks.dtlz;
 
-import java.util.ArrayList;
-
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
 
@@ -70,24 +69,23 @@ public class DTLZ2 extends DTLZ {
 
     @Override
     public void evaluate(Solution<Variable<Double>> solution) {
-        ArrayList<Variable<Double>> variables = solution.getVariables();
         int k = numberOfVariables - numberOfObjectives + 1;
         double f = 0, g = 0;
         for (int i = numberOfVariables - k + 1; i <= numberOfVariables; ++i) {
-            g += Math.pow(variables.get(i-1).getValue() - 0.5, 2);
+            g += Math.pow(DoubleSolution.getValue(solution, i-1) - 0.5, 2);
         }
 
         for (int i = 1; i <= numberOfObjectives; i++) {
             f = (1 + g);
             for (int j = numberOfObjectives - i; j >= 1; j--) {
-                f *= Math.cos(variables.get(j-1).getValue() * Math.PI / 2);
+                f *= Math.cos(DoubleSolution.getValue(solution, j-1) * Math.PI / 2);
             }
 
             if (i > 1) {
-                f *= Math.sin(variables.get(numberOfObjectives-i).getValue() * Math.PI / 2);
+                f *= Math.sin(DoubleSolution.getValue(solution, numberOfObjectives-i) * Math.PI / 2);
             }
 
-            solution.getObjectives().set(i - 1, f);
+            solution.setObjective(i - 1, f);
         } // for
     }
     
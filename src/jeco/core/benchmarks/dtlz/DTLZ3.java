@@ -19,8 +19,7 @@
  */
 package jeco.core.benchmarks.dtlz;
 
-import java.util.ArrayList;
-
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
 
@@ -70,14 +69,13 @@ public class DTLZ3 extends DTLZ {
 
     @Override
     public void evaluate(Solution<Variable<Double>> solution) {
-        ArrayList<Variable<Double>> variables = solution.getVariables();
 
         double[] x = new double[numberOfVariables];
         double[] f = new double[numberOfObjectives];
         int k = numberOfVariables - numberOfObjectives + 1;
 
         for (int i = 0; i < numberOfVariables; i++) {
-            x[i] = variables.get(i).getValue();
+            x[i] = DoubleSolution.getValue(solution, i);
         }
 
         double g = 0.0;
@@ -101,7 +99,7 @@ public class DTLZ3 extends DTLZ {
         } //for
 
         for (int i = 0; i < numberOfObjectives; i++) {
-            solution.getObjectives().set(i, f[i]);
+            solution.setObjective(i, f[i]);
         }
     }
     
@@ -19,8 +19,7 @@
  */
 package jeco.core.benchmarks.dtlz;
 
-import java.util.ArrayList;
-
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
 
@@ -74,16 +73,15 @@ public class DTLZ5 extends DTLZ {
         int k = numberOfVariables - numberOfObjectives + 1; // For 3-objective test functions
 
         double g = 0;
-        ArrayList<Variable<Double>> variables = solution.getVariables();
         for (int i = numberOfVariables - k + 1; i <= numberOfVariables; i++) {
-            g += Math.pow(variables.get(i - 1).getValue() - 0.5, 2);
+            g += Math.pow(DoubleSolution.getValue(solution, i - 1) - 0.5, 2);
         }
 
         double t = Math.PI / (4.0 * (1.0 + g));
-        theta[0] = variables.get(0).getValue() * Math.PI / 2.0;
+        theta[0] = DoubleSolution.getValue(solution, 0) * Math.PI / 2.0;
 
         for (int i = 2; i <= (numberOfObjectives - 1); i++) {
-            theta[i - 1] = t * (1.0 + 2.0 * g * variables.get(i - 1).getValue());
+            theta[i - 1] = t * (1.0 + 2.0 * g * DoubleSolution.getValue(solution, i - 1));
         }
 
         for (int i = 1; i <= numberOfObjectives; i++) {
@@ -94,7 +92,7 @@ public class DTLZ5 extends DTLZ {
             if (i > 1) {
                 f *= Math.sin(theta[numberOfObjectives - i]);
             }
-            solution.getObjectives().set(i - 1, f);
+            solution.setObjective(i - 1, f);
         } // for
     }
     
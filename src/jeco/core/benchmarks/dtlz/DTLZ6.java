@@ -19,8 +19,7 @@
  */
 package jeco.core.benchmarks.dtlz;
 
-import java.util.ArrayList;
-
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
 
@@ -70,7 +69,6 @@ public class DTLZ6 extends DTLZ {
 
     @Override
     public void evaluate(Solution<Variable<Double>> solution) {
-        ArrayList<Variable<Double>> variables = solution.getVariables();
 
         double[] x = new double[numberOfVariables];
         double[] f = new double[numberOfObjectives];
@@ -78,7 +76,7 @@ public class DTLZ6 extends DTLZ {
         int k = numberOfVariables - numberOfObjectives + 1;
 
         for (int i = 0; i < numberOfVariables; i++) {
-            x[i] = variables.get(i).getValue();
+            x[i] = DoubleSolution.getValue(solution, i);
         }
 
         double g = 0.0;
@@ -107,7 +105,7 @@ public class DTLZ6 extends DTLZ {
         } // for
 
         for (int i = 0; i < numberOfObjectives; i++) {
-            solution.getObjectives().set(i, f[i]);
+            solution.setObjective(i, f[i]);
         }
     }
     
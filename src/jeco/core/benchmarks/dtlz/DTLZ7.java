@@ -19,8 +19,7 @@
  */
 package jeco.core.benchmarks.dtlz;
 
-import java.util.ArrayList;
-
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
 
@@ -74,25 +73,24 @@ public class DTLZ7 extends DTLZ {
         int k = numberOfVariables - numberOfObjectives + 1;
 
         double g = 0.0;
-        ArrayList<Variable<Double>> variables = solution.getVariables();
         for (int i = numberOfVariables - k + 1; i <= numberOfVariables; i++) {
-            g += variables.get(i - 1).getValue();
+            g += DoubleSolution.getValue(solution, i - 1);
         }
         g = 1.0 + 9.0 * g / k;
 
         for (int i = 1; i <= numberOfObjectives - 1; i++) {
-            solution.getObjectives().set(i - 1, variables.get(i - 1).getValue());
+            solution.setObjective(i - 1, DoubleSolution.getValue(solution, i - 1));
         }
 
         double h = 0.0;
         double xJ_1 = 0.0;
         for (int j = 1; j <= numberOfObjectives - 1; j++) {
-            xJ_1 = variables.get(j - 1).getValue();
+            xJ_1 = DoubleSolution.getValue(solution, j - 1);
             h += xJ_1 / (1.0 + g) * (1.0 + Math.sin(3.0 * Math.PI * xJ_1));
         }
 
         h = numberOfObjectives - h;
-        solution.getObjectives().set(numberOfObjectives - 1, (1 + g) * h);
+        solution.setObjective(numberOfObjectives - 1, (1 + g) * h);
     }
     
     @Override
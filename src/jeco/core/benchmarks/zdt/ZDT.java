@@ -19,6 +19,7 @@
  */
 package jeco.core.benchmarks.zdt;
 
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
@@ -45,22 +46,15 @@ public abstract class ZDT extends Problem<Variable<Double>> {
 	public Solutions<Variable<Double>> newRandomSetOfSolutions(int size) {
 		Solutions<Variable<Double>> solutions = new Solutions<Variable<Double>>();
 		for (int i=0; i<size; ++i) {
-			Solution<Variable<Double>> solI = new Solution<Variable<Double>>(numberOfObjectives);
+			DoubleSolution solI = new DoubleSolution(numberOfVariables, numberOfObjectives);
 			for (int j = 0; j < numberOfVariables; ++j) {
-				Variable<Double> varJ = new Variable<Double>(RandomGenerator.nextDouble(lowerBound[j], upperBound[j]));
-				solI.getVariables().add(varJ);
+				solI.setGene(j, RandomGenerator.nextDouble(lowerBound[j], upperBound[j]));
 			}
 			solutions.add(solI);
 		}
 		return solutions;
 	}
 	
-	@Override
-  public void evaluate(Solutions<Variable<Double>> solutions) {
-  	for(Solution<Variable<Double>> solution : solutions)
-  		this.evaluate(solution);
-  }
-
   /**
    * Evaluate a single solution
    */
@@ -19,9 +19,8 @@
  */
 package jeco.core.benchmarks.zdt;
 
-import java.util.ArrayList;
-
 import jeco.core.operator.comparator.SolutionDominance;
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
@@ -66,21 +65,20 @@ public class ZDT1 extends ZDT {
     @Override
     public void evaluate(Solution<Variable<Double>> solution) {
         for (int i = 0; i < numberOfObjectives; i++) {
-            solution.getObjectives().set(i, 0.0);
+            solution.setObjective(i, 0.0);
         }
         double f1 = 0, g = 0, h = 0;
-        ArrayList<Variable<Double>> variables = solution.getVariables();
-        f1 = variables.get(0).getValue();
+        f1 = DoubleSolution.getValue(solution, 0);
         g = 0;
         for (int j = 1; j < numberOfVariables; ++j) {
-            g += Math.pow(variables.get(j).getValue(), 2);
+            g += Math.pow(DoubleSolution.getValue(solution, j), 2);
         }
         g /= numberOfVariables - 1;
         g *= 9;
         g += 1;
         h = 1 - Math.sqrt(f1 / g);
-        solution.getObjectives().set(0, f1);
-        solution.getObjectives().set(1, g * h);
+        solution.setObjective(0, f1);
+        solution.setObjective(1, g * h);
     }
 
     /**
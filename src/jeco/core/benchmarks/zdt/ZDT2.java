@@ -19,9 +19,8 @@
  */
 package jeco.core.benchmarks.zdt;
 
-import java.util.ArrayList;
-
 import jeco.core.operator.comparator.SolutionDominance;
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
@@ -63,18 +62,17 @@ public class ZDT2 extends ZDT {
 
     @Override
     public void evaluate(Solution<Variable<Double>> solution) {
-        ArrayList<Variable<Double>> variables = solution.getVariables();
-        double f1 = variables.get(0).getValue();
+        double f1 = DoubleSolution.getValue(solution, 0);
         double g = 0;
         for (int j = 1; j < numberOfVariables; ++j) {
-            g += variables.get(j).getValue();
+            g += DoubleSolution.getValue(solution, j);
         }
         g *= 9.0;
         g /= numberOfVariables - 1;
         g += 1.0;
         double h = 1 - (f1 / g) * (f1 / g);
-        solution.getObjectives().set(0, f1);
-        solution.getObjectives().set(1, g * h);
+        solution.setObjective(0, f1);
+        solution.setObjective(1, g * h);
     }
 
     /**
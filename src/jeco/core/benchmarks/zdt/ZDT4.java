@@ -19,9 +19,8 @@
  */
 package jeco.core.benchmarks.zdt;
 
-import java.util.ArrayList;
-
 import jeco.core.operator.comparator.SolutionDominance;
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
@@ -66,18 +65,17 @@ public class ZDT4 extends ZDT {
 
     @Override
     public void evaluate(Solution<Variable<Double>> solution) {
-        ArrayList<Variable<Double>> variables = solution.getVariables();
-        double xJ = variables.get(0).getValue();
+        double xJ = DoubleSolution.getValue(solution, 0);
         double f1 = xJ;
         double g = 0;
         for (int j = 1; j < numberOfVariables; ++j) {
-            xJ = variables.get(j).getValue();
+            xJ = DoubleSolution.getValue(solution, j);
             g += (xJ * xJ - 10.0 * Math.cos(4 * Math.PI * xJ));
         }
         g += (1 + 10 * (numberOfVariables - 1));
         double h = 1 - Math.sqrt(f1 / g);
-        solution.getObjectives().set(0, f1);
-        solution.getObjectives().set(1, g * h);
+        solution.setObjective(0, f1);
+        solution.setObjective(1, g * h);
     }
 
     /**
@@ -19,9 +19,9 @@
  */
 package jeco.core.benchmarks.zdt;
 
-import java.util.ArrayList;
 import java.util.logging.Logger;
 
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
@@ -65,20 +65,19 @@ public class ZDT6 extends ZDT {
 
     @Override
     public void evaluate(Solution<Variable<Double>> solution) {
-        ArrayList<Variable<Double>> variables = solution.getVariables();
-        double x0 = variables.get(0).getValue();
+        double x0 = DoubleSolution.getValue(solution, 0);
         double f1 = 1.0 - Math.exp(-4 * x0) * Math.pow(Math.sin(6 * Math.PI * x0), 6);
         double g = 0;
         for (int j = 1; j < numberOfVariables; ++j) {
-            g += variables.get(j).getValue();
+            g += DoubleSolution.getValue(solution, j);
         }
         g /= (numberOfVariables - 1);
         g = Math.pow(g, 0.25);
         g *= 9;
         g += 1;
         double h = 1 - (f1 / g) * (f1 / g);
-        solution.getObjectives().set(0, f1);
-        solution.getObjectives().set(1, g * h);
+        solution.setObjective(0, f1);
+        solution.setObjective(1, g * h);
     }
 
     /**
@@ -21,18 +21,21 @@
 
 package jeco.core.operator.assigner;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
 
-import jeco.core.operator.comparator.ObjectiveComparator;
+import jeco.core.problem.PropertyKey;
+import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
+import jeco.core.util.IndexSort;
 
 /**
  * Assigns the crowding distance to the solutions in the population.
  * The crowding distance is calculated as the sum of the distances between the
  * solutions in the population in each objective.
  * The crowding distance is stored in the property "crowdingDistance" of the
- * solutions.
+ * solutions (see {@link #keyCrowdingDistance}).
  * 
  */
 public class CrowdingDistance<V extends Variable<?>> {
@@ -45,13 +48,33 @@ public class CrowdingDistance<V extends Variable<?>> {
      * Property name for the crowding distance.
      */
     public static final String propertyCrowdingDistance = "crowdingDistance";
+    /**
+     * Registered key for the crowding distance.
+     */
+    public static final PropertyKey<Double> keyCrowdingDistance = PropertyKey.register(propertyCrowdingDistance, Double.class);
+
+    /**
+     * Whether the objectives are sorted in parallel.
+     */
+    protected boolean parallel;
 
     /**
      * Constructor.
      * @param numberOfObjectives Number of objectives of the problem.
      */
     public CrowdingDistance(int numberOfObjectives) {
+        this(numberOfObjectives, false);
+    }
+
+    /**
+     * Constructor.
+     * @param numberOfObjectives Number of objectives of the problem.
+     * @param parallel Sort the objectives in parallel, in the common
+     * <code>ForkJoinPool</code>. The distances are the same.
+     */
+    public CrowdingDistance(int numberOfObjectives, boolean parallel) {
         this.numberOfObjectives = numberOfObjectives;
+        this.parallel = parallel;
     }
 
     /**
@@ -60,55 +83,123 @@ public class CrowdingDistance<V extends Variable<?>> {
      * solutions in the population in each objective.
      * The crowding distance is stored in the property "crowdingDistance" of the
      * solutions.
+     * The objectives are read once into primitive columns, each objective
+     * sorts an index array, and the distances are accumulated in a
+     * <code>double[]</code>. The result is the same as sorting the population
+     * by each objective in turn with a stable sort.
      * @param arg Population of solutions.
-     * @return Population of solutions with the crowding distance assigned.
+     * @return Population of solutions with the crowding distance assigned,
+     * sorted by the last objective.
      */
     public Solutions<V> execute(Solutions<V> arg) {
         Solutions<V> solutions = new Solutions<V>();
-        solutions.addAll(arg);
-
-        int size = solutions.size();
-        if (size == 0) {
+        int size = arg.size();
+        if (size <= 2) {
+            solutions.addAll(arg);
+            for (Solution<V> solution : solutions) {
+                solution.setProperty(keyCrowdingDistance, Double.POSITIVE_INFINITY);
+            }
             return solutions;
         }
 
-        if (size == 1) {
-            solutions.get(0).getProperties().put(propertyCrowdingDistance, Double.POSITIVE_INFINITY);
-            return solutions;
-        } // if
-
-        if (size == 2) {
-            solutions.get(0).getProperties().put(propertyCrowdingDistance, Double.POSITIVE_INFINITY);
-            solutions.get(1).getProperties().put(propertyCrowdingDistance, Double.POSITIVE_INFINITY);
-            return solutions;
-        } // if
-
-        for (int i = 0; i < size; ++i) {
-            solutions.get(i).getProperties().put(propertyCrowdingDistance, 0.0);
+        final double[][] columns = new double[numberOfObjectives][size];
+        for (int j = 0; j < size; ++j) {
+            Solution<V> solution = arg.get(j);
+            for (int i = 0; i < numberOfObjectives; ++i) {
+                columns[i][j] = solution.getObjectiveValue(i);
+            }
+        }
+        final int[][] orders = new int[numberOfObjectives][];
+        if (parallel && numberOfObjectives > 1) {
+            ArrayList<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+            for (int i = 1; i < numberOfObjectives; ++i) {
+                final int obj = i;
+                RecursiveAction task = new RecursiveAction() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void compute() {
+                        orders[obj] = sortBy(columns, obj);
+                    }
+                };
+                task.fork();
+                tasks.add(task);
+            }
+            orders[0] = sortBy(columns, 0);
+            for (RecursiveAction task : tasks) {
+                task.join();
+            }
+        } else {
+            for (int i = 0; i < numberOfObjectives; ++i) {
+                orders[i] = sortBy(columns, i);
+            }
         }
 
-        double objetiveMaxn;
-        double objetiveMinn;
-        double distance = 0.0;
-
+        double[] distances = new double[size];
         for (int i = 0; i < numberOfObjectives; ++i) {
-            // Sort the population by objective i
-            Collections.sort(solutions, new ObjectiveComparator<V>(i));
-            objetiveMinn = solutions.get(0).getObjectives().get(i);
-            objetiveMaxn = solutions.get(size - 1).getObjectives().get(i);
-
-            //Set the crowding distance
-            solutions.get(0).getProperties().put(propertyCrowdingDistance, Double.POSITIVE_INFINITY);
-            solutions.get(size - 1).getProperties().put(propertyCrowdingDistance, Double.POSITIVE_INFINITY);
-
+            int[] order = orders[i];
+            double[] column = columns[i];
+            double objetiveMinn = column[order[0]];
+            double objetiveMaxn = column[order[size - 1]];
+            distances[order[0]] = Double.POSITIVE_INFINITY;
+            distances[order[size - 1]] = Double.POSITIVE_INFINITY;
             for (int j = 1; j < size - 1; j++) {
-                distance = solutions.get(j + 1).getObjectives().get(i) - solutions.get(j - 1).getObjectives().get(i);
+                double distance = column[order[j + 1]] - column[order[j - 1]];
                 distance = distance / (objetiveMaxn - objetiveMinn);
-                distance += solutions.get(j).getProperties().get(propertyCrowdingDistance).doubleValue();
-                solutions.get(j).getProperties().put(propertyCrowdingDistance, distance);
-            } // for
-        } // for
+                distances[order[j]] += distance;
+            }
+        }
 
+        int[] last = (numberOfObjectives > 0) ? orders[numberOfObjectives - 1] : null;
+        for (int j = 0; j < size; ++j) {
+            arg.get(j).setProperty(keyCrowdingDistance, distances[j]);
+            solutions.add(arg.get((last != null) ? last[j] : j));
+        }
         return solutions;
     }
+
+    /**
+     * Sorts the population by one objective. Ties are broken by the previous
+     * objectives, from the closest one, and then by position, which is the
+     * order a stable sort by each objective in turn produces.
+     * @param columns Objectives, one column per objective.
+     * @param obj Index of the objective.
+     * @return Indexes of the solutions in order.
+     */
+    private static int[] sortBy(final double[][] columns, final int obj) {
+        int n = columns[obj].length;
+        int[] order = new int[n];
+        for (int j = 0; j < n; ++j) {
+            order[j] = j;
+        }
+        IndexSort.sort(order, new IndexSort.IndexComparator() {
+            @Override
+            public int compare(int a, int b) {
+                return CrowdingDistance.compare(columns, obj, a, b);
+            }
+        });
+        return order;
+    }
+
+    /**
+     * Compares two solutions by one objective, then by the previous ones, and
+     * then by position.
+     * @param columns Objectives, one column per objective.
+     * @param obj Index of the objective.
+     * @param a First solution.
+     * @param b Second solution.
+     * @return Negative, zero or positive, as a comparator.
+     */
+    private static int compare(double[][] columns, int obj, int a, int b) {
+        for (int i = obj; i >= 0; --i) {
+            double za = columns[i][a];
+            double zb = columns[i][b];
+            if (za < zb) {
+                return -1;
+            } else if (za > zb) {
+                return 1;
+            }
+        }
+        return Integer.compare(a, b);
+    }
 }
@@ -0,0 +1,420 @@
+/*
+* File: DivideAndConquerSort.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.operator.assigner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jeco.core.problem.PopulationMatrix;
+import jeco.core.problem.Solution;
+import jeco.core.problem.Variable;
+
+/**
+ * Non-dominated sorting for large populations under Pareto dominance
+ * (minimization). Points are sorted lexicographically, so a point can only
+ * be dominated by the ones before it, and then:
+ * <ul>
+ * <li>2 objectives: sweep line over the fronts, O(N log N).</li>
+ * <li>3 objectives: one 2D staircase (balanced tree) per front and a binary
+ * search over the fronts, O(N log^2 N).</li>
+ * <li>More objectives: Jensen/Fortin divide and conquer,
+ * O(N log^(M-1) N).</li>
+ * </ul>
+ * Identical objective vectors get the same rank (0.0 and -0.0 are the same
+ * value). Objectives must not be NaN.
+ */
+public class DivideAndConquerSort {
+
+  /**
+   * Objectives of the distinct points, row-major, in lexicographic order.
+   */
+  private final double[] v;
+  /**
+   * Number of objectives.
+   */
+  private final int m;
+  /**
+   * Rank of each distinct point.
+   */
+  private final int[] rank;
+  /**
+   * Position of each point when sorted by each objective (see
+   * {@link #compareBy(int, int, int)}), computed for the divide and conquer.
+   */
+  private int[][] position = null;
+
+  /**
+   * Constructor.
+   * @param v Distinct points, row-major, in lexicographic order.
+   * @param m Number of objectives.
+   * @param size Number of points.
+   */
+  private DivideAndConquerSort(double[] v, int m, int size) {
+    this.v = v;
+    this.m = m;
+    this.rank = new int[size];
+  }
+
+  /**
+   * Computes the front of each solution, starting at 0.
+   * @param <V> Type of the variables.
+   * @param solutions Set of solutions.
+   * @return The front of each solution.
+   */
+  public static <V extends Variable<?>> int[] computeRanks(List<Solution<V>> solutions) {
+    return computeRanks(PopulationMatrix.ofObjectives(solutions));
+  }
+
+  /**
+   * Computes the front of each row of a matrix, starting at 0.
+   * @param matrix Objectives of the solutions.
+   * @return The front of each row.
+   */
+  public static int[] computeRanks(PopulationMatrix matrix) {
+    final int n = matrix.getSize();
+    final int m = matrix.getNumberOfObjectives();
+    int[] ranks = new int[n];
+    if (n == 0) {
+      return ranks;
+    }
+    // Adding 0.0 turns -0.0 into 0.0, so that Double.compare, the TreeMap
+    // keys and the merge of identical points agree with Pareto dominance
+    final double[] objectives = matrix.getObjectives().clone();
+    for (int i = 0; i < objectives.length; ++i) {
+      objectives[i] += 0.0;
+    }
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; ++i) {
+      order[i] = i;
+    }
+    Comparator<Integer> lexicographic = new Comparator<Integer>() {
+      @Override
+      public int compare(Integer i, Integer j) {
+        for (int k = 0; k < m; ++k) {
+          int comp = Double.compare(objectives[i * m + k], objectives[j * m + k]);
+          if (comp != 0) {
+            return comp;
+          }
+        }
+        return 0;
+      }
+    };
+    Arrays.sort(order, lexicographic);
+    // Merge identical points:
+    int[] point = new int[n];
+    double[] v = new double[n * m];
+    int size = 0;
+    for (int idx = 0; idx < n; ++idx) {
+      if (idx == 0 || lexicographic.compare(order[idx - 1], order[idx]) != 0) {
+        System.arraycopy(objectives, order[idx] * m, v, size * m, m);
+        size++;
+      }
+      point[order[idx]] = size - 1;
+    }
+    DivideAndConquerSort sort = new DivideAndConquerSort(v, m, size);
+    if (m <= 2) {
+      sort.sweep();
+    } else if (m == 3) {
+      sort.staircases();
+    } else {
+      int[] all = new int[size];
+      for (int i = 0; i < size; ++i) {
+        all[i] = i;
+      }
+      sort.computePositions(all);
+      sort.helperA(all, m - 1);
+    }
+    for (int i = 0; i < n; ++i) {
+      ranks[i] = sort.rank[point[i]];
+    }
+    return ranks;
+  }
+
+  /**
+   * Objective k of point p.
+   */
+  private double obj(int p, int k) {
+    return (k < m) ? v[p * m + k] : 0;
+  }
+
+  /**
+   * Sweep line for one or two objectives. The minimum second objective of
+   * each front is non-decreasing with the rank, so the front of each point
+   * is found with a binary search.
+   */
+  private void sweep() {
+    int size = rank.length;
+    double[] frontMin = new double[size];
+    int numberOfFronts = 0;
+    for (int p = 0; p < size; ++p) {
+      double y = obj(p, 1);
+      int lo = 0;
+      int hi = numberOfFronts;
+      while (lo < hi) { // first front whose minimum is greater than y
+        int mid = (lo + hi) >>> 1;
+        if (frontMin[mid] <= y) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      frontMin[lo] = y;
+      if (lo == numberOfFronts) {
+        numberOfFronts++;
+      }
+      rank[p] = lo;
+    }
+  }
+
+  /**
+   * Three objectives. Each front keeps the staircase of its members projected
+   * on the second and third objectives (the first one is already ordered).
+   * If a front dominates a point, so does the previous one, so the front of
+   * each point is found with a binary search.
+   */
+  private void staircases() {
+    int size = rank.length;
+    ArrayList<TreeMap<Double, Double>> fronts = new ArrayList<TreeMap<Double, Double>>();
+    for (int p = 0; p < size; ++p) {
+      double y = obj(p, 1);
+      double z = obj(p, 2);
+      int lo = 0;
+      int hi = fronts.size();
+      while (lo < hi) { // first front that does not dominate p
+        int mid = (lo + hi) >>> 1;
+        Map.Entry<Double, Double> entry = fronts.get(mid).floorEntry(y);
+        if (entry != null && entry.getValue() <= z) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      if (lo == fronts.size()) {
+        fronts.add(new TreeMap<Double, Double>());
+      }
+      TreeMap<Double, Double> stairs = fronts.get(lo);
+      Map.Entry<Double, Double> entry = stairs.ceilingEntry(y);
+      while (entry != null && entry.getValue() >= z) {
+        stairs.remove(entry.getKey());
+        entry = stairs.higherEntry(entry.getKey());
+      }
+      stairs.put(y, z);
+      rank[p] = lo;
+    }
+  }
+
+  /**
+   * Checks whether point a is not worse than point b in objectives 0..k.
+   */
+  private boolean weaklyDominates(int a, int b, int k) {
+    for (int j = 0; j <= k; ++j) {
+      if (v[a * m + j] > v[b * m + j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes the position of every point in the order of each objective,
+   * with ties broken by lexicographic position. Points that are before in
+   * this order cannot be dominated by the ones after them in objectives 0..k.
+   */
+  private void computePositions(int[] all) {
+    position = new int[m][];
+    Integer[] boxed = new Integer[all.length];
+    for (int k = 2; k < m; ++k) {
+      for (int i = 0; i < all.length; ++i) {
+        boxed[i] = all[i];
+      }
+      final int obj = k;
+      Arrays.sort(boxed, new Comparator<Integer>() {
+        @Override
+        public int compare(Integer a, Integer b) {
+          int comp = Double.compare(v[a * m + obj], v[b * m + obj]);
+          return (comp != 0) ? comp : Integer.compare(a, b);
+        }
+      });
+      position[k] = new int[all.length];
+      for (int i = 0; i < all.length; ++i) {
+        position[k][boxed[i]] = i;
+      }
+    }
+  }
+
+  /**
+   * Compares two points by objective k (see {@link #computePositions(int[])}).
+   */
+  private int compareBy(int a, int b, int k) {
+    return Integer.compare(position[k][a], position[k][b]);
+  }
+
+  /**
+   * Sorts a set of points by objective k.
+   */
+  private int[] sortBy(int[] points, int k) {
+    long[] keys = new long[points.length];
+    for (int i = 0; i < points.length; ++i) {
+      keys[i] = ((long) position[k][points[i]] << 32) | points[i];
+    }
+    Arrays.sort(keys);
+    int[] sorted = new int[points.length];
+    for (int i = 0; i < points.length; ++i) {
+      sorted[i] = (int) keys[i];
+    }
+    return sorted;
+  }
+
+  /**
+   * Ranks a set of points (in lexicographic order) taking into account
+   * objectives 0..k.
+   */
+  private void helperA(int[] s, int k) {
+    if (s.length < 2) {
+      return;
+    }
+    if (s.length == 2) {
+      if (weaklyDominates(s[0], s[1], k)) {
+        rank[s[1]] = Math.max(rank[s[1]], rank[s[0]] + 1);
+      }
+      return;
+    }
+    int[] sorted = sortBy(s, k);
+    int half = sorted.length / 2;
+    int[] l = Arrays.copyOfRange(sorted, 0, half);
+    int[] h = Arrays.copyOfRange(sorted, half, sorted.length);
+    Arrays.sort(l);
+    Arrays.sort(h);
+    helperA(l, k);
+    helperB(l, h, k - 1);
+    helperA(h, k);
+  }
+
+  /**
+   * Updates the ranks of the points in h with the (final) ranks of the
+   * points in l, taking into account objectives 0..k. The points of l are
+   * not worse than those of h in the remaining objectives. Both sets are in
+   * lexicographic order.
+   */
+  private void helperB(int[] l, int[] h, int k) {
+    if (l.length == 0 || h.length == 0) {
+      return;
+    }
+    if (l.length == 1 || h.length == 1) {
+      for (int q : h) {
+        for (int p : l) {
+          if (weaklyDominates(p, q, k)) {
+            rank[q] = Math.max(rank[q], rank[p] + 1);
+          }
+        }
+      }
+      return;
+    }
+    if (k == 1) {
+      sweepB(l, h);
+      return;
+    }
+    int lMax = l[0];
+    for (int p : l) {
+      if (compareBy(p, lMax, k) > 0) {
+        lMax = p;
+      }
+    }
+    int hMin = h[0];
+    for (int q : h) {
+      if (compareBy(q, hMin, k) < 0) {
+        hMin = q;
+      }
+    }
+    if (compareBy(lMax, hMin, k) < 0) {
+      helperB(l, h, k - 1);
+      return;
+    }
+    int[] union = new int[l.length + h.length];
+    System.arraycopy(l, 0, union, 0, l.length);
+    System.arraycopy(h, 0, union, l.length, h.length);
+    int median = sortBy(union, k)[union.length / 2];
+    int[][] ls = splitBy(l, median, k);
+    int[][] hs = splitBy(h, median, k);
+    helperB(ls[0], hs[0], k);
+    helperB(ls[0], hs[1], k - 1);
+    helperB(ls[1], hs[1], k);
+  }
+
+  /**
+   * Splits a set of points into those before a pivot by objective k and
+   * the rest, keeping the lexicographic order.
+   */
+  private int[][] splitBy(int[] points, int pivot, int k) {
+    int count = 0;
+    for (int p : points) {
+      if (compareBy(p, pivot, k) < 0) {
+        count++;
+      }
+    }
+    int[] before = new int[count];
+    int[] after = new int[points.length - count];
+    int b = 0;
+    int a = 0;
+    for (int p : points) {
+      if (compareBy(p, pivot, k) < 0) {
+        before[b++] = p;
+      } else {
+        after[a++] = p;
+      }
+    }
+    return new int[][] { before, after };
+  }
+
+  /**
+   * Two-objective case of helperB: a sweep over both sets in lexicographic
+   * order with a staircase of the best rank reached for each value of the
+   * second objective.
+   */
+  private void sweepB(int[] l, int[] h) {
+    TreeMap<Double, Integer> stairs = new TreeMap<Double, Integer>();
+    int i = 0;
+    for (int q : h) {
+      while (i < l.length && l[i] < q) {
+        int p = l[i++];
+        double y = obj(p, 1);
+        Map.Entry<Double, Integer> entry = stairs.floorEntry(y);
+        if (entry != null && entry.getValue() >= rank[p]) {
+          continue;
+        }
+        entry = stairs.ceilingEntry(y);
+        while (entry != null && entry.getValue() <= rank[p]) {
+          stairs.remove(entry.getKey());
+          entry = stairs.higherEntry(entry.getKey());
+        }
+        stairs.put(y, rank[p]);
+      }
+      Map.Entry<Double, Integer> entry = stairs.floorEntry(obj(q, 1));
+      if (entry != null) {
+        rank[q] = Math.max(rank[q], entry.getValue() + 1);
+      }
+    }
+  }
+}
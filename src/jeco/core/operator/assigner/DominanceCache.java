@@ -0,0 +1,306 @@
+/*
+* File: DominanceCache.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.operator.assigner;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jeco.core.problem.Solution;
+import jeco.core.problem.Variable;
+
+/**
+ * Non-dominated sorting that keeps the dominance relations between calls.
+ *
+ * In generational algorithms like NSGA-II, the population sorted in one
+ * generation contains the survivors of the previous one, whose pairwise
+ * relations were already computed. The cache stores them as bitsets (one
+ * row per solution, one bit per other solution), so each call only compares
+ * the solutions it has not seen before with the rest. The fronts are then
+ * peeled from the bitsets (fast non-dominated sort, Deb et al.).
+ *
+ * Solutions are recognized by identity, and a copy of their objectives is
+ * kept to detect solutions that were changed (for instance, recycled through
+ * a <code>SolutionPool</code>), which are compared again. The comparator must
+ * only depend on the objectives, as dominance relations do.
+ *
+ * @param <V> Type of the variables of the solutions.
+ */
+public class DominanceCache<V extends Variable<?>> {
+
+  /**
+   * Comparator used to compare the solutions.
+   */
+  protected Comparator<Solution<V>> comparator;
+  /**
+   * Slot of each cached solution.
+   */
+  private IdentityHashMap<Solution<V>, Integer> slots = new IdentityHashMap<Solution<V>, Integer>();
+  /**
+   * Objectives of the solution in each slot when it was compared.
+   */
+  private double[][] snapshots = new double[0][];
+  /**
+   * Bitset of the slots dominated by each slot.
+   */
+  private long[][] dominates = new long[0][];
+  /**
+   * Bitset of the slots that dominate each slot.
+   */
+  private long[][] dominatedBy = new long[0][];
+  /**
+   * Free slots.
+   */
+  private int[] free = new int[0];
+  /**
+   * Number of free slots.
+   */
+  private int freeSize = 0;
+  /**
+   * Number of slots.
+   */
+  private int capacity = 0;
+  /**
+   * Number of comparisons performed so far.
+   */
+  private long comparisons = 0;
+
+  /**
+   * Constructor.
+   * @param comparator Comparator used to compare the solutions.
+   */
+  public DominanceCache(Comparator<Solution<V>> comparator) {
+    this.comparator = comparator;
+  }
+
+  /**
+   * Computes the front of each solution, starting at 0. Only the pairs that
+   * involve solutions not seen (or changed) since the previous call are
+   * compared. Solutions of the previous call that are not in the set are
+   * dropped from the cache.
+   * @param solutions Set of solutions, without repetitions.
+   * @return The front of each solution.
+   */
+  public int[] computeRanks(List<Solution<V>> solutions) {
+    int n = solutions.size();
+    int[] slotOf = new int[n];
+    IdentityHashMap<Solution<V>, Integer> next = new IdentityHashMap<Solution<V>, Integer>();
+    for (int i = 0; i < n; ++i) {
+      Solution<V> solution = solutions.get(i);
+      Integer slot = slots.get(solution);
+      if (slot != null && !next.containsKey(solution) && sameObjectives(slot, solution)) {
+        slotOf[i] = slot;
+        next.put(solution, slot);
+      } else {
+        slotOf[i] = -1;
+      }
+    }
+    for (Map.Entry<Solution<V>, Integer> entry : slots.entrySet()) {
+      if (!entry.getValue().equals(next.get(entry.getKey()))) {
+        release(entry.getValue());
+      }
+    }
+    slots = next;
+
+    // Compare the new solutions with the ones already placed
+    int[] placed = new int[n];
+    int placedSize = 0;
+    for (int i = 0; i < n; ++i) {
+      if (slotOf[i] >= 0) {
+        placed[placedSize++] = i;
+      }
+    }
+    for (int i = 0; i < n; ++i) {
+      if (slotOf[i] >= 0) {
+        continue;
+      }
+      Solution<V> solution = solutions.get(i);
+      int s = allocate();
+      slotOf[i] = s;
+      slots.put(solution, s);
+      snapshot(s, solution);
+      Arrays.fill(dominates[s], 0);
+      Arrays.fill(dominatedBy[s], 0);
+      for (int t = 0; t < placedSize; ++t) {
+        int j = placed[t];
+        int r = slotOf[j];
+        int compare = comparator.compare(solution, solutions.get(j));
+        comparisons++;
+        set(dominates[s], r, compare < 0);
+        set(dominatedBy[r], s, compare < 0);
+        set(dominatedBy[s], r, compare > 0);
+        set(dominates[r], s, compare > 0);
+      }
+      placed[placedSize++] = i;
+    }
+
+    // Peel the fronts from the relations among the live slots
+    int words = dominates.length > 0 ? dominates[0].length : 0;
+    long[] live = new long[words];
+    int[] indexOf = new int[capacity];
+    for (int i = 0; i < n; ++i) {
+      live[slotOf[i] >>> 6] |= 1L << slotOf[i];
+      indexOf[slotOf[i]] = i;
+    }
+    int[] counts = new int[n];
+    int[] current = new int[n];
+    int[] following = new int[n];
+    int currentSize = 0;
+    for (int i = 0; i < n; ++i) {
+      long[] row = dominatedBy[slotOf[i]];
+      int count = 0;
+      for (int w = 0; w < words; ++w) {
+        count += Long.bitCount(row[w] & live[w]);
+      }
+      counts[i] = count;
+      if (count == 0) {
+        current[currentSize++] = i;
+      }
+    }
+    int[] ranks = new int[n];
+    int rank = 0;
+    while (currentSize > 0) {
+      int followingSize = 0;
+      for (int t = 0; t < currentSize; ++t) {
+        int p = current[t];
+        ranks[p] = rank;
+        long[] row = dominates[slotOf[p]];
+        for (int w = 0; w < words; ++w) {
+          long bits = row[w] & live[w];
+          while (bits != 0) {
+            int q = indexOf[(w << 6) + Long.numberOfTrailingZeros(bits)];
+            bits &= bits - 1;
+            if (--counts[q] == 0) {
+              following[followingSize++] = q;
+            }
+          }
+        }
+      }
+      int[] tmp = current;
+      current = following;
+      following = tmp;
+      currentSize = followingSize;
+      rank++;
+    }
+    return ranks;
+  }
+
+  /**
+   * Empties the cache.
+   */
+  public void clear() {
+    for (Integer slot : slots.values()) {
+      release(slot);
+    }
+    slots.clear();
+  }
+
+  /**
+   * Number of comparisons performed since the cache was created.
+   * @return Number of comparisons.
+   */
+  public long getComparisons() {
+    return comparisons;
+  }
+
+  /**
+   * Checks whether a solution still has the objectives it had when it was
+   * compared.
+   * @param slot Slot of the solution.
+   * @param solution The solution.
+   * @return true if the objectives are the same.
+   */
+  private boolean sameObjectives(int slot, Solution<V> solution) {
+    double[] snapshot = snapshots[slot];
+    if (snapshot.length != solution.getNumberOfObjectives()) {
+      return false;
+    }
+    for (int k = 0; k < snapshot.length; ++k) {
+      if (Double.compare(snapshot[k], solution.getObjectiveValue(k)) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Stores the objectives of a solution in its slot.
+   * @param slot Slot of the solution.
+   * @param solution The solution.
+   */
+  private void snapshot(int slot, Solution<V> solution) {
+    int m = solution.getNumberOfObjectives();
+    if (snapshots[slot] == null || snapshots[slot].length != m) {
+      snapshots[slot] = new double[m];
+    }
+    for (int k = 0; k < m; ++k) {
+      snapshots[slot][k] = solution.getObjectiveValue(k);
+    }
+  }
+
+  /**
+   * Takes a free slot, growing the cache if there is none.
+   * @return The slot.
+   */
+  private int allocate() {
+    if (freeSize == 0) {
+      int oldCapacity = capacity;
+      capacity = Math.max(64, 2 * capacity);
+      int words = capacity >>> 6;
+      snapshots = Arrays.copyOf(snapshots, capacity);
+      dominates = Arrays.copyOf(dominates, capacity);
+      dominatedBy = Arrays.copyOf(dominatedBy, capacity);
+      for (int s = 0; s < capacity; ++s) {
+        dominates[s] = (s < oldCapacity) ? Arrays.copyOf(dominates[s], words) : new long[words];
+        dominatedBy[s] = (s < oldCapacity) ? Arrays.copyOf(dominatedBy[s], words) : new long[words];
+      }
+      free = Arrays.copyOf(free, capacity);
+      for (int s = capacity - 1; s >= oldCapacity; --s) {
+        free[freeSize++] = s;
+      }
+    }
+    return free[--freeSize];
+  }
+
+  /**
+   * Returns a slot to the free list.
+   * @param slot The slot.
+   */
+  private void release(int slot) {
+    free[freeSize++] = slot;
+  }
+
+  /**
+   * Sets or clears a bit.
+   * @param bits Bitset.
+   * @param idx Index of the bit.
+   * @param value New value.
+   */
+  private static void set(long[] bits, int idx, boolean value) {
+    if (value) {
+      bits[idx >>> 6] |= 1L << idx;
+    } else {
+      bits[idx >>> 6] &= ~(1L << idx);
+    }
+  }
+}
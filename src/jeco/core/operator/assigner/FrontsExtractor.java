@@ -20,8 +20,14 @@
 package jeco.core.operator.assigner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
 
+import jeco.core.operator.comparator.SolutionDominance;
+import jeco.core.problem.PopulationMatrix;
+import jeco.core.problem.PropertyKey;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
@@ -35,10 +41,49 @@ import jeco.core.problem.Variable;
  */
 public class FrontsExtractor<V extends Variable<?>> {
 
+  /**
+   * Chooses the sorting algorithm from the comparator and the number of
+   * objectives.
+   */
+  public static final int SORT_AUTO = 0;
+  /**
+   * Efficient non-dominated sort (Pareto dominance only).
+   */
+  public static final int SORT_EFFICIENT = 1;
+  /**
+   * Divide-and-conquer sort (Pareto dominance only), see {@link DivideAndConquerSort}.
+   */
+  public static final int SORT_DIVIDE_AND_CONQUER = 2;
+  /**
+   * Front peeling, valid for any comparator.
+   */
+  public static final int SORT_PEELING = 3;
+  /**
+   * Fast non-dominated sort with the dominance counts computed in the common
+   * <code>ForkJoinPool</code>, see {@link ParallelNonDominatedSort}. Valid for
+   * any thread-safe comparator; intended for very large populations.
+   */
+  public static final int SORT_PARALLEL = 4;
+  /**
+   * Fast non-dominated sort that reuses the dominance relations computed in
+   * previous calls of the same extractor, see {@link DominanceCache}. Valid
+   * for any comparator that only depends on the objectives.
+   */
+  public static final int SORT_CACHED = 5;
+
   /**
    * Comparator used to compare the solutions.
    */
   protected Comparator<Solution<V>> comparator;
+  /**
+   * Sorting algorithm. It can be SORT_AUTO, SORT_EFFICIENT,
+   * SORT_DIVIDE_AND_CONQUER, SORT_PEELING, SORT_PARALLEL or SORT_CACHED.
+   */
+  protected int sortAlgorithm;
+  /**
+   * Dominance relations kept between calls, used by SORT_CACHED.
+   */
+  protected DominanceCache<V> dominanceCache = null;
   /**
    * Property name for the number of solutions in the population.
    */
@@ -47,6 +92,10 @@ public class FrontsExtractor<V extends Variable<?>> {
    * Property name for the rank of the solutions.
    */
   public static final String propertyRank = "rank";
+  /**
+   * Registered key for the rank of the solutions.
+   */
+  public static final PropertyKey<Integer> keyRank = PropertyKey.register(propertyRank, Integer.class);
   /**
    * Property name for the index of the solutions.
    */
@@ -57,35 +106,249 @@ public class FrontsExtractor<V extends Variable<?>> {
    * @param comparator Comparator used to compare the solutions.
    */
   public FrontsExtractor(Comparator<Solution<V>> comparator) {
+    this(comparator, SORT_AUTO);
+  }
+
+  /**
+   * Constructor.
+   * @param comparator Comparator used to compare the solutions.
+   * @param sortAlgorithm Sorting algorithm: SORT_AUTO, SORT_EFFICIENT,
+   * SORT_DIVIDE_AND_CONQUER, SORT_PEELING, SORT_PARALLEL or SORT_CACHED.
+   * The first three fall back to peeling when the comparator is not
+   * <code>SolutionDominance</code>.
+   */
+  public FrontsExtractor(Comparator<Solution<V>> comparator, int sortAlgorithm) {
     this.comparator = comparator;
+    this.sortAlgorithm = sortAlgorithm;
+    if (sortAlgorithm == SORT_CACHED) {
+      dominanceCache = new DominanceCache<V>(comparator);
+    }
+  }
+
+  /**
+   * Constructor that sorts with a given dominance cache (SORT_CACHED), so the
+   * relations are shared with other extractors that use the same cache.
+   * @param dominanceCache Dominance cache.
+   */
+  public FrontsExtractor(DominanceCache<V> dominanceCache) {
+    this.comparator = dominanceCache.comparator;
+    this.sortAlgorithm = SORT_CACHED;
+    this.dominanceCache = dominanceCache;
   }
 
   /**
    * Extracts the fronts of non-dominated solutions from a population.
    * The fronts are stored in a list of populations.
    * The rank of the solutions is stored in the property "rank" of the solutions.
+   * Repeated solutions are kept only once, and each front keeps the order of
+   * the population.
    * @param arg Population of solutions.
    * @return List of populations with the fronts of non-dominated solutions.
    */
   public ArrayList<Solutions<V>> execute(Solutions<V> arg) {
     Solutions<V> solutions = new Solutions<V>();
-    solutions.addAll(arg);
+    HashSet<Solution<V>> seen = new HashSet<Solution<V>>();
+    for (Solution<V> solution : arg) {
+      if (seen.add(solution)) {
+        solutions.add(solution);
+      }
+    }
+    int[] ranks = computeRanks(solutions);
     ArrayList<Solutions<V>> fronts = new ArrayList<Solutions<V>>();
-    Solutions<V> rest = solutions.reduceToNonDominated(comparator);
-    fronts.add(solutions);
-    while (rest.size() > 0) {
-      solutions = rest;
-      rest = solutions.reduceToNonDominated(comparator);
-      fronts.add(solutions);
+    for (int i = 0; i < solutions.size(); ++i) {
+      while (fronts.size() <= ranks[i]) {
+        fronts.add(new Solutions<V>());
+      }
+      Solution<V> solution = solutions.get(i);
+      fronts.get(ranks[i]).add(solution);
+      solution.setProperty(keyRank, ranks[i] + 1);
+    }
+    return fronts;
+  }
+
+  /**
+   * Computes the front of each solution, starting at 0. With the Pareto
+   * dominance comparator, SORT_AUTO uses the divide-and-conquer sort for up
+   * to three objectives and the efficient non-dominated sort otherwise. Any
+   * other comparator peels the fronts one by one, unless SORT_PARALLEL or
+   * SORT_CACHED is selected.
+   * @param solutions Set of solutions.
+   * @return The front of each solution.
+   */
+  public int[] computeRanks(Solutions<V> solutions) {
+    if (sortAlgorithm == SORT_CACHED) {
+      return dominanceCache.computeRanks(solutions);
+    }
+    if (sortAlgorithm == SORT_PARALLEL) {
+      if (comparator.getClass() == SolutionDominance.class) {
+        PopulationMatrix matrix = PopulationMatrix.ofObjectives(solutions);
+        if (isSortable(solutions, matrix)) {
+          return ParallelNonDominatedSort.computeRanks(matrix, ForkJoinPool.commonPool());
+        }
+      }
+      return ParallelNonDominatedSort.computeRanks(solutions, comparator, ForkJoinPool.commonPool());
+    }
+    if (sortAlgorithm != SORT_PEELING && comparator.getClass() == SolutionDominance.class) {
+      PopulationMatrix matrix = PopulationMatrix.ofObjectives(solutions);
+      if (isSortable(solutions, matrix)) {
+        if (sortAlgorithm == SORT_DIVIDE_AND_CONQUER || (sortAlgorithm == SORT_AUTO && matrix.getNumberOfObjectives() <= 3)) {
+          return DivideAndConquerSort.computeRanks(matrix);
+        }
+        return efficientSort(matrix);
+      }
     }
-    int rank = 1;
-    for (int i = 0; i < fronts.size(); ++i) {
-      Solutions<V> front = fronts.get(i);
-      for (int j = 0; j < front.size(); ++j) {
-        front.get(j).getProperties().put(propertyRank, rank);
+    return peelingSort(solutions);
+  }
+
+  /**
+   * Checks whether the objectives can be sorted lexicographically: all the
+   * solutions have the same number of objectives and there are no NaNs.
+   * @param solutions Set of solutions.
+   * @param matrix Objectives of the solutions.
+   * @return true if the efficient sort can be used.
+   */
+  private boolean isSortable(Solutions<V> solutions, PopulationMatrix matrix) {
+    for (Solution<V> solution : solutions) {
+      if (solution.getNumberOfObjectives() != matrix.getNumberOfObjectives()) {
+        return false;
       }
+    }
+    for (double objective : matrix.getObjectives()) {
+      if (Double.isNaN(objective)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Efficient non-dominated sort with sequential search (ENS-SS). Solutions
+   * are visited in lexicographic order of their objectives, so a solution can
+   * only be dominated by the ones visited before it, and it is placed in the
+   * first front where none of them dominates it.
+   * @param matrix Objectives of the solutions.
+   * @return The front of each solution.
+   */
+  protected int[] efficientSort(PopulationMatrix matrix) {
+    final int n = matrix.getSize();
+    final int m = matrix.getNumberOfObjectives();
+    // Adding 0.0 turns -0.0 into 0.0, so that Double.compare agrees with
+    // Pareto dominance
+    final double[] objectives = matrix.getObjectives().clone();
+    for (int i = 0; i < objectives.length; ++i) {
+      objectives[i] += 0.0;
+    }
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; ++i) {
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer i, Integer j) {
+        for (int k = 0; k < m; ++k) {
+          int comp = Double.compare(objectives[i * m + k], objectives[j * m + k]);
+          if (comp != 0) {
+            return comp;
+          }
+        }
+        return 0;
+      }
+    });
+    int[] ranks = new int[n];
+    int[][] fronts = new int[n][];
+    int[] frontSizes = new int[n];
+    int numberOfFronts = 0;
+    for (int idx = 0; idx < n; ++idx) {
+      int p = order[idx];
+      int k = 0;
+      while (k < numberOfFronts && isDominated(matrix, p, fronts[k], frontSizes[k])) {
+        k++;
+      }
+      if (k == numberOfFronts) {
+        fronts[k] = new int[4];
+        numberOfFronts++;
+      } else if (frontSizes[k] == fronts[k].length) {
+        fronts[k] = Arrays.copyOf(fronts[k], 2 * frontSizes[k]);
+      }
+      fronts[k][frontSizes[k]++] = p;
+      ranks[p] = k;
+    }
+    return ranks;
+  }
+
+  /**
+   * Checks whether a solution is dominated by any member of a front. The
+   * front is traversed backwards, since the last members are the most
+   * similar to the solution.
+   * @param matrix Objectives of the solutions.
+   * @param p Solution.
+   * @param front Members of the front.
+   * @param size Number of members.
+   * @return true if some member dominates p.
+   */
+  private boolean isDominated(PopulationMatrix matrix, int p, int[] front, int size) {
+    for (int t = size - 1; t >= 0; --t) {
+      if (matrix.compare(front[t], p) < 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Non-dominated sort by peeling fronts, valid for any dominance relation
+   * since it only relies on the comparator. Each front is built in one pass
+   * over the remaining solutions, keeping the current non-dominated members
+   * in an index array, so no list removals are needed.
+   * @param solutions Set of solutions.
+   * @return The front of each solution.
+   */
+  protected int[] peelingSort(Solutions<V> solutions) {
+    int n = solutions.size();
+    int[] ranks = new int[n];
+    int[] remaining = new int[n];
+    for (int i = 0; i < n; ++i) {
+      remaining[i] = i;
+    }
+    int remainingSize = n;
+    int[] front = new int[n];
+    int[] rest = new int[n];
+    int rank = 0;
+    while (remainingSize > 0) {
+      int frontSize = 0;
+      int restSize = 0;
+      for (int idx = 0; idx < remainingSize; ++idx) {
+        int c = remaining[idx];
+        Solution<V> solC = solutions.get(c);
+        boolean dominated = false;
+        int t = 0;
+        while (t < frontSize) {
+          int compare = comparator.compare(solutions.get(front[t]), solC);
+          if (compare < 0) { // front[t] dominates c
+            dominated = true;
+            break;
+          } else if (compare > 0) { // c dominates front[t]
+            rest[restSize++] = front[t];
+            front[t] = front[--frontSize];
+          } else {
+            t++;
+          }
+        }
+        if (dominated) {
+          rest[restSize++] = c;
+        } else {
+          front[frontSize++] = c;
+        }
+      }
+      for (int t = 0; t < frontSize; ++t) {
+        ranks[front[t]] = rank;
+      }
+      int[] tmp = remaining;
+      remaining = rest;
+      rest = tmp;
+      remainingSize = restSize;
       rank++;
     }
-    return fronts;
+    return ranks;
   }
 }
@@ -0,0 +1,277 @@
+/*
+* File: IncrementalFronts.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.operator.assigner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import jeco.core.problem.Solution;
+import jeco.core.problem.Solutions;
+import jeco.core.problem.Variable;
+
+/**
+ * Fronts of non-dominated solutions that are updated one solution at a time,
+ * as steady-state algorithms and archives need (efficient non-dominated level
+ * update, Li et al.). Inserting or removing a solution only compares it with
+ * the fronts it can affect, and only the solutions whose rank changes are
+ * moved, instead of sorting the whole population again.
+ *
+ * The fronts and the rank property ({@link FrontsExtractor#keyRank}) are the
+ * same ones <code>FrontsExtractor</code> computes. The comparator must be a
+ * dominance relation (transitive). Fronts must be changed through this class
+ * only.
+ *
+ * @param <V> Type of the variables of the solutions.
+ */
+public class IncrementalFronts<V extends Variable<?>> {
+
+  /**
+   * Comparator used to compare the solutions.
+   */
+  protected Comparator<Solution<V>> comparator;
+  /**
+   * Fronts, the first one is the non-dominated one.
+   */
+  protected ArrayList<Solutions<V>> fronts = new ArrayList<Solutions<V>>();
+  /**
+   * Number of solutions in all the fronts.
+   */
+  protected int size = 0;
+
+  /**
+   * Constructor.
+   * @param comparator Comparator used to compare the solutions.
+   */
+  public IncrementalFronts(Comparator<Solution<V>> comparator) {
+    this.comparator = comparator;
+  }
+
+  /**
+   * Constructor that sorts an initial population.
+   * @param comparator Comparator used to compare the solutions.
+   * @param solutions Initial population. Repeated solutions are discarded.
+   */
+  public IncrementalFronts(Comparator<Solution<V>> comparator, Solutions<V> solutions) {
+    this.comparator = comparator;
+    fronts = new FrontsExtractor<V>(comparator).execute(solutions);
+    for (Solutions<V> front : fronts) {
+      size += front.size();
+    }
+  }
+
+  /**
+   * Inserts a solution. The solution is placed in the first front where no
+   * member dominates it, and the members it dominates are moved down one
+   * front, which may move down members of the next front, and so on.
+   * @param solution Solution to insert.
+   * @return The index of the front of the solution (its rank minus one), or
+   * -1 if an equal solution is already in the fronts.
+   */
+  public int insert(Solution<V> solution) {
+    int level = 0;
+    while (level < fronts.size() && isDominated(solution, fronts.get(level))) {
+      level++;
+    }
+    if (level < fronts.size()) {
+      for (Solution<V> member : fronts.get(level)) {
+        if (comparator.compare(member, solution) == 0 && member.equals(solution)) {
+          return -1;
+        }
+      }
+    }
+    int rank = level;
+    Solutions<V> moved = new Solutions<V>();
+    moved.add(solution);
+    while (!moved.isEmpty()) {
+      if (level == fronts.size()) {
+        fronts.add(new Solutions<V>());
+      }
+      Solutions<V> front = fronts.get(level);
+      Solutions<V> next = new Solutions<V>();
+      int kept = 0;
+      for (int i = 0; i < front.size(); i++) {
+        Solution<V> member = front.get(i);
+        if (isDominated(member, moved)) {
+          next.add(member);
+        } else {
+          front.set(kept++, member);
+        }
+      }
+      front.subList(kept, front.size()).clear();
+      for (Solution<V> member : moved) {
+        member.setProperty(FrontsExtractor.keyRank, level + 1);
+        front.add(member);
+      }
+      moved = next;
+      level++;
+    }
+    size++;
+    return rank;
+  }
+
+  /**
+   * Removes a solution (by identity). The members of the next front that
+   * were dominated only by the removed solution are moved up one front,
+   * which may move up members of the following front, and so on.
+   * @param solution Solution to remove.
+   * @return true if the solution was in the fronts.
+   */
+  public boolean remove(Solution<V> solution) {
+    int level = indexOf(solution);
+    if (level < 0) {
+      return false;
+    }
+    Solutions<V> front = fronts.get(level);
+    for (int i = 0; i < front.size(); i++) {
+      if (front.get(i) == solution) {
+        front.remove(i);
+        break;
+      }
+    }
+    size--;
+    Solutions<V> removed = new Solutions<V>();
+    removed.add(solution);
+    while (!removed.isEmpty() && level + 1 < fronts.size()) {
+      front = fronts.get(level);
+      Solutions<V> lower = fronts.get(level + 1);
+      Solutions<V> promoted = new Solutions<V>();
+      int kept = 0;
+      for (int i = 0; i < lower.size(); i++) {
+        Solution<V> member = lower.get(i);
+        if (isDominated(member, removed) && !isDominated(member, front)) {
+          promoted.add(member);
+        } else {
+          lower.set(kept++, member);
+        }
+      }
+      lower.subList(kept, lower.size()).clear();
+      for (Solution<V> member : promoted) {
+        member.setProperty(FrontsExtractor.keyRank, level + 1);
+        front.add(member);
+      }
+      removed = promoted;
+      level++;
+    }
+    while (!fronts.isEmpty() && fronts.get(fronts.size() - 1).isEmpty()) {
+      fronts.remove(fronts.size() - 1);
+    }
+    return true;
+  }
+
+  /**
+   * Removes the solutions in a set, for instance the ones discarded by a
+   * truncation.
+   * @param solutions Solutions to remove (by identity).
+   */
+  public void removeAll(Solutions<V> solutions) {
+    Set<Solution<V>> set = Collections.newSetFromMap(new IdentityHashMap<Solution<V>, Boolean>());
+    set.addAll(solutions);
+    for (Solution<V> solution : set) {
+      remove(solution);
+    }
+  }
+
+  /**
+   * Looks for the front of a solution, using its rank property as a hint.
+   * @param solution The solution.
+   * @return The index of the front, or -1 if the solution is not in the fronts.
+   */
+  protected int indexOf(Solution<V> solution) {
+    if (solution.hasProperty(FrontsExtractor.keyRank)) {
+      int hint = (int) solution.getProperty(FrontsExtractor.keyRank) - 1;
+      if (hint >= 0 && hint < fronts.size() && containsIdentity(fronts.get(hint), solution)) {
+        return hint;
+      }
+    }
+    for (int i = 0; i < fronts.size(); i++) {
+      if (containsIdentity(fronts.get(i), solution)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Checks whether a set contains a given solution object.
+   * @param solutions Set of solutions.
+   * @param solution The solution.
+   * @return true if the object is in the set.
+   */
+  private static <V extends Variable<?>> boolean containsIdentity(Solutions<V> solutions, Solution<V> solution) {
+    for (Solution<V> member : solutions) {
+      if (member == solution) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether a solution is dominated by any member of a set.
+   * @param solution The solution.
+   * @param solutions Set of solutions.
+   * @return true if a member dominates the solution.
+   */
+  protected boolean isDominated(Solution<V> solution, Solutions<V> solutions) {
+    for (Solution<V> member : solutions) {
+      if (comparator.compare(member, solution) < 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Get the fronts. They must not be modified.
+   * @return The fronts, the first one is the non-dominated one.
+   */
+  public ArrayList<Solutions<V>> getFronts() {
+    return fronts;
+  }
+
+  /**
+   * Get a front.
+   * @param idx Index of the front (rank minus one).
+   * @return The front.
+   */
+  public Solutions<V> getFront(int idx) {
+    return fronts.get(idx);
+  }
+
+  /**
+   * Get the number of fronts.
+   * @return Number of fronts.
+   */
+  public int getNumberOfFronts() {
+    return fronts.size();
+  }
+
+  /**
+   * Get the number of solutions in all the fronts.
+   * @return Number of solutions.
+   */
+  public int size() {
+    return size;
+  }
+}
@@ -19,9 +19,13 @@
  */
 package jeco.core.operator.assigner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 
-import jeco.core.operator.comparator.ObjectiveComparator;
+import jeco.core.problem.PropertyKey;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
@@ -31,6 +35,9 @@ import jeco.core.problem.Variable;
  * The niche count is calculated as the number of solutions in the population
  * that are closer than a threshold to the solution in each objective.
  * The niche count is stored in the property "nicheCount" of the solutions.
+ * The solutions are binned in a uniform grid of cell side equal to the niche
+ * radius, so that each one is only compared with the solutions in the
+ * neighbouring cells.
  * 
  * @param <V> Type of the variables of the solutions.
  */
@@ -44,6 +51,10 @@ public class NicheCount<V extends Variable<?>> {
 	 * Property name for the niche count.
 	 */
 	public static final String propertyNicheCount = "nicheCount";
+	/**
+	 * Registered key for the niche count.
+	 */
+	public static final PropertyKey<Integer> keyNicheCount = PropertyKey.register(propertyNicheCount, Integer.class);
 
 	/**
 	 * Constructor.
@@ -70,47 +81,177 @@ public class NicheCount<V extends Variable<?>> {
 		}
 
 		if (size == 1) {
-			solutions.get(0).getProperties().put(propertyNicheCount, 0);
+			solutions.get(0).setProperty(keyNicheCount, 0);
 			return solutions;
 		} // if
 
+		// Sort the population by the last objective, then by the previous ones,
+		// as successive stable sorts by each objective would do
+		Collections.sort(solutions, new Comparator<Solution<V>>() {
+			@Override
+			public int compare(Solution<V> left, Solution<V> right) {
+				for (int m = numberOfObjectives - 1; m >= 0; --m) {
+					double objLeft = left.getObjectiveValue(m);
+					double objRight = right.getObjectiveValue(m);
+					if (objLeft < objRight) {
+						return -1;
+					} else if (objLeft > objRight) {
+						return 1;
+					}
+				}
+				return 0;
+			}
+		});
+
+		double[][] points = new double[size][numberOfObjectives];
+		double[] minObjectives = new double[numberOfObjectives];
+		double[] maxObjectives = new double[numberOfObjectives];
+		Arrays.fill(minObjectives, Double.POSITIVE_INFINITY);
+		Arrays.fill(maxObjectives, Double.NEGATIVE_INFINITY);
 		for (int i = 0; i < size; ++i) {
-			solutions.get(i).getProperties().put(propertyNicheCount, 0);
+			Solution<V> solI = solutions.get(i);
+			for (int m = 0; m < numberOfObjectives; ++m) {
+				double objective = solI.getObjectiveValue(m);
+				points[i][m] = objective;
+				minObjectives[m] = Math.min(minObjectives[m], objective);
+				maxObjectives[m] = Math.max(maxObjectives[m], objective);
+			}
 		}
 
-		double maxObjective;
-		double minObjective;
 		// TODO: Investigate how to compute sigmaShare in 3-objectives and more.
 		double sigmaShare = 0.0;
-
-		for (int i = 0; i < numberOfObjectives; ++i) {
-			// Sort the population by objective i
-			Collections.sort(solutions, new ObjectiveComparator<V>(i));
-			minObjective = solutions.get(0).getObjectives().get(i);
-			maxObjective = solutions.get(size - 1).getObjectives().get(i);
-			sigmaShare += (maxObjective - minObjective);
+		for (int m = 0; m < numberOfObjectives; ++m) {
+			sigmaShare += (maxObjectives[m] - minObjectives[m]);
 		}
 		sigmaShare /= (size - 1);
 
-		double distanceIJ;
+		int[] counts = new int[size];
+		if (sigmaShare > 0 && sigmaShare < Double.POSITIVE_INFINITY && Math.pow(3, numberOfObjectives) < size) {
+			countWithGrid(points, minObjectives, sigmaShare, counts);
+		} else if (sigmaShare > 0) {
+			for (int i = 0; i < size; ++i) {
+				for (int j = i + 1; j < size; ++j) {
+					if (distance(points[i], points[j]) < sigmaShare) {
+						counts[i]++;
+						counts[j]++;
+					}
+				}
+			}
+		}
+
 		for (int i = 0; i < size; ++i) {
-			Solution<V> solI = solutions.get(i);
-			for (int j = 0; j < size; ++j) {
-				if (i == j) {
-					continue;
+			solutions.get(i).setProperty(keyNicheCount, counts[i]);
+		}
+		return solutions;
+	}
+
+	/**
+	 * Counts the neighbours closer than sigmaShare with a uniform grid of cell
+	 * side sigmaShare. Two such neighbours are at most one cell away in each
+	 * objective, so each solution is only compared with the solutions of its
+	 * cell and the 3^M - 1 cells around it.
+	 * 
+	 * @param points Objectives of the solutions.
+	 * @param minObjectives Minimum value of each objective.
+	 * @param sigmaShare Niche radius.
+	 * @param counts Niche count of each solution (output).
+	 */
+	private void countWithGrid(double[][] points, double[] minObjectives, double sigmaShare, int[] counts) {
+		int size = points.length;
+		// Cell of each solution, and solutions of each cell
+		HashMap<Cell, Integer> cellIds = new HashMap<Cell, Integer>();
+		ArrayList<Cell> cells = new ArrayList<Cell>();
+		int[] cellOf = new int[size];
+		for (int i = 0; i < size; ++i) {
+			long[] index = new long[numberOfObjectives];
+			for (int m = 0; m < numberOfObjectives; ++m) {
+				index[m] = (long) Math.floor((points[i][m] - minObjectives[m]) / sigmaShare);
+			}
+			Cell cell = new Cell(index);
+			Integer id = cellIds.get(cell);
+			if (id == null) {
+				id = cells.size();
+				cellIds.put(cell, id);
+				cells.add(cell);
+			}
+			cellOf[i] = id;
+		}
+		int[] starts = new int[cells.size() + 1];
+		for (int i = 0; i < size; ++i) {
+			starts[cellOf[i] + 1]++;
+		}
+		for (int c = 0; c < cells.size(); ++c) {
+			starts[c + 1] += starts[c];
+		}
+		int[] members = new int[size];
+		int[] next = Arrays.copyOf(starts, cells.size());
+		for (int i = 0; i < size; ++i) {
+			members[next[cellOf[i]]++] = i;
+		}
+
+		// Compare the solutions of each cell with the ones of its neighbour cells
+		int neighbourhood = (int) Math.pow(3, numberOfObjectives);
+		long[] probeIndex = new long[numberOfObjectives];
+		for (int c = 0; c < cells.size(); ++c) {
+			long[] index = cells.get(c).index;
+			for (int offset = 0; offset < neighbourhood; ++offset) {
+				int code = offset;
+				for (int m = 0; m < numberOfObjectives; ++m) {
+					probeIndex[m] = index[m] + (code % 3) - 1;
+					code /= 3;
 				}
-				Solution<V> solJ = solutions.get(j);
-				distanceIJ = 0;
-				for(int m = 0; m<numberOfObjectives; ++m) {
-					distanceIJ += Math.pow(solI.getObjectives().get(m) - solJ.getObjectives().get(m), 2);
+				Integer d = cellIds.get(new Cell(probeIndex));
+				if (d == null) {
+					continue;
 				}
-				distanceIJ = Math.sqrt(distanceIJ);
-				if (distanceIJ < sigmaShare) {
-					solI.getProperties().put(propertyNicheCount, solI.getProperties().get(propertyNicheCount).intValue() + 1);
+				for (int p = starts[c]; p < starts[c + 1]; ++p) {
+					int i = members[p];
+					for (int q = starts[d]; q < starts[d + 1]; ++q) {
+						int j = members[q];
+						if (i != j && distance(points[i], points[j]) < sigmaShare) {
+							counts[i]++;
+						}
+					}
 				}
 			}
 		}
+	}
 
-		return solutions;
+	/**
+	 * Euclidean distance between two points.
+	 * @param left First point.
+	 * @param right Second point.
+	 * @return The distance.
+	 */
+	private static double distance(double[] left, double[] right) {
+		double sum = 0;
+		for (int m = 0; m < left.length; ++m) {
+			double diff = left[m] - right[m];
+			sum += diff * diff;
+		}
+		return Math.sqrt(sum);
+	}
+
+	/**
+	 * Coordinates of a cell of the grid.
+	 */
+	private static final class Cell {
+		private final long[] index;
+		private final int hash;
+
+		Cell(long[] index) {
+			this.index = index;
+			this.hash = Arrays.hashCode(index);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof Cell) && Arrays.equals(index, ((Cell) obj).index);
+		}
 	}
 }
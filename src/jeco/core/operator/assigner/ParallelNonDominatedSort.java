@@ -0,0 +1,222 @@
+/*
+* File: ParallelNonDominatedSort.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.operator.assigner;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import jeco.core.problem.PopulationMatrix;
+import jeco.core.problem.Solution;
+import jeco.core.problem.Variable;
+
+/**
+ * Non-dominated sorting with the dominance-count phase split across a
+ * <code>ForkJoinPool</code> (fast non-dominated sort, Deb et al.).
+ *
+ * Each task takes a block of rows and compares every solution of the block
+ * with the whole population, counting how many solutions dominate it and
+ * listing the ones it dominates. Rows are written by one task only, so the
+ * phase needs no synchronization. The fronts are then peeled from the counts
+ * on the calling thread, which is linear in the number of dominance pairs.
+ *
+ * The ranks are the ones of <code>FrontsExtractor</code>: solutions that do
+ * not dominate each other (including equal ones) can share a front.
+ */
+public class ParallelNonDominatedSort {
+
+  /**
+   * Rows per task below which a task is not split.
+   */
+  public static final int THRESHOLD = 64;
+
+  /**
+   * Dominance relation between rows i and j: negative if i dominates j,
+   * positive if j dominates i, zero otherwise. Must be thread-safe.
+   */
+  private interface Relation {
+    int compare(int i, int j);
+  }
+
+  /**
+   * Number of rows.
+   */
+  private final int n;
+  /**
+   * Dominance relation between rows.
+   */
+  private final Relation relation;
+  /**
+   * Number of solutions that dominate each row.
+   */
+  private final int[] counts;
+  /**
+   * Solutions dominated by each row.
+   */
+  private final int[][] dominated;
+  /**
+   * Number of valid entries of each row of <code>dominated</code>.
+   */
+  private final int[] dominatedSizes;
+
+  /**
+   * Constructor.
+   * @param n Number of rows.
+   * @param relation Dominance relation between rows.
+   */
+  private ParallelNonDominatedSort(int n, Relation relation) {
+    this.n = n;
+    this.relation = relation;
+    this.counts = new int[n];
+    this.dominated = new int[n][];
+    this.dominatedSizes = new int[n];
+  }
+
+  /**
+   * Computes the front of each row of a matrix under Pareto dominance.
+   * @param matrix Objectives of the solutions.
+   * @param pool Pool that runs the dominance-count phase.
+   * @return The front of each row, starting at 0.
+   */
+  public static int[] computeRanks(final PopulationMatrix matrix, ForkJoinPool pool) {
+    Relation relation = new Relation() {
+      @Override
+      public int compare(int i, int j) {
+        return matrix.compare(i, j);
+      }
+    };
+    return new ParallelNonDominatedSort(matrix.getSize(), relation).sort(pool);
+  }
+
+  /**
+   * Computes the front of each solution under any dominance relation.
+   * @param <V> Type of the variables.
+   * @param solutions Set of solutions.
+   * @param comparator Dominance comparator. It is called from several threads.
+   * @param pool Pool that runs the dominance-count phase.
+   * @return The front of each solution, starting at 0.
+   */
+  public static <V extends Variable<?>> int[] computeRanks(final List<Solution<V>> solutions, final Comparator<Solution<V>> comparator, ForkJoinPool pool) {
+    Relation relation = new Relation() {
+      @Override
+      public int compare(int i, int j) {
+        return comparator.compare(solutions.get(i), solutions.get(j));
+      }
+    };
+    return new ParallelNonDominatedSort(solutions.size(), relation).sort(pool);
+  }
+
+  /**
+   * Runs the dominance-count phase in the pool and peels the fronts.
+   * @param pool Pool that runs the dominance-count phase.
+   * @return The front of each row.
+   */
+  private int[] sort(ForkJoinPool pool) {
+    if (n > 0) {
+      pool.invoke(new CountTask(0, n));
+    }
+    int[] ranks = new int[n];
+    int[] current = new int[n];
+    int[] next = new int[n];
+    int currentSize = 0;
+    for (int i = 0; i < n; ++i) {
+      if (counts[i] == 0) {
+        current[currentSize++] = i;
+      }
+    }
+    int rank = 0;
+    while (currentSize > 0) {
+      int nextSize = 0;
+      for (int t = 0; t < currentSize; ++t) {
+        int p = current[t];
+        ranks[p] = rank;
+        int[] row = dominated[p];
+        for (int s = 0; s < dominatedSizes[p]; ++s) {
+          if (--counts[row[s]] == 0) {
+            next[nextSize++] = row[s];
+          }
+        }
+      }
+      int[] tmp = current;
+      current = next;
+      next = tmp;
+      currentSize = nextSize;
+      rank++;
+    }
+    return ranks;
+  }
+
+  /**
+   * Compares a row with all the other rows.
+   * @param i Row index.
+   */
+  private void count(int i) {
+    int count = 0;
+    int[] row = new int[8];
+    int size = 0;
+    for (int j = 0; j < n; ++j) {
+      if (j == i) {
+        continue;
+      }
+      int compare = relation.compare(i, j);
+      if (compare < 0) {
+        if (size == row.length) {
+          row = Arrays.copyOf(row, 2 * size);
+        }
+        row[size++] = j;
+      } else if (compare > 0) {
+        count++;
+      }
+    }
+    counts[i] = count;
+    dominated[i] = row;
+    dominatedSizes[i] = size;
+  }
+
+  /**
+   * Dominance-count phase over a block of rows, split in halves down to
+   * <code>THRESHOLD</code> rows.
+   */
+  private class CountTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final int from;
+    private final int to;
+
+    CountTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= THRESHOLD) {
+        for (int i = from; i < to; ++i) {
+          count(i);
+        }
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new CountTask(from, middle), new CountTask(middle, to));
+      }
+    }
+  }
+}
@@ -40,16 +40,16 @@ public class ComparatorNSGAII<V extends Variable<?>> implements Comparator<Solut
 	}
 
 	public int compare(Solution<V> left, Solution<V> right) {
-		Integer rankLeft = left.getProperties().get(FrontsExtractor.propertyRank).intValue();
-		Integer rankRight = right.getProperties().get(FrontsExtractor.propertyRank).intValue();
+		double rankLeft = left.getProperty(FrontsExtractor.keyRank);
+		double rankRight = right.getProperty(FrontsExtractor.keyRank);
 
-		int comp = rankLeft.compareTo(rankRight);
+		int comp = Double.compare(rankLeft, rankRight);
 		if (comp == -1) {
 			return -1;
 		} else if (comp == 0) {
-			Double crowdedDistanceLeft = left.getProperties().get(CrowdingDistance.propertyCrowdingDistance).doubleValue();
-			Double crowdedDistanceRight = right.getProperties().get(CrowdingDistance.propertyCrowdingDistance).doubleValue();
-			comp = crowdedDistanceLeft.compareTo(crowdedDistanceRight);
+			double crowdedDistanceLeft = left.getProperty(CrowdingDistance.keyCrowdingDistance);
+			double crowdedDistanceRight = right.getProperty(CrowdingDistance.keyCrowdingDistance);
+			comp = Double.compare(crowdedDistanceLeft, crowdedDistanceRight);
 			if (comp == 1) {
 				return -1;
 			} else if (comp == 0) {
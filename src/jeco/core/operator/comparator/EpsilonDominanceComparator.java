@@ -21,7 +21,6 @@
 
 package jeco.core.operator.comparator;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 
 import jeco.core.problem.Solution;
@@ -53,12 +52,10 @@ public class EpsilonDominanceComparator<V extends Variable<?>> implements Compar
 		int flag;
 		double value1, value2;
 		// Idem number of violated constraint. Apply a dominance Test
-		int n = Math.min(s1.getObjectives().size(), s2.getObjectives().size());
-		ArrayList<Double> z1 = s1.getObjectives();
-		ArrayList<Double> z2 = s2.getObjectives();
+		int n = Math.min(s1.getNumberOfObjectives(), s2.getNumberOfObjectives());
 		for (int i = 0; i < n; i++) {
-			value1 = z1.get(i);
-			value2 = z2.get(i);
+			value1 = s1.getObjectiveValue(i);
+			value2 = s2.getObjectiveValue(i);
 
 			if (value1 / (1 + eta) < value2) {
 				flag = -1;
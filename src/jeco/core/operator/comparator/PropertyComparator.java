@@ -24,6 +24,7 @@ package jeco.core.operator.comparator;
 
 import java.util.Comparator;
 
+import jeco.core.problem.PropertyKey;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
 
@@ -35,12 +36,22 @@ import jeco.core.problem.Variable;
 public class PropertyComparator<V extends Variable<?>> implements Comparator<Solution<V>> {
 
 	protected String propertyName;
+	protected PropertyKey<?> propertyKey;
 
 	public PropertyComparator(String propertyName) {
 		this.propertyName = propertyName;
+		this.propertyKey = null;
+	}
+
+	public PropertyComparator(PropertyKey<?> propertyKey) {
+		this.propertyName = propertyKey.getName();
+		this.propertyKey = propertyKey;
 	}
 
 	public int compare(Solution<V> left, Solution<V> right) {
+		if (propertyKey != null) {
+			return Double.compare(left.getProperty(propertyKey), right.getProperty(propertyKey));
+		}
 		if (left.getProperties().get(propertyName).doubleValue() < right.getProperties().get(propertyName).doubleValue()) {
 			return -1;
 		} else if (left.getProperties().get(propertyName).doubleValue() > right.getProperties().get(propertyName).doubleValue()) {
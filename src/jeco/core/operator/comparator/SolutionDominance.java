@@ -22,15 +22,16 @@
 
 package jeco.core.operator.comparator;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 
+import jeco.core.problem.DominanceKernel;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
 
 /**
  * Compares two solutions according to the dominance relation. A solution
- * dominates another if it is better in all objectives.
+ * dominates another if it is better in all objectives. The comparison runs
+ * over the primitive objective arrays (see {@link DominanceKernel}).
  * 
  * @param <T> Type of the variables of the solutions.
  */
@@ -41,28 +42,6 @@ public class SolutionDominance<T extends Variable<?>> implements Comparator<Solu
     if (s2 == null) {
       return -1;
     }
-    int n = Math.min(s1.getObjectives().size(), s2.getObjectives().size());
-    ArrayList<Double> z1 = s1.getObjectives();
-    ArrayList<Double> z2 = s2.getObjectives();
-
-    boolean bigger = false;
-    boolean smaller = false;
-    boolean indiff = false;
-    for (int i = 0; !(indiff) && i < n; i++) {
-      if (z1.get(i) > z2.get(i)) {
-        bigger = true;
-      }
-      if (z1.get(i) < z2.get(i)) {
-        smaller = true;
-      }
-      indiff = (bigger && smaller);
-    }
-
-    if (smaller && !bigger) {
-      return -1;
-    } else if (bigger && !smaller) {
-      return 1;
-    }
-    return 0;
+    return DominanceKernel.compare(s1, s2);
   }
 }
@@ -22,6 +22,7 @@
 package jeco.core.operator.crossover;
 
 import jeco.core.problem.Solution;
+import jeco.core.problem.SolutionPool;
 import jeco.core.problem.Solutions;
 import jeco.core.problem.Variable;
 
@@ -29,5 +30,27 @@ import jeco.core.problem.Variable;
  * Abstract class for crossover operators.
  */
 public abstract class CrossoverOperator<T extends Variable<?>> {
+    /**
+     * Pool used to obtain the offspring, null if solutions are not recycled.
+     */
+    protected SolutionPool<T> pool = null;
+
     abstract public Solutions<T> execute(Solution<T> parent1, Solution<T> parent2);
+
+    /**
+     * Sets the pool used to obtain the offspring.
+     * @param pool The pool, or null to clone the parents.
+     */
+    public void setSolutionPool(SolutionPool<T> pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns a copy of a parent, taken from the pool if there is one.
+     * @param parent The parent.
+     * @return The copy.
+     */
+    protected Solution<T> copy(Solution<T> parent) {
+        return (pool == null) ? parent.clone() : pool.copyOf(parent);
+    }
 }
@@ -92,8 +92,8 @@ public class CycleCrossover<V extends Variable<?>> extends CrossoverOperator<V>
 
 		Solutions<V> offSpring = new Solutions<V>();
 
-		offSpring.add(parent1.clone());
-		offSpring.add(parent2.clone());
+		offSpring.add(copy(parent1));
+		offSpring.add(copy(parent2));
 
 		if (RandomGenerator.nextDouble() <= probability) {
 			// We obtain the cycle, first allele:
@@ -21,6 +21,7 @@
 
 package jeco.core.operator.crossover;
 
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Solutions;
@@ -79,8 +80,10 @@ public class SBXCrossover<V extends Variable<Double>>  extends CrossoverOperator
 
         Solutions<V> offSpring = new Solutions<V>();
 
-        offSpring.add(parent1.clone());
-        offSpring.add(parent2.clone());
+        Solution<V> offSpring0 = copy(parent1);
+        Solution<V> offSpring1 = copy(parent2);
+        offSpring.add(offSpring0);
+        offSpring.add(offSpring1);
 
         int i;
         double rand;
@@ -89,9 +92,9 @@ public class SBXCrossover<V extends Variable<Double>>  extends CrossoverOperator
         double alpha, beta, betaq;
         double valueX1, valueX2;
         if (RandomGenerator.nextDouble() <= probability) {
-            for (i = 0; i < parent1.getVariables().size(); i++) {
-                valueX1 = parent1.getVariables().get(i).getValue();
-                valueX2 = parent2.getVariables().get(i).getValue();
+            for (i = 0; i < parent1.getNumberOfVariables(); i++) {
+                valueX1 = DoubleSolution.getValue(parent1, i);
+                valueX2 = DoubleSolution.getValue(parent2, i);
                 if (RandomGenerator.nextDouble() <= 0.5) {
 
                     if (java.lang.Math.abs(valueX1 - valueX2) > EPS) {
@@ -145,19 +148,19 @@ public class SBXCrossover<V extends Variable<Double>>  extends CrossoverOperator
                         }
 
                         if (RandomGenerator.nextDouble() <= 0.5) {
-                            offSpring.get(0).getVariables().get(i).setValue(c2);
-                            offSpring.get(1).getVariables().get(i).setValue(c1);
+                            DoubleSolution.setValue(offSpring0, i, c2);
+                            DoubleSolution.setValue(offSpring1, i, c1);
                         } else {
-                            offSpring.get(0).getVariables().get(i).setValue(c1);
-                            offSpring.get(1).getVariables().get(i).setValue(c2);
+                            DoubleSolution.setValue(offSpring0, i, c1);
+                            DoubleSolution.setValue(offSpring1, i, c2);
                         } // if
                     } else {
-                        offSpring.get(0).getVariables().get(i).setValue(valueX1);
-                        offSpring.get(1).getVariables().get(i).setValue(valueX2);
+                        DoubleSolution.setValue(offSpring0, i, valueX1);
+                        DoubleSolution.setValue(offSpring1, i, valueX2);
                     } // if
                 } else {
-                    offSpring.get(0).getVariables().get(i).setValue(valueX2);
-                    offSpring.get(1).getVariables().get(i).setValue(valueX1);
+                    DoubleSolution.setValue(offSpring0, i, valueX2);
+                    DoubleSolution.setValue(offSpring1, i, valueX1);
                 } // if
             } // if
         } // if
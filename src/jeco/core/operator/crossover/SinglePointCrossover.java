@@ -115,16 +115,11 @@ public class SinglePointCrossover<T extends Variable<?>> extends CrossoverOperat
      * @param sol2 Solution 2
      */
     private void makeNewSolution(Solution<T> sol1, Solution<T> sol2) {
-        int sol1Length = sol1.getVariables().size();
-        int sol2Length = sol2.getVariables().size();
+        int sol1Length = sol1.getNumberOfVariables();
+        int sol2Length = sol2.getNumberOfVariables();
 
         if (repetition == AVOID_REPETITION_IN_SET) {
-            boolean equals = true;
-            int minLength = Math.min(sol1Length, sol2Length);
-            for (int i = 0; i < minLength && equals; ++i) {
-                equals = equals && sol1.getVariable(i).equals(sol2.getVariable(i));
-            }
-            if (equals) {
+            if (sol1.equalVariables(sol2)) {
                 Solution<T> tmp2 = problem.newRandomSetOfSolutions(1).get(0);
                 for(int i=0; i<sol2Length; ++i) {
                     sol2.getVariables().set(i, tmp2.getVariable(i));
@@ -135,7 +130,7 @@ public class SinglePointCrossover<T extends Variable<?>> extends CrossoverOperat
         else if (repetition == AVOID_REPETITION_IN_FRONT) {
             boolean equals = true;
             for (int i = 0; i < problem.getNumberOfObjectives() && equals; ++i) {
-                equals = equals && (sol1.getObjective(i).equals(sol2.getObjective(i)));
+                equals = equals && (Double.compare(sol1.getObjectiveValue(i), sol2.getObjectiveValue(i)) == 0);
             }
             if (equals) {
                 Solution<T> tmp2 = problem.newRandomSetOfSolutions(1).get(0);
@@ -148,12 +143,8 @@ public class SinglePointCrossover<T extends Variable<?>> extends CrossoverOperat
 
         if (fixedCrossoverPoint) {
             int point1 = computeCrossoverPoint(sol1Length, sol2Length);
-            T tmp1, tmp2;
             for (int i = 0; i < point1; i++) {
-                tmp1 = sol1.getVariables().get(i);
-                tmp2 = sol2.getVariables().get(i);
-                sol1.getVariables().set(i, tmp2);
-                sol2.getVariables().set(i, tmp1);
+                sol1.swapVariables(i, sol2, i);
             }
         } else {
             // TODO: review this algorithm !!!
@@ -193,8 +184,8 @@ public class SinglePointCrossover<T extends Variable<?>> extends CrossoverOperat
 
         Solutions<T> offSpring = new Solutions<T>();
 
-        Solution<T> offSpring0 = parent1.clone();
-        Solution<T> offSpring1 = parent2.clone();
+        Solution<T> offSpring0 = copy(parent1);
+        Solution<T> offSpring1 = copy(parent2);
 
         if (RandomGenerator.nextDouble() <= probability) {
             if (RandomGenerator.nextBoolean()) {
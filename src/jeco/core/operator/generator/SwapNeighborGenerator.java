@@ -46,10 +46,7 @@ public class SwapNeighborGenerator<V extends Variable<?>> extends NeighborGenera
             while(pos1 == pos2) {
                 pos2 = RandomGenerator.nextInt(tmp.getVariables().size());
             }
-            V var1 = tmp.getVariables().get(pos1);
-            V var2 = tmp.getVariables().get(pos2);
-            tmp.getVariables().set(pos1, var2);
-            tmp.getVariables().set(pos2, var1);
+            tmp.swapVariables(pos1, tmp, pos2);
             neighbors.add(tmp);
         }
         return neighbors;
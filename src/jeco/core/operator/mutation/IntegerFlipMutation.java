@@ -19,6 +19,7 @@
  */
 package jeco.core.operator.mutation;
 
+import jeco.core.problem.IntSolution;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
@@ -47,11 +48,12 @@ public class IntegerFlipMutation<T extends Variable<Integer>> extends MutationOp
 
 	@Override
 	public Solution<T> execute(Solution<T> solution) {
-		for (int i = 0; i < solution.getVariables().size(); i++) {
+		int numberOfVariables = solution.getNumberOfVariables();
+		for (int i = 0; i < numberOfVariables; i++) {
 			if (RandomGenerator.nextDouble() < probability) {
 				int lowerBound = (int) Math.round(problem.getLowerBound(i));
 				int upperBound = (int) Math.round(problem.getUpperBound(i));
-				solution.getVariables().get(i).setValue(RandomGenerator.nextInteger(lowerBound, upperBound));
+				IntSolution.setValue(solution, i, RandomGenerator.nextInteger(lowerBound, upperBound));
 			}
 		}
 		return solution;
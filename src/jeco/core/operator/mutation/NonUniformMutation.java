@@ -19,8 +19,7 @@
  */
 package jeco.core.operator.mutation;
 
-import java.util.ArrayList;
-
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
@@ -89,19 +88,19 @@ public class NonUniformMutation<T extends Variable<Double>> extends MutationOper
 
 	@Override
 	public Solution<T> execute(Solution<T> solution) {
-		ArrayList<T> variables = solution.getVariables();
-		for (int i = 0; i < variables.size(); ++i) {
-			T variable = variables.get(i);
+		int numberOfVariables = solution.getNumberOfVariables();
+		for (int i = 0; i < numberOfVariables; ++i) {
 			if (RandomGenerator.nextDouble() < probability) {
 				double rand = RandomGenerator.nextDouble();
+				double value = DoubleSolution.getValue(solution, i);
 				double tmp;
 
 				if (rand <= 0.5) {
-					tmp = delta(problem.getUpperBound(i) - variable.getValue(), perturbationIndex);
-					tmp += variable.getValue();
+					tmp = delta(problem.getUpperBound(i) - value, perturbationIndex);
+					tmp += value;
 				} else {
-					tmp = delta(problem.getLowerBound(i) - variable.getValue(), perturbationIndex);
-					tmp += variable.getValue();
+					tmp = delta(problem.getLowerBound(i) - value, perturbationIndex);
+					tmp += value;
 				}
 
 				if (tmp < problem.getLowerBound(i)) {
@@ -110,7 +109,7 @@ public class NonUniformMutation<T extends Variable<Double>> extends MutationOper
 					tmp = problem.getUpperBound(i);
 				}
 
-				variable.setValue(tmp);
+				DoubleSolution.setValue(solution, i, tmp);
 			}
 		}
 		return solution;
@@ -19,8 +19,7 @@
  */
 package jeco.core.operator.mutation;
 
-import java.util.ArrayList;
-
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
@@ -77,11 +76,10 @@ public class PolynomialMutation<T extends Variable<Double>> extends MutationOper
 		double rnd, delta1, delta2, mut_pow, deltaq;
 		double y, yl, yu, val, xy;
 
-		ArrayList<T> variables = solution.getVariables();
-		for (int i = 0; i < variables.size(); ++i) {
-			T variable = variables.get(i);
+		int numberOfVariables = solution.getNumberOfVariables();
+		for (int i = 0; i < numberOfVariables; ++i) {
 			if (RandomGenerator.nextDouble() <= probability) {
-				y = variable.getValue();
+				y = DoubleSolution.getValue(solution, i);
 				yl = problem.getLowerBound(i);
 				yu = problem.getUpperBound(i);
 				delta1 = (y - yl) / (yu - yl);
@@ -104,7 +102,7 @@ public class PolynomialMutation<T extends Variable<Double>> extends MutationOper
 				if (y > yu) {
 					y = yu;
 				}
-				variable.setValue(y);
+				DoubleSolution.setValue(solution, i, y);
 			}
 		}
 		return solution;
@@ -45,9 +45,7 @@ public class SwapMutation<T extends Variable<?>> extends MutationOperator<T> {
 			int indexI = RandomGenerator.nextInt(solution.getVariables().size());
 			int indexJ = RandomGenerator.nextInt(solution.getVariables().size());
 			if (indexI != indexJ) {
-				T varI = solution.getVariables().get(indexI);
-				solution.getVariables().set(indexI, solution.getVariables().get(indexJ));
-				solution.getVariables().set(indexJ, varI);
+				solution.swapVariables(indexI, solution, indexJ);
 			}
 		}
 		return solution;
@@ -19,8 +19,7 @@
  */
 package jeco.core.operator.mutation;
 
-import java.util.ArrayList;
-
+import jeco.core.problem.DoubleSolution;
 import jeco.core.problem.Problem;
 import jeco.core.problem.Solution;
 import jeco.core.problem.Variable;
@@ -74,14 +73,13 @@ public class UniformMutation<T extends Variable<Double>> extends MutationOperato
 
 	@Override
 	public Solution<T> execute(Solution<T> solution) {
-		ArrayList<T> variables = solution.getVariables();
-		for (int i = 0; i < variables.size(); ++i) {
-			T variable = variables.get(i);
+		int numberOfVariables = solution.getNumberOfVariables();
+		for (int i = 0; i < numberOfVariables; ++i) {
 			if (RandomGenerator.nextDouble() < probability) {
 				double rand = RandomGenerator.nextDouble();
 				double tmp = (rand - 0.5) * perturbationIndex;
 
-				tmp += variable.getValue();
+				tmp += DoubleSolution.getValue(solution, i);
 
 				if (tmp < problem.getLowerBound(i)) {
 					tmp = problem.getLowerBound(i);
@@ -89,7 +87,7 @@ public class UniformMutation<T extends Variable<Double>> extends MutationOperato
 					tmp = problem.getUpperBound(i);
 				}
 
-				variable.setValue(tmp);
+				DoubleSolution.setValue(solution, i, tmp);
 			}
 		}
 
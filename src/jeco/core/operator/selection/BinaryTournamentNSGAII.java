@@ -76,9 +76,9 @@ public class BinaryTournamentNSGAII<T extends Variable<?>> extends SelectionOper
             result.add(solution1);
         } else if (flag > 0) {
             result.add(solution2);
-        } else if (solution1.getProperties().get(CrowdingDistance.propertyCrowdingDistance).doubleValue() > solution2.getProperties().get(CrowdingDistance.propertyCrowdingDistance).doubleValue()) {
+        } else if (solution1.getProperty(CrowdingDistance.keyCrowdingDistance) > solution2.getProperty(CrowdingDistance.keyCrowdingDistance)) {
             result.add(solution1);
-        } else if (solution2.getProperties().get(CrowdingDistance.propertyCrowdingDistance).doubleValue() > solution1.getProperties().get(CrowdingDistance.propertyCrowdingDistance).doubleValue()) {
+        } else if (solution2.getProperty(CrowdingDistance.keyCrowdingDistance) > solution1.getProperty(CrowdingDistance.keyCrowdingDistance)) {
             result.add(solution2);
         } else if (RandomGenerator.nextDouble() < 0.5) {
             result.add(solution1);
@@ -98,6 +98,13 @@ public class MasterWorkerThreads<V extends Variable<?>> extends Problem<V> {
 
     @Override
     public void evaluate(Solutions<V> solutions) {
+        Solutions<V> modified = new Solutions<>();
+        for (Solution<V> solution : solutions) {
+            if (solution.isModified()) {
+                modified.add(solution);
+            }
+        }
+        solutions = modified;
         sharedQueue.addAll(solutions);
         LinkedList<Worker<V>> workers = new LinkedList<>();
         int solutionsPerWorker = solutions.size()/numWorkers;
@@ -0,0 +1,217 @@
+/*
+* File: DistanceMatrix.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import jeco.core.util.IndexSort;
+
+/**
+ * Pairwise Euclidean distances between the rows of a {@link PopulationMatrix}
+ * in objective space, stored in one flat <code>double[]</code> (size x size).
+ * Each distance is computed once, and density estimators query the k-th
+ * nearest neighbour of a row with a quickselect, in linear expected time,
+ * instead of sorting the whole row.
+ */
+public class DistanceMatrix {
+
+  /**
+   * Number of rows.
+   */
+  protected int size;
+  /**
+   * Distances, row-major.
+   */
+  protected double[] distances;
+  /**
+   * Scratch row used by the selection.
+   */
+  private double[] scratch;
+
+  /**
+   * Largest length of a Java array.
+   */
+  private static final long MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+  /**
+   * Constructor. Computes all the distances.
+   * @param matrix Objectives of the solutions.
+   * @throws IllegalArgumentException If size x size distances do not fit in
+   * one array (more than 46340 rows).
+   */
+  public DistanceMatrix(PopulationMatrix matrix) {
+    size = matrix.getSize();
+    distances = allocate(size);
+    scratch = new double[size];
+    for (int i = 0; i < size; ++i) {
+      for (int j = i + 1; j < size; ++j) {
+        double distance = matrix.distance(i, j);
+        distances[i * size + j] = distance;
+        distances[j * size + i] = distance;
+      }
+    }
+  }
+
+  /**
+   * Constructor. Takes a subset of the rows of another matrix, without
+   * computing any distance.
+   * @param source Matrix of a larger set of solutions.
+   * @param rows Rows of the source matrix kept, in the new order.
+   * @throws IllegalArgumentException If size x size distances do not fit in
+   * one array.
+   */
+  public DistanceMatrix(DistanceMatrix source, int[] rows) {
+    size = rows.length;
+    distances = allocate(size);
+    scratch = new double[size];
+    for (int i = 0; i < size; ++i) {
+      int offset = rows[i] * source.size;
+      for (int j = 0; j < size; ++j) {
+        distances[i * size + j] = source.distances[offset + rows[j]];
+      }
+    }
+  }
+
+  /**
+   * Allocates the distances of a number of rows, checking that they fit in
+   * one array.
+   * @param size Number of rows.
+   * @return The array.
+   */
+  private static double[] allocate(int size) {
+    long length = (long) size * size;
+    if (length > MAX_LENGTH) {
+      throw new IllegalArgumentException("A distance matrix of " + size + " rows needs " + length + " elements, more than an array can hold.");
+    }
+    return new double[(int) length];
+  }
+
+  /**
+   * Gets the distance between two rows.
+   * @param i First row.
+   * @param j Second row.
+   * @return The distance.
+   */
+  public double get(int i, int j) {
+    return distances[i * size + j];
+  }
+
+  /**
+   * Returns the k-th smallest distance from a row to all the rows, counting
+   * the row itself (distance 0) as the 0-th one. It is the element k of the
+   * sorted row, so k = 1 is the distance to the nearest neighbour.
+   * @param i Row index.
+   * @param k Order of the distance, from 0 to size - 1.
+   * @return The distance.
+   */
+  public double kthSmallest(int i, int k) {
+    System.arraycopy(distances, i * size, scratch, 0, size);
+    return select(scratch, size, k);
+  }
+
+  /**
+   * Returns the other rows sorted by their distance to a row, nearest first.
+   * Rows at the same distance are sorted by index.
+   * @param i Row index.
+   * @return Indices of the other rows (size - 1 elements).
+   */
+  public int[] sortedNeighbours(int i) {
+    int[] order = new int[size - 1];
+    for (int j = 0, n = 0; j < size; ++j) {
+      if (j != i) {
+        order[n++] = j;
+      }
+    }
+    final int offset = i * size;
+    IndexSort.sort(order, new IndexSort.IndexComparator() {
+      @Override
+      public int compare(int a, int b) {
+        return Double.compare(distances[offset + a], distances[offset + b]);
+      }
+    });
+    return order;
+  }
+
+  /**
+   * Get the number of rows.
+   * @return Number of rows.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Quickselect (Hoare partition, median of three pivot). The order is the
+   * one of <code>Double.compare</code>, as in <code>Arrays.sort</code>.
+   * @param values Values, reordered by the selection.
+   * @param n Number of values.
+   * @param k Position to select.
+   * @return The value that a sort would place at position k.
+   */
+  private static double select(double[] values, int n, int k) {
+    int left = 0;
+    int right = n - 1;
+    while (right > left) {
+      int middle = (left + right) >>> 1;
+      if (Double.compare(values[middle], values[left]) < 0) {
+        swap(values, middle, left);
+      }
+      if (Double.compare(values[right], values[left]) < 0) {
+        swap(values, right, left);
+      }
+      if (Double.compare(values[right], values[middle]) < 0) {
+        swap(values, right, middle);
+      }
+      double pivot = values[middle];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (Double.compare(values[i], pivot) < 0) {
+          i++;
+        }
+        while (Double.compare(values[j], pivot) > 0) {
+          j--;
+        }
+        if (i <= j) {
+          swap(values, i++, j--);
+        }
+      }
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return values[k];
+      }
+    }
+    return values[k];
+  }
+
+  /**
+   * Swaps two values.
+   * @param values Values.
+   * @param i First position.
+   * @param j Second position.
+   */
+  private static void swap(double[] values, int i, int j) {
+    double tmp = values[i];
+    values[i] = values[j];
+    values[j] = tmp;
+  }
+}
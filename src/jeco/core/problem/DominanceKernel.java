@@ -0,0 +1,227 @@
+/*
+* File: DominanceKernel.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.util.List;
+
+/**
+ * Pareto dominance (minimization) over primitive objective arrays.
+ *
+ * When the JVM is started with <code>--add-modules jdk.incubator.vector</code>,
+ * vectors of at least one SIMD register of objectives are compared with the
+ * Vector API, many objectives per instruction (see
+ * {@link VectorDominanceKernel}). Otherwise, or if the system property
+ * <code>jeco.vector</code> is <code>false</code>, a scalar loop is used. Both
+ * give the same result.
+ *
+ * The batch methods return the relation of one solution with a block of
+ * solutions in a single call. With the Vector API, blocks of at least one
+ * register of rows are compared several rows per instruction, whatever the
+ * number of objectives.
+ */
+public final class DominanceKernel {
+
+  /**
+   * Whether the Vector API is available and enabled.
+   */
+  public static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+          && Boolean.parseBoolean(System.getProperty("jeco.vector", "true"));
+
+  /**
+   * Minimum number of objectives compared with the Vector API.
+   */
+  private static final int VECTOR_THRESHOLD = VECTORIZED ? VectorDominanceKernel.length() : Integer.MAX_VALUE;
+  /**
+   * Minimum number of rows of a block compared with the Vector API.
+   */
+  private static final int BLOCK_THRESHOLD = VECTOR_THRESHOLD;
+
+  private DominanceKernel() {
+  }
+
+  /**
+   * Compares two objective vectors according to the Pareto dominance relation.
+   * @param a Array with the first vector.
+   * @param offsetA Position of the first vector in <code>a</code>.
+   * @param b Array with the second vector.
+   * @param offsetB Position of the second vector in <code>b</code>.
+   * @param m Number of objectives.
+   * @return -1 if the first vector dominates the second one, 1 if the second
+   * one dominates the first one, 0 otherwise.
+   */
+  public static int compare(double[] a, int offsetA, double[] b, int offsetB, int m) {
+    if (m >= VECTOR_THRESHOLD) {
+      return VectorDominanceKernel.compare(a, offsetA, b, offsetB, m);
+    }
+    return compareScalar(a, offsetA, b, offsetB, m);
+  }
+
+  /**
+   * Compares two objective vectors with the scalar loop.
+   * @param a Array with the first vector.
+   * @param offsetA Position of the first vector in <code>a</code>.
+   * @param b Array with the second vector.
+   * @param offsetB Position of the second vector in <code>b</code>.
+   * @param m Number of objectives.
+   * @return -1 if the first vector dominates the second one, 1 if the second
+   * one dominates the first one, 0 otherwise.
+   */
+  static int compareScalar(double[] a, int offsetA, double[] b, int offsetB, int m) {
+    boolean bigger = false;
+    boolean smaller = false;
+    for (int k = 0; k < m; ++k) {
+      double za = a[offsetA + k];
+      double zb = b[offsetB + k];
+      if (za > zb) {
+        bigger = true;
+      } else if (za < zb) {
+        smaller = true;
+      }
+      if (bigger && smaller) {
+        return 0;
+      }
+    }
+    if (smaller) {
+      return -1;
+    } else if (bigger) {
+      return 1;
+    }
+    return 0;
+  }
+
+  /**
+   * Compares two objective vectors of the same length.
+   * @param a First vector.
+   * @param b Second vector.
+   * @return -1 if a dominates b, 1 if b dominates a, 0 otherwise.
+   */
+  public static int compare(double[] a, double[] b) {
+    return compare(a, 0, b, 0, Math.min(a.length, b.length));
+  }
+
+  /**
+   * Compares the objectives of two solutions, as <code>SolutionDominance</code>
+   * does (only the objectives both solutions have are compared).
+   * @param s1 First solution.
+   * @param s2 Second solution.
+   * @return -1 if s1 dominates s2, 1 if s2 dominates s1, 0 otherwise.
+   */
+  public static int compare(Solution<?> s1, Solution<?> s2) {
+    int m = Math.min(s1.getNumberOfObjectives(), s2.getNumberOfObjectives());
+    if (s1 instanceof OffHeapSolution || s2 instanceof OffHeapSolution) {
+      return compare(objectivesOf(s1), 0, objectivesOf(s2), 0, m);
+    }
+    return compare(s1.objectives, 0, s2.objectives, 0, m);
+  }
+
+  /**
+   * Compares one row of a row-major objective matrix with a block of rows.
+   * @param objectives Objectives, row-major.
+   * @param m Number of objectives per row.
+   * @param row Row compared.
+   * @param from First row of the block.
+   * @param to Row after the last one of the block.
+   * @param result Relation of <code>row</code> with each row of the block,
+   * stored from <code>result[0]</code>: -1 if <code>row</code> dominates it,
+   * 1 if it dominates <code>row</code>, 0 otherwise.
+   */
+  public static void compare(double[] objectives, int m, int row, int from, int to, int[] result) {
+    if (to - from >= BLOCK_THRESHOLD && m < VECTOR_THRESHOLD) {
+      VectorDominanceKernel.compare(objectives, m, row, from, to, result);
+      return;
+    }
+    int offset = row * m;
+    for (int j = from; j < to; ++j) {
+      result[j - from] = compare(objectives, offset, objectives, j * m, m);
+    }
+  }
+
+  /**
+   * Compares one solution with a block of solutions.
+   * @param solution Solution compared.
+   * @param block Set of solutions.
+   * @param from First index of the block.
+   * @param to Index after the last one of the block.
+   * @param result Relation of <code>solution</code> with each solution of
+   * the block, stored from <code>result[0]</code>: -1 if <code>solution</code>
+   * dominates it, 1 if it dominates <code>solution</code>, 0 otherwise.
+   */
+  public static void compare(Solution<?> solution, List<? extends Solution<?>> block, int from, int to, int[] result) {
+    double[] a = objectivesOf(solution);
+    if (to - from >= BLOCK_THRESHOLD && a.length < VECTOR_THRESHOLD && sameNumberOfObjectives(a.length, block, from, to)) {
+      // Packs the block after the solution, so that the rows are compared
+      // with the Vector API.
+      int m = a.length;
+      double[] matrix = new double[(to - from + 1) * m];
+      System.arraycopy(a, 0, matrix, 0, m);
+      for (int j = from; j < to; ++j) {
+        Solution<?> other = block.get(j);
+        int offset = (j - from + 1) * m;
+        if (other instanceof OffHeapSolution) {
+          ((OffHeapSolution) other).readObjectives(matrix, offset);
+        } else {
+          System.arraycopy(other.objectives, 0, matrix, offset, m);
+        }
+      }
+      VectorDominanceKernel.compare(matrix, m, 0, 1, to - from + 1, result);
+      return;
+    }
+    for (int j = from; j < to; ++j) {
+      Solution<?> other = block.get(j);
+      int m = Math.min(a.length, other.getNumberOfObjectives());
+      double[] b = (other instanceof OffHeapSolution) ? objectivesOf(other) : other.objectives;
+      result[j - from] = compare(a, 0, b, 0, m);
+    }
+  }
+
+  /**
+   * Checks whether all the solutions of a block have a given number of
+   * objectives.
+   * @param m Number of objectives.
+   * @param block Set of solutions.
+   * @param from First index of the block.
+   * @param to Index after the last one of the block.
+   * @return true if all of them have m objectives.
+   */
+  private static boolean sameNumberOfObjectives(int m, List<? extends Solution<?>> block, int from, int to) {
+    for (int j = from; j < to; ++j) {
+      if (block.get(j).getNumberOfObjectives() != m) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the objectives of a solution as an array, copying them only if
+   * they are off the heap.
+   * @param solution The solution.
+   * @return The objectives.
+   */
+  private static double[] objectivesOf(Solution<?> solution) {
+    if (solution instanceof OffHeapSolution) {
+      double[] objectives = new double[solution.getNumberOfObjectives()];
+      ((OffHeapSolution) solution).readObjectives(objectives, 0);
+      return objectives;
+    }
+    return solution.objectives;
+  }
+}
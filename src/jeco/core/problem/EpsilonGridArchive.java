@@ -0,0 +1,294 @@
+/*
+* File: EpsilonGridArchive.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded archive based on epsilon-box dominance (Laumanns et al.,
+ * minimization). The objective space is divided in a grid of boxes of side
+ * epsilon, and each solution is hashed into its box:
+ * <ul>
+ * <li>A box holds at most one solution. Between two solutions in the same
+ * box, the dominating one is kept, or the one closest to the lower corner of
+ * the box if neither dominates the other.</li>
+ * <li>A solution whose box is dominated by the box of a member is rejected,
+ * and members whose boxes are dominated by the box of a new solution are
+ * removed.</li>
+ * </ul>
+ * Finding the occupant of a box is a hash lookup, and the dominance tests
+ * compare integer box coordinates. With two objectives, the non-dominated
+ * boxes form a staircase, kept sorted by the first coordinate, so inserting
+ * a solution costs O(log n) plus the boxes it removes. With more objectives,
+ * a solution that falls in an empty box is compared with every occupied box,
+ * which costs O(n M). Since only one solution is kept per
+ * non-dominated box, the size of the archive is bounded by the number of
+ * such boxes, about (range / epsilon)^(M-1) for M objectives, even when the
+ * front is degenerate.
+ *
+ * @param <V> Type of the variables of the solutions.
+ */
+public class EpsilonGridArchive<V extends Variable<?>> implements SolutionArchive<V> {
+
+  /**
+   * Side of the boxes in each objective. If it has one element, it is used
+   * for all the objectives.
+   */
+  protected double[] epsilons;
+  /**
+   * Solution in each occupied box, in insertion order.
+   */
+  private LinkedHashMap<Box, Solution<V>> cells = new LinkedHashMap<Box, Solution<V>>();
+  /**
+   * Box of each solution.
+   */
+  private IdentityHashMap<Solution<V>, Box> boxes = new IdentityHashMap<Solution<V>, Box>();
+  /**
+   * Occupied boxes of two objectives by their first coordinate. The second
+   * coordinate decreases along the map.
+   */
+  private TreeMap<Long, Box> staircase = new TreeMap<Long, Box>();
+
+  /**
+   * Constructor.
+   * @param epsilons Side of the boxes in each objective, or a single value
+   * used for all the objectives.
+   */
+  public EpsilonGridArchive(double... epsilons) {
+    this.epsilons = epsilons.clone();
+  }
+
+  /**
+   * Filters a set of solutions through an epsilon grid, keeping one solution
+   * per non-dominated box. It can be used as the output filter of any
+   * algorithm.
+   * @param <V> Type of the variables.
+   * @param solutions Set of solutions.
+   * @param epsilons Side of the boxes in each objective, or a single value.
+   * @return The solutions kept.
+   */
+  public static <V extends Variable<?>> Solutions<V> filter(Solutions<V> solutions, double... epsilons) {
+    EpsilonGridArchive<V> archive = new EpsilonGridArchive<V>(epsilons);
+    for (Solution<V> solution : solutions) {
+      archive.add(solution);
+    }
+    return archive.getSolutions();
+  }
+
+  @Override
+  public boolean add(Solution<V> solution) {
+    Box box = boxOf(solution);
+    Solution<V> occupant = cells.get(box);
+    if (occupant != null) {
+      int compare = DominanceKernel.compare(occupant, solution);
+      if (compare < 0 || occupant == solution) {
+        return false;
+      }
+      if (compare == 0) {
+        double dOccupant = distanceToCorner(occupant, box);
+        double dSolution = distanceToCorner(solution, box);
+        if (dSolution >= dOccupant) {
+          return false;
+        }
+      }
+      cells.put(box, solution);
+      boxes.remove(occupant);
+      boxes.put(solution, box);
+      return true;
+    }
+    if (box.index.length == 2) {
+      return addToStaircase(box, solution);
+    }
+    ArrayList<Box> dominated = new ArrayList<Box>();
+    for (Box other : cells.keySet()) {
+      int compare = box.compare(other);
+      if (compare > 0) {
+        return false;
+      } else if (compare < 0) {
+        dominated.add(other);
+      }
+    }
+    for (Box other : dominated) {
+      boxes.remove(cells.remove(other));
+    }
+    cells.put(box, solution);
+    boxes.put(solution, box);
+    return true;
+  }
+
+  @Override
+  public boolean remove(Solution<V> solution) {
+    Box box = boxes.remove(solution);
+    if (box == null) {
+      return false;
+    }
+    cells.remove(box);
+    if (box.index.length == 2) {
+      staircase.remove(box.index[0]);
+    }
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    cells.clear();
+    boxes.clear();
+    staircase.clear();
+  }
+
+  @Override
+  public int size() {
+    return cells.size();
+  }
+
+  @Override
+  public Solutions<V> getSolutions() {
+    Solutions<V> solutions = new Solutions<V>();
+    Iterator<Solution<V>> it = cells.values().iterator();
+    while (it.hasNext()) {
+      solutions.add(it.next());
+    }
+    return solutions;
+  }
+
+  /**
+   * Get the side of the boxes in a given objective.
+   * @param idx Index of the objective.
+   * @return The side of the boxes.
+   */
+  public double getEpsilon(int idx) {
+    return (epsilons.length == 1) ? epsilons[0] : epsilons[idx];
+  }
+
+  /**
+   * Inserts a solution of two objectives into an empty box. The member with
+   * the largest first coordinate not above the one of the box has the
+   * lowest second coordinate among them, so it is the only one that can
+   * dominate the box. The boxes dominated by the new one follow it in the
+   * staircase.
+   * @param box Box of the solution, not occupied.
+   * @param solution The solution.
+   * @return true if the solution has been added.
+   */
+  private boolean addToStaircase(Box box, Solution<V> solution) {
+    Map.Entry<Long, Box> lower = staircase.floorEntry(box.index[0]);
+    if (lower != null && lower.getValue().index[1] <= box.index[1]) {
+      return false;
+    }
+    Iterator<Box> it = staircase.tailMap(box.index[0], true).values().iterator();
+    while (it.hasNext()) {
+      Box other = it.next();
+      if (other.index[1] < box.index[1]) {
+        break;
+      }
+      it.remove();
+      boxes.remove(cells.remove(other));
+    }
+    staircase.put(box.index[0], box);
+    cells.put(box, solution);
+    boxes.put(solution, box);
+    return true;
+  }
+
+  /**
+   * Computes the box of a solution.
+   * @param solution The solution.
+   * @return The box.
+   */
+  private Box boxOf(Solution<V> solution) {
+    long[] index = new long[solution.getNumberOfObjectives()];
+    for (int k = 0; k < index.length; ++k) {
+      index[k] = (long) Math.floor(solution.getObjectiveValue(k) / getEpsilon(k));
+    }
+    return new Box(index);
+  }
+
+  /**
+   * Euclidean distance from a solution to the lower corner of its box.
+   * @param solution The solution.
+   * @param box Box of the solution.
+   * @return The distance.
+   */
+  private double distanceToCorner(Solution<V> solution, Box box) {
+    double sum = 0;
+    for (int k = 0; k < box.index.length; ++k) {
+      double diff = solution.getObjectiveValue(k) - box.index[k] * getEpsilon(k);
+      sum += diff * diff;
+    }
+    return Math.sqrt(sum);
+  }
+
+  /**
+   * Coordinates of a box in the grid.
+   */
+  private static final class Box {
+    private final long[] index;
+    private final int hash;
+
+    Box(long[] index) {
+      this.index = index;
+      this.hash = Arrays.hashCode(index);
+    }
+
+    /**
+     * Pareto dominance between boxes.
+     * @param other The other box.
+     * @return -1 if this box dominates the other one, 1 if the other one
+     * dominates this box, 0 otherwise.
+     */
+    int compare(Box other) {
+      boolean bigger = false;
+      boolean smaller = false;
+      for (int k = 0; k < index.length; ++k) {
+        if (index[k] > other.index[k]) {
+          bigger = true;
+        } else if (index[k] < other.index[k]) {
+          smaller = true;
+        }
+        if (bigger && smaller) {
+          return 0;
+        }
+      }
+      if (smaller) {
+        return -1;
+      } else if (bigger) {
+        return 1;
+      }
+      return 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return (obj instanceof Box) && Arrays.equals(index, ((Box) obj).index);
+    }
+  }
+}
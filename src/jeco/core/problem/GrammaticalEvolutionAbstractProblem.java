@@ -121,13 +121,6 @@ public abstract class GrammaticalEvolutionAbstractProblem extends Problem<Variab
      */
     abstract public void evaluate(Solution<Variable<Integer>> solution, GrammaticalEvolutionPhenotype phenotype);
 
-    @Override
-    public void evaluate(Solutions<Variable<Integer>> solutions) {
-        for (Solution<Variable<Integer>> solution : solutions) {
-            evaluate(solution);
-        }
-    }
-
     @Override
     public void evaluate(Solution<Variable<Integer>> solution) {
         GrammaticalEvolutionPhenotype phenotype = generatePhenotype(solution);
@@ -135,7 +128,7 @@ public abstract class GrammaticalEvolutionAbstractProblem extends Problem<Variab
             evaluate(solution, phenotype);
         } else {
             for (int i = 0; i < super.numberOfObjectives; ++i) {
-                solution.getObjectives().set(i, Double.POSITIVE_INFINITY);
+                solution.setObjective(i, Double.POSITIVE_INFINITY);
             }
         }
     }
@@ -151,7 +144,7 @@ public abstract class GrammaticalEvolutionAbstractProblem extends Problem<Variab
         correctSol = true;
         GrammaticalEvolutionPhenotype phenotype = new GrammaticalEvolutionPhenotype();
         Rule firstRule = reader.getRules().get(0);
-        Production firstProduction = firstRule.get(solution.getVariables().get(currentIdx++).getValue() % firstRule.size());
+        Production firstProduction = firstRule.get(IntSolution.getValue(solution, currentIdx++) % firstRule.size());
         processProduction(firstProduction, solution, phenotype);
         return phenotype;
     }
@@ -170,13 +163,13 @@ public abstract class GrammaticalEvolutionAbstractProblem extends Problem<Variab
             if (symbol.isTerminal()) {
                 phenotype.add(symbol.toString());
             } else {
-                if (currentIdx >= solution.getVariables().size() && currentWrp < maxCntWrappings) {
+                if (currentIdx >= solution.getNumberOfVariables() && currentWrp < maxCntWrappings) {
                     currentIdx = 0;
                     currentWrp++;
                 }
-                if (currentIdx < solution.getVariables().size()) {
+                if (currentIdx < solution.getNumberOfVariables()) {
                     Rule rule = reader.findRule(symbol);
-                    Production production = rule.get(solution.getVariables().get(currentIdx++).getValue() % rule.size());
+                    Production production = rule.get(IntSolution.getValue(solution, currentIdx++) % rule.size());
                     processProduction(production, solution, phenotype);
                 } else {
                     correctSol = false;
@@ -190,10 +183,9 @@ public abstract class GrammaticalEvolutionAbstractProblem extends Problem<Variab
     public Solutions<Variable<Integer>> newRandomSetOfSolutions(int size) {
         Solutions<Variable<Integer>> solutions = new Solutions<>();
         for (int i = 0; i < size; ++i) {
-            Solution<Variable<Integer>> solI = new Solution<>(numberOfObjectives);
+            IntSolution solI = new IntSolution(numberOfVariables, numberOfObjectives);
             for (int j = 0; j < numberOfVariables; ++j) {
-                Variable<Integer> varJ = new Variable<>(RandomGenerator.nextInteger((int) upperBound[j]));
-                solI.getVariables().add(varJ);
+                solI.setGene(j, RandomGenerator.nextInteger((int) upperBound[j]));
             }
             solutions.add(solI);
         }
@@ -0,0 +1,334 @@
+/*
+* File: IntSolution.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.util.ArrayList;
+
+/**
+ * Solution whose decision variables are stored in a primitive
+ * <code>int[]</code> genome.
+ *
+ * The solution can be used wherever a <code>Solution&lt;Variable&lt;Integer&gt;&gt;</code>
+ * is expected. Legacy code that calls <code>getVariables()</code> obtains
+ * variables that read and write through to the genome, but operators should
+ * prefer {@link #getValue(Solution, int)} and {@link #setValue(Solution, int, int)},
+ * which avoid boxing. Since those variables are views, code that exchanges
+ * variables between positions must exchange their values instead.
+ *
+ * Clones share the genome with the original solution until one of them
+ * writes a gene (copy-on-write), so cloning does not depend on the number of
+ * variables. Writes are tracked, so an unchanged clone of an evaluated
+ * solution is not evaluated again (see {@link Solution#isModified()}).
+ */
+public class IntSolution extends Solution<Variable<Integer>> {
+
+  /**
+   * Genome of the solution.
+   */
+  protected int[] genes;
+  /**
+   * Whether the genome may be shared with other solutions.
+   */
+  protected boolean shared = false;
+  /**
+   * Fingerprint of the genome, valid if <code>fingerprinted</code> is true.
+   */
+  protected long fingerprint;
+  /**
+   * Whether <code>fingerprint</code> is up to date.
+   */
+  protected boolean fingerprinted = false;
+
+  /**
+   * Constructor.
+   * @param numberOfVariables Number of variables.
+   * @param numberOfObjectives Number of objectives.
+   */
+  public IntSolution(int numberOfVariables, int numberOfObjectives) {
+    super(numberOfObjectives);
+    genes = new int[numberOfVariables];
+  }
+
+  /**
+   * Constructor that shares a given genome.
+   * @param genes Genome, shared with other solutions.
+   * @param numberOfObjectives Number of objectives.
+   */
+  protected IntSolution(int[] genes, int numberOfObjectives) {
+    super(numberOfObjectives);
+    this.genes = genes;
+    this.shared = true;
+  }
+
+  /**
+   * Makes a private copy of the genome if it is shared, before writing it.
+   */
+  protected void unshare() {
+    if (shared) {
+      genes = genes.clone();
+      shared = false;
+    }
+  }
+
+  /**
+   * Gets the value of a given gene.
+   * @param idx Index of the gene.
+   * @return The value of the gene.
+   */
+  public int getGene(int idx) {
+    return genes[idx];
+  }
+
+  /**
+   * Sets the value of a given gene.
+   * @param idx Index of the gene.
+   * @param value New value of the gene.
+   */
+  public void setGene(int idx, int value) {
+    if (genes[idx] == value) {
+      return;
+    }
+    unshare();
+    modified = true;
+    if (fingerprinted) {
+      fingerprint += mix(idx, value) - mix(idx, genes[idx]);
+    }
+    genes[idx] = value;
+  }
+
+  /**
+   * Returns the genome of the solution. Changes in the array are changes in
+   * the solution. If the genome is shared, it is copied first, and the
+   * fingerprint is recomputed on its next use.
+   * @return The genome.
+   */
+  public int[] getGenes() {
+    unshare();
+    fingerprinted = false;
+    modified = true;
+    return genes;
+  }
+
+  /**
+   * Writes to the genome are tracked, so the flag is exact.
+   * @return true if the solution must be evaluated.
+   */
+  @Override
+  public boolean isModified() {
+    return modified;
+  }
+
+  @Override
+  public int getNumberOfVariables() {
+    return genes.length;
+  }
+
+  /**
+   * Returns variables that read and write through to the genome. The list is
+   * created on the first call. Setting an element copies its value into the
+   * genome; the list cannot grow or shrink.
+   * @return Variables of the solution.
+   */
+  @Override
+  public ArrayList<Variable<Integer>> getVariables() {
+    if (variables.size() != genes.length) {
+      variables = new GeneList();
+    }
+    return variables;
+  }
+
+  @Override
+  public Variable<Integer> getVariable(int idx) {
+    return getVariables().get(idx);
+  }
+
+  @Override
+  public IntSolution clone() {
+    shared = true;
+    IntSolution clone = new IntSolution(genes, objectives.length);
+    clone.fingerprint = fingerprint;
+    clone.fingerprinted = fingerprinted;
+    clone.modified = modified;
+    System.arraycopy(objectives, 0, clone.objectives, 0, objectives.length);
+    copyPropertiesTo(clone);
+    return clone;
+  }
+
+  @Override
+  public boolean copyTo(Solution<Variable<Integer>> destination) {
+    if (getClass() != IntSolution.class || destination.getClass() != IntSolution.class) {
+      return false;
+    }
+    IntSolution sol = (IntSolution) destination;
+    if (sol.objectives.length != objectives.length) {
+      return false;
+    }
+    // The genome is copied into the array of the destination, so recycled
+    // solutions keep their storage
+    if (sol.shared || sol.genes.length != genes.length) {
+      sol.genes = genes.clone();
+      sol.shared = false;
+    } else {
+      System.arraycopy(genes, 0, sol.genes, 0, genes.length);
+    }
+    sol.fingerprint = fingerprint;
+    sol.fingerprinted = fingerprinted;
+    sol.modified = modified;
+    System.arraycopy(objectives, 0, sol.objectives, 0, objectives.length);
+    copyPropertiesTo(sol);
+    return true;
+  }
+
+  /**
+   * Exchanges two genes without boxing.
+   * @param idx Index of the gene in this solution.
+   * @param other The other solution (it can be this one).
+   * @param otherIdx Index of the gene in the other solution.
+   */
+  @Override
+  public void swapVariables(int idx, Solution<Variable<Integer>> other, int otherIdx) {
+    int value = genes[idx];
+    setGene(idx, getValue(other, otherIdx));
+    setValue(other, otherIdx, value);
+  }
+
+  @Override
+  public long fingerprint() {
+    if (!fingerprinted) {
+      long h = 0;
+      for (int i = 0; i < genes.length; ++i) {
+        h += mix(i, genes[i]);
+      }
+      fingerprint = h;
+      fingerprinted = true;
+    }
+    return fingerprint;
+  }
+
+  @Override
+  public boolean equalVariables(Solution<?> right) {
+    if (!(right instanceof IntSolution)) {
+      return super.equalVariables(right);
+    }
+    IntSolution sol = (IntSolution) right;
+    if (genes == sol.genes) {
+      return true;
+    }
+    if (fingerprinted && sol.fingerprinted && genes.length == sol.genes.length && fingerprint != sol.fingerprint) {
+      return false;
+    }
+    int nVar = Math.min(genes.length, sol.genes.length);
+    for (int i = 0; i < nVar; ++i) {
+      if (genes[i] != sol.genes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads a gene from any integer-coded solution without boxing when the
+   * solution is a <code>IntSolution</code>.
+   * @param solution The solution.
+   * @param idx Index of the variable.
+   * @return The value of the variable.
+   */
+  public static int getValue(Solution<? extends Variable<Integer>> solution, int idx) {
+    if (solution instanceof IntSolution) {
+      return ((IntSolution) solution).genes[idx];
+    }
+    return solution.getVariable(idx).getValue();
+  }
+
+  /**
+   * Writes a gene in any integer-coded solution without boxing when the
+   * solution is a <code>IntSolution</code>.
+   * @param solution The solution.
+   * @param idx Index of the variable.
+   * @param value New value of the variable.
+   */
+  public static void setValue(Solution<? extends Variable<Integer>> solution, int idx, int value) {
+    if (solution instanceof IntSolution) {
+      ((IntSolution) solution).setGene(idx, value);
+    } else {
+      solution.getVariable(idx).setValue(value);
+      solution.setModified(true);
+    }
+  }
+
+  /**
+   * Variable that reads and writes one gene of this solution.
+   */
+  private class GeneVariable extends Variable<Integer> {
+    private final int idx;
+
+    GeneVariable(int idx) {
+      super(null);
+      this.idx = idx;
+    }
+
+    @Override
+    public Integer getValue() {
+      return genes[idx];
+    }
+
+    @Override
+    public void setValue(Integer value) {
+      setGene(idx, value);
+    }
+
+    @Override
+    public Variable<Integer> clone() {
+      return new Variable<Integer>(genes[idx]);
+    }
+  }
+
+  /**
+   * Fixed-size list of gene variables. Setting an element copies its value.
+   */
+  private class GeneList extends ArrayList<Variable<Integer>> {
+    private static final long serialVersionUID = 1L;
+
+    GeneList() {
+      super(genes.length);
+      for (int i = 0; i < genes.length; ++i) {
+        super.add(new GeneVariable(i));
+      }
+    }
+
+    @Override
+    public Variable<Integer> set(int idx, Variable<Integer> variable) {
+      Variable<Integer> old = new Variable<Integer>(genes[idx]);
+      setGene(idx, variable.getValue());
+      return old;
+    }
+
+    @Override
+    public boolean add(Variable<Integer> variable) {
+      throw new UnsupportedOperationException("The genome of a IntSolution has a fixed size.");
+    }
+
+    @Override
+    public Variable<Integer> remove(int idx) {
+      throw new UnsupportedOperationException("The genome of a IntSolution has a fixed size.");
+    }
+  }
+}
@@ -0,0 +1,497 @@
+/*
+* File: NDTreeArchive.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * Unbounded archive of non-dominated solutions under Pareto dominance
+ * (minimization), stored in an ND-Tree (Jaszkiewicz and Lust).
+ *
+ * Each node keeps bounds of its solutions in objective space (an
+ * approximation of its ideal and nadir points). When a solution is offered,
+ * whole subtrees are discarded with one test against their bounds: a node
+ * whose nadir dominates the solution rejects it, a node whose ideal point is
+ * dominated by the solution is removed at once, and a node whose box cannot
+ * contain solutions related to it is skipped. Only the leaves whose box
+ * overlaps the solution are scanned, so updates are sublinear in the size of
+ * the archive for well-spread fronts.
+ *
+ * As in <code>Solutions.reduceToNonDominated</code>, a solution is rejected
+ * if a member dominates it or is equal to it; solutions with the same
+ * objectives and different variables are kept. All the solutions must have
+ * the same number of objectives.
+ *
+ * @param <V> Type of the variables of the solutions.
+ */
+public class NDTreeArchive<V extends Variable<?>> implements SolutionArchive<V> {
+
+  /**
+   * Result of an update: the solution can be inserted.
+   */
+  private static final int ACCEPTED = 0;
+  /**
+   * Result of an update: a member dominates the solution.
+   */
+  private static final int DOMINATED = 1;
+  /**
+   * Result of an update: a member is equal to the solution.
+   */
+  private static final int REPEATED = 2;
+
+  /**
+   * Maximum number of solutions in a leaf.
+   */
+  protected int maxLeafSize;
+  /**
+   * Number of children of a split leaf, or 0 to use the number of objectives
+   * plus one.
+   */
+  protected int numberOfChildren;
+  /**
+   * Root of the tree, null if the archive is empty.
+   */
+  private Node root = null;
+  /**
+   * Leaf of each solution.
+   */
+  private IdentityHashMap<Solution<V>, Node> leaves = new IdentityHashMap<Solution<V>, Node>();
+  /**
+   * Solutions removed by the last update, if they are being collected.
+   */
+  private Solutions<V> removed = null;
+
+  /**
+   * Constructor.
+   * @param maxLeafSize Maximum number of solutions in a leaf.
+   * @param numberOfChildren Number of children of a split leaf, or 0 to use
+   * the number of objectives plus one.
+   */
+  public NDTreeArchive(int maxLeafSize, int numberOfChildren) {
+    this.maxLeafSize = maxLeafSize;
+    this.numberOfChildren = numberOfChildren;
+  }
+
+  /**
+   * Constructor with leaves of 20 solutions and as many children per node as
+   * objectives plus one.
+   */
+  public NDTreeArchive() {
+    this(20, 0);
+  }
+
+  /**
+   * Removes the dominated and repeated solutions of a set, keeping the order
+   * of the rest, as <code>Solutions.reduceToNonDominated</code> does with the
+   * Pareto dominance comparator.
+   * @param <V> Type of the variables.
+   * @param solutions Set of solutions, with the same number of objectives.
+   * @return The dominated solutions.
+   */
+  public static <V extends Variable<?>> Solutions<V> reduceToNonDominated(Solutions<V> solutions) {
+    NDTreeArchive<V> archive = new NDTreeArchive<V>();
+    Solutions<V> rest = new Solutions<V>();
+    archive.removed = rest;
+    for (Solution<V> solution : solutions) {
+      if (archive.offer(solution) == DOMINATED) {
+        rest.add(solution);
+      }
+    }
+    int kept = 0;
+    for (int i = 0; i < solutions.size(); ++i) {
+      Solution<V> solution = solutions.get(i);
+      if (archive.leaves.remove(solution) != null) {
+        solutions.set(kept++, solution);
+      }
+    }
+    solutions.subList(kept, solutions.size()).clear();
+    return rest;
+  }
+
+  @Override
+  public boolean add(Solution<V> solution) {
+    return offer(solution) == ACCEPTED;
+  }
+
+  /**
+   * Offers a solution to the archive.
+   * @param solution Solution to add.
+   * @return ACCEPTED if it has been added, DOMINATED or REPEATED otherwise.
+   */
+  private int offer(Solution<V> solution) {
+    double[] y = objectivesOf(solution);
+    if (root != null) {
+      int result = update(root, solution, y);
+      if (result != ACCEPTED) {
+        return result;
+      }
+      if (root.isEmpty()) {
+        root = null;
+      }
+    }
+    if (root == null) {
+      root = new Node(null, y);
+    }
+    insert(root, solution, y);
+    return ACCEPTED;
+  }
+
+  /**
+   * Checks a solution against a subtree and removes the members it
+   * dominates. Empty children are removed.
+   * @param node Root of the subtree.
+   * @param solution Solution offered.
+   * @param y Objectives of the solution.
+   * @return ACCEPTED, DOMINATED or REPEATED.
+   */
+  private int update(Node node, Solution<V> solution, double[] y) {
+    if (weaklyDominates(node.nadir, y) && !Arrays.equals(node.nadir, y)) {
+      return DOMINATED; // every member dominates y
+    }
+    if (weaklyDominates(y, node.ideal) && !Arrays.equals(node.ideal, y)) {
+      discard(node); // y dominates every member
+      return ACCEPTED;
+    }
+    if (!weaklyDominates(node.ideal, y) && !weaklyDominates(y, node.nadir)) {
+      return ACCEPTED; // no member can be related to y
+    }
+    if (node.isLeaf()) {
+      int[] relations = new int[node.points.size()];
+      for (int i = 0; i < relations.length; ++i) {
+        double[] p = node.points.get(i);
+        relations[i] = DominanceKernel.compare(p, y);
+        if (relations[i] < 0) {
+          return DOMINATED;
+        } else if (relations[i] == 0 && Arrays.equals(p, y) && node.solutions.get(i).equals(solution)) {
+          return REPEATED;
+        }
+      }
+      int kept = 0;
+      for (int i = 0; i < relations.length; ++i) {
+        Solution<V> member = node.solutions.get(i);
+        double[] p = node.points.get(i);
+        if (relations[i] > 0) {
+          leaves.remove(member);
+          if (removed != null) {
+            removed.add(member);
+          }
+        } else {
+          node.solutions.set(kept, member);
+          node.points.set(kept++, p);
+        }
+      }
+      node.solutions.subList(kept, node.solutions.size()).clear();
+      node.points.subList(kept, node.points.size()).clear();
+      return ACCEPTED;
+    }
+    for (int i = 0; i < node.children.size(); ++i) {
+      Node child = node.children.get(i);
+      int result = update(child, solution, y);
+      if (result != ACCEPTED) {
+        return result;
+      }
+      if (child.isEmpty()) {
+        node.children.remove(i--);
+      }
+    }
+    return ACCEPTED;
+  }
+
+  /**
+   * Inserts a solution, which is not dominated by any member, in the leaf
+   * whose box center is the closest one.
+   * @param node Root of the subtree.
+   * @param solution Solution to insert.
+   * @param y Objectives of the solution.
+   */
+  private void insert(Node node, Solution<V> solution, double[] y) {
+    while (!node.isLeaf()) {
+      node.expand(y);
+      Node closest = node.children.get(0);
+      double best = closest.distanceToCenter(y);
+      for (int i = 1; i < node.children.size(); ++i) {
+        double distance = node.children.get(i).distanceToCenter(y);
+        if (distance < best) {
+          best = distance;
+          closest = node.children.get(i);
+        }
+      }
+      node = closest;
+    }
+    node.expand(y);
+    node.solutions.add(solution);
+    node.points.add(y);
+    leaves.put(solution, node);
+    if (node.solutions.size() > maxLeafSize) {
+      split(node);
+    }
+  }
+
+  /**
+   * Splits a full leaf: the members that are farthest from each other are
+   * the seeds of the new children, and the rest go to the closest child.
+   * @param leaf The leaf.
+   */
+  private void split(Node leaf) {
+    int n = leaf.solutions.size();
+    int k = Math.min(n, (numberOfChildren > 0) ? numberOfChildren : leaf.ideal.length + 1);
+    double[][] distances = new double[n][n];
+    int first = 0;
+    double farthest = -1;
+    for (int i = 0; i < n; ++i) {
+      double sum = 0;
+      for (int j = 0; j < n; ++j) {
+        distances[i][j] = distance(leaf.points.get(i), leaf.points.get(j));
+        sum += distances[i][j];
+      }
+      if (sum > farthest) {
+        farthest = sum;
+        first = i;
+      }
+    }
+    double[] toSeeds = distances[first].clone();
+    boolean[] assigned = new boolean[n];
+    ArrayList<Node> children = new ArrayList<Node>(k);
+    int seed = first;
+    while (children.size() < k) {
+      Node child = new Node(leaf, leaf.points.get(seed));
+      child.solutions.add(leaf.solutions.get(seed));
+      child.points.add(leaf.points.get(seed));
+      children.add(child);
+      assigned[seed] = true;
+      seed = -1;
+      for (int i = 0; i < n; ++i) {
+        if (!assigned[i]) {
+          if (seed < 0 || toSeeds[i] > toSeeds[seed]) {
+            seed = i;
+          }
+        }
+      }
+      if (seed < 0) {
+        break;
+      }
+      for (int i = 0; i < n; ++i) {
+        toSeeds[i] = Math.min(toSeeds[i], distances[seed][i]);
+      }
+    }
+    for (int i = 0; i < n; ++i) {
+      if (assigned[i]) {
+        continue;
+      }
+      double[] p = leaf.points.get(i);
+      Node closest = children.get(0);
+      double best = closest.distanceToCenter(p);
+      for (int c = 1; c < children.size(); ++c) {
+        double d = children.get(c).distanceToCenter(p);
+        if (d < best) {
+          best = d;
+          closest = children.get(c);
+        }
+      }
+      closest.expand(p);
+      closest.solutions.add(leaf.solutions.get(i));
+      closest.points.add(p);
+    }
+    for (Node child : children) {
+      for (Solution<V> solution : child.solutions) {
+        leaves.put(solution, child);
+      }
+    }
+    leaf.solutions = null;
+    leaf.points = null;
+    leaf.children = children;
+  }
+
+  /**
+   * Removes all the members of a subtree.
+   * @param node Root of the subtree.
+   */
+  private void discard(Node node) {
+    if (node.isLeaf()) {
+      for (Solution<V> member : node.solutions) {
+        leaves.remove(member);
+        if (removed != null) {
+          removed.add(member);
+        }
+      }
+      node.solutions.clear();
+      node.points.clear();
+    } else {
+      for (Node child : node.children) {
+        discard(child);
+      }
+      node.children.clear();
+    }
+  }
+
+  @Override
+  public boolean remove(Solution<V> solution) {
+    Node node = leaves.remove(solution);
+    if (node == null) {
+      return false;
+    }
+    for (int i = 0; i < node.solutions.size(); ++i) {
+      if (node.solutions.get(i) == solution) {
+        node.solutions.remove(i);
+        node.points.remove(i);
+        break;
+      }
+    }
+    while (node != null && node.isEmpty()) {
+      Node parent = node.parent;
+      if (parent == null) {
+        root = null;
+      } else {
+        parent.children.remove(node);
+      }
+      node = parent;
+    }
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    root = null;
+    leaves.clear();
+  }
+
+  @Override
+  public int size() {
+    return leaves.size();
+  }
+
+  @Override
+  public Solutions<V> getSolutions() {
+    Solutions<V> solutions = new Solutions<V>();
+    if (root != null) {
+      collect(root, solutions);
+    }
+    return solutions;
+  }
+
+  /**
+   * Adds the members of a subtree to a set.
+   * @param node Root of the subtree.
+   * @param solutions The set.
+   */
+  private void collect(Node node, Solutions<V> solutions) {
+    if (node.isLeaf()) {
+      solutions.addAll(node.solutions);
+    } else {
+      for (Node child : node.children) {
+        collect(child, solutions);
+      }
+    }
+  }
+
+  /**
+   * Copies the objectives of a solution.
+   * @param solution The solution.
+   * @return The objectives.
+   */
+  private static double[] objectivesOf(Solution<?> solution) {
+    double[] y = new double[solution.getNumberOfObjectives()];
+    for (int k = 0; k < y.length; ++k) {
+      y[k] = solution.getObjectiveValue(k);
+    }
+    return y;
+  }
+
+  /**
+   * Checks whether a vector is lower than or equal to another one in every
+   * objective.
+   * @param a First vector.
+   * @param b Second vector.
+   * @return true if a is weakly better than b.
+   */
+  private static boolean weaklyDominates(double[] a, double[] b) {
+    for (int k = 0; k < a.length; ++k) {
+      if (!(a[k] <= b[k])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Euclidean distance between two vectors.
+   * @param a First vector.
+   * @param b Second vector.
+   * @return The distance.
+   */
+  private static double distance(double[] a, double[] b) {
+    double sum = 0;
+    for (int k = 0; k < a.length; ++k) {
+      double diff = a[k] - b[k];
+      sum += diff * diff;
+    }
+    return Math.sqrt(sum);
+  }
+
+  /**
+   * Node of the tree. Leaves hold solutions; internal nodes hold children.
+   * The bounds may be looser than the actual ones after removals.
+   */
+  private class Node {
+    private final Node parent;
+    private final double[] ideal;
+    private final double[] nadir;
+    private ArrayList<Solution<V>> solutions = new ArrayList<Solution<V>>();
+    private ArrayList<double[]> points = new ArrayList<double[]>();
+    private ArrayList<Node> children = null;
+
+    Node(Node parent, double[] y) {
+      this.parent = parent;
+      this.ideal = y.clone();
+      this.nadir = y.clone();
+    }
+
+    boolean isLeaf() {
+      return children == null;
+    }
+
+    boolean isEmpty() {
+      return isLeaf() ? solutions.isEmpty() : children.isEmpty();
+    }
+
+    void expand(double[] y) {
+      for (int k = 0; k < y.length; ++k) {
+        if (y[k] < ideal[k]) {
+          ideal[k] = y[k];
+        }
+        if (y[k] > nadir[k]) {
+          nadir[k] = y[k];
+        }
+      }
+    }
+
+    double distanceToCenter(double[] y) {
+      double sum = 0;
+      for (int k = 0; k < y.length; ++k) {
+        double diff = y[k] - 0.5 * (ideal[k] + nadir[k]);
+        sum += diff * diff;
+      }
+      return sum;
+    }
+  }
+}
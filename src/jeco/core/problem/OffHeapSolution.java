@@ -0,0 +1,353 @@
+/*
+* File: OffHeapSolution.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+
+/**
+ * Real-coded solution whose genome and objectives live in a row of an
+ * {@link OffHeapSolutions} set. Reading or writing a gene or an objective is
+ * an access to the off-heap buffers; properties are kept on the heap.
+ *
+ * Cloning takes a new row of the same set, so copies taken by the
+ * algorithms (archives, offspring) stay off the heap. The row is freed when
+ * the clone is collected by the GC (see {@link OffHeapSolutions}). Writes to
+ * the genes are tracked as in {@link DoubleSolution}, so an unchanged clone
+ * of an evaluated solution is not evaluated again.
+ */
+public class OffHeapSolution extends Solution<Variable<Double>> {
+
+  /**
+   * Set that owns the storage, null once the row has been released.
+   */
+  protected OffHeapSolutions storage;
+  /**
+   * Row of the solution in the set.
+   */
+  protected int row;
+  /**
+   * Genome buffer of the chunk of the row.
+   */
+  protected DoubleBuffer genes;
+  /**
+   * Objectives buffer of the chunk of the row.
+   */
+  protected DoubleBuffer objectiveBuffer;
+  /**
+   * Offset of the first gene in the genome buffer.
+   */
+  protected int geneOffset;
+  /**
+   * Offset of the first objective in the objectives buffer.
+   */
+  protected int objectiveOffset;
+
+  /**
+   * Constructor.
+   * @param storage Set that owns the storage.
+   * @param row Row of the solution.
+   */
+  protected OffHeapSolution(OffHeapSolutions storage, int row) {
+    super(0);
+    this.storage = storage;
+    this.row = row;
+    int chunk = row / storage.rowsPerChunk;
+    int rowInChunk = row % storage.rowsPerChunk;
+    this.genes = storage.geneChunks.get(chunk);
+    this.objectiveBuffer = storage.objectiveChunks.get(chunk);
+    this.geneOffset = rowInChunk * storage.numberOfVariables;
+    this.objectiveOffset = rowInChunk * storage.numberOfObjectives;
+  }
+
+  /**
+   * Sets the genes and objectives of the row to zero.
+   */
+  void clear() {
+    for (int i = 0; i < storage.numberOfVariables; ++i) {
+      genes.put(geneOffset + i, 0.0);
+    }
+    for (int i = 0; i < storage.numberOfObjectives; ++i) {
+      objectiveBuffer.put(objectiveOffset + i, 0.0);
+    }
+    modified = true;
+  }
+
+  /**
+   * Disconnects the view from its row, once the row has been released.
+   */
+  void detach() {
+    storage = null;
+    genes = null;
+    objectiveBuffer = null;
+  }
+
+  /**
+   * Gets the value of a given gene.
+   * @param idx Index of the gene.
+   * @return The value of the gene.
+   */
+  public double getGene(int idx) {
+    return genes.get(geneOffset + idx);
+  }
+
+  /**
+   * Sets the value of a given gene.
+   * @param idx Index of the gene.
+   * @param value New value of the gene.
+   */
+  public void setGene(int idx, double value) {
+    if (Double.doubleToLongBits(genes.get(geneOffset + idx)) != Double.doubleToLongBits(value)) {
+      genes.put(geneOffset + idx, value);
+      modified = true;
+    }
+  }
+
+  /**
+   * Copies the genome into an array.
+   * @param dst Destination array.
+   * @param offset Position of the first gene in the array.
+   */
+  public void readGenes(double[] dst, int offset) {
+    genes.get(geneOffset, dst, offset, storage.numberOfVariables);
+  }
+
+  /**
+   * Copies the genome from an array.
+   * @param src Source array.
+   * @param offset Position of the first gene in the array.
+   */
+  public void writeGenes(double[] src, int offset) {
+    genes.put(geneOffset, src, offset, storage.numberOfVariables);
+    modified = true;
+  }
+
+  /**
+   * Copies the objectives into an array.
+   * @param dst Destination array.
+   * @param offset Position of the first objective in the array.
+   */
+  public void readObjectives(double[] dst, int offset) {
+    objectiveBuffer.get(objectiveOffset, dst, offset, storage.numberOfObjectives);
+  }
+
+  /**
+   * Copies the objectives from an array.
+   * @param src Source array.
+   * @param offset Position of the first objective in the array.
+   */
+  public void writeObjectives(double[] src, int offset) {
+    objectiveBuffer.put(objectiveOffset, src, offset, storage.numberOfObjectives);
+  }
+
+  /**
+   * Get the row of the solution in its set.
+   * @return The row.
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Get the set that owns the storage of the solution.
+   * @return The set, or null if the row has been released.
+   */
+  public OffHeapSolutions getStorage() {
+    return storage;
+  }
+
+  /**
+   * Writes to the genome are tracked, so the flag is exact.
+   * @return true if the solution must be evaluated.
+   */
+  @Override
+  public boolean isModified() {
+    return modified;
+  }
+
+  @Override
+  public int getNumberOfVariables() {
+    return storage.numberOfVariables;
+  }
+
+  /**
+   * Returns variables that read and write through to the genome. The list is
+   * created on the first call and cannot grow or shrink.
+   * @return Variables of the solution.
+   */
+  @Override
+  public ArrayList<Variable<Double>> getVariables() {
+    if (variables.size() != storage.numberOfVariables) {
+      variables = new GeneList();
+    }
+    return variables;
+  }
+
+  @Override
+  public Variable<Double> getVariable(int idx) {
+    return getVariables().get(idx);
+  }
+
+  @Override
+  public double getObjectiveValue(int idx) {
+    return objectiveBuffer.get(objectiveOffset + idx);
+  }
+
+  @Override
+  public void setObjective(int idx, double value) {
+    objectiveBuffer.put(objectiveOffset + idx, value);
+  }
+
+  @Override
+  public int getNumberOfObjectives() {
+    return storage.numberOfObjectives;
+  }
+
+  @Override
+  protected void insertObjective(int idx, double value) {
+    throw new UnsupportedOperationException("The objectives of an OffHeapSolution have a fixed size.");
+  }
+
+  @Override
+  protected void removeObjective(int idx) {
+    throw new UnsupportedOperationException("The objectives of an OffHeapSolution have a fixed size.");
+  }
+
+  /**
+   * Copies the solution into a new row of the same set. The copy is not
+   * added to the list of the set.
+   * @return The copy.
+   */
+  @Override
+  public OffHeapSolution clone() {
+    OffHeapSolution clone = storage.newView();
+    copyRowTo(clone);
+    return clone;
+  }
+
+  /**
+   * Copies this solution into another view of the same set (for instance, a
+   * discarded one recycled by a {@link SolutionPool}), reusing its row.
+   * @param destination Destination solution.
+   * @return true if the solution has been copied, false if the destination
+   * does not belong to the same set.
+   */
+  @Override
+  public boolean copyTo(Solution<Variable<Double>> destination) {
+    if (!(destination instanceof OffHeapSolution) || ((OffHeapSolution) destination).storage != storage) {
+      return false;
+    }
+    copyRowTo((OffHeapSolution) destination);
+    return true;
+  }
+
+  /**
+   * Copies the genes, objectives, properties and modified flag of this
+   * solution into another row of the same set.
+   * @param destination The destination.
+   */
+  private void copyRowTo(OffHeapSolution destination) {
+    destination.genes.put(destination.geneOffset, genes, geneOffset, storage.numberOfVariables);
+    destination.objectiveBuffer.put(destination.objectiveOffset, objectiveBuffer, objectiveOffset, storage.numberOfObjectives);
+    destination.modified = modified;
+    copyPropertiesTo(destination);
+  }
+
+  /**
+   * Exchanges two genes without boxing.
+   * @param idx Index of the gene in this solution.
+   * @param other The other solution (it can be this one).
+   * @param otherIdx Index of the gene in the other solution.
+   */
+  @Override
+  public void swapVariables(int idx, Solution<Variable<Double>> other, int otherIdx) {
+    double value = getGene(idx);
+    setGene(idx, DoubleSolution.getValue(other, otherIdx));
+    DoubleSolution.setValue(other, otherIdx, value);
+  }
+
+  @Override
+  public long fingerprint() {
+    long h = 0;
+    for (int i = 0; i < storage.numberOfVariables; ++i) {
+      h += mix(i, Double.doubleToLongBits(getGene(i)));
+    }
+    return h;
+  }
+
+  /**
+   * Variable that reads and writes one gene of this solution.
+   */
+  private class GeneVariable extends Variable<Double> {
+    private final int idx;
+
+    GeneVariable(int idx) {
+      super(null);
+      this.idx = idx;
+    }
+
+    @Override
+    public Double getValue() {
+      return getGene(idx);
+    }
+
+    @Override
+    public void setValue(Double value) {
+      setGene(idx, value);
+    }
+
+    @Override
+    public Variable<Double> clone() {
+      return new Variable<Double>(getGene(idx));
+    }
+  }
+
+  /**
+   * Fixed-size list of gene variables. Setting an element copies its value.
+   */
+  private class GeneList extends ArrayList<Variable<Double>> {
+    private static final long serialVersionUID = 1L;
+
+    GeneList() {
+      super(storage.numberOfVariables);
+      for (int i = 0; i < storage.numberOfVariables; ++i) {
+        super.add(new GeneVariable(i));
+      }
+    }
+
+    @Override
+    public Variable<Double> set(int idx, Variable<Double> variable) {
+      Variable<Double> old = new Variable<Double>(getGene(idx));
+      setGene(idx, variable.getValue());
+      return old;
+    }
+
+    @Override
+    public boolean add(Variable<Double> variable) {
+      throw new UnsupportedOperationException("The genome of an OffHeapSolution has a fixed size.");
+    }
+
+    @Override
+    public Variable<Double> remove(int idx) {
+      throw new UnsupportedOperationException("The genome of an OffHeapSolution has a fixed size.");
+    }
+  }
+}
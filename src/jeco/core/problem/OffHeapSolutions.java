@@ -0,0 +1,400 @@
+/*
+* File: OffHeapSolutions.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import jeco.core.util.random.RandomGenerator;
+
+/**
+ * Set of real-coded solutions whose genomes and objectives are stored off
+ * the Java heap, in direct buffers (row-major, one row per solution). The
+ * elements of the set are {@link OffHeapSolution} views that read and write
+ * through to the buffers, so the set can be used wherever a
+ * <code>Solutions&lt;Variable&lt;Double&gt;&gt;</code> is expected (for
+ * instance, returned by <code>Problem.newRandomSetOfSolutions</code> and
+ * passed to <code>Problem.evaluate</code>), and evaluators can take the
+ * buffers without copying.
+ *
+ * A direct buffer holds at most 2^31-1 bytes, so the rows are split in
+ * chunks of {@link #getRowsPerChunk()} rows, each one with its own genome and
+ * objectives buffers. Chunks are allocated when they are needed, so the set
+ * grows beyond its initial capacity and its size is only limited by the
+ * memory available. A row never spans two chunks.
+ *
+ * Clones of the views are new rows of the same set, which are not added to
+ * the list. A row is freed when its view is no longer referenced: once the
+ * GC has collected the view, the row is reused by the next solutions, so the
+ * offspring and copies that an algorithm discards in each generation do not
+ * accumulate. Rows can also be freed at once with
+ * {@link #release(OffHeapSolution)}, or recycled without waiting for the GC
+ * through a {@link SolutionPool}. Removing a view from the list only frees
+ * its row if nothing else references it.
+ *
+ * Views are small, so the GC may not run often enough to free rows at the
+ * rate an algorithm discards them. As direct buffers do, when a new chunk is
+ * needed and the rows in use have doubled since the last collection, the
+ * set requests one with <code>System.gc()</code> before growing. The chunks
+ * therefore stay within about twice the rows actually referenced.
+ *
+ * The set cannot be serialized: its storage is not on the heap.
+ */
+public class OffHeapSolutions extends Solutions<Variable<Double>> {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Number of rows of each chunk.
+   */
+  protected int rowsPerChunk;
+  /**
+   * Number of rows allocated, including the free ones.
+   */
+  protected int rows = 0;
+  /**
+   * Number of variables per row.
+   */
+  protected int numberOfVariables;
+  /**
+   * Number of objectives per row.
+   */
+  protected int numberOfObjectives;
+  /**
+   * Genomes of each chunk, row-major.
+   */
+  protected transient ArrayList<DoubleBuffer> geneChunks = new ArrayList<DoubleBuffer>();
+  /**
+   * Objectives of each chunk, row-major.
+   */
+  protected transient ArrayList<DoubleBuffer> objectiveChunks = new ArrayList<DoubleBuffer>();
+  /**
+   * Free rows.
+   */
+  private int[] free = new int[16];
+  /**
+   * Number of free rows.
+   */
+  private int numberOfFree = 0;
+  /**
+   * Reference to the view of each row in use, null for free rows.
+   */
+  private transient RowReference[] references = new RowReference[16];
+  /**
+   * Queue of the references whose views have been collected.
+   */
+  private transient ReferenceQueue<OffHeapSolution> collected = new ReferenceQueue<OffHeapSolution>();
+  /**
+   * Rows in use from which a new chunk is only allocated after requesting a
+   * collection.
+   */
+  private int collectionThreshold;
+  /**
+   * Time waited for the first collected view after a collection, in ms.
+   * The next ones are waited for while they keep arriving.
+   */
+  private static final long COLLECTION_WAIT = 10;
+
+  /**
+   * Constructor. The set is empty, and no memory is allocated until the
+   * first solution is created.
+   * @param capacity Expected number of solutions. It is the size of the
+   * chunks, unless a chunk of that many rows does not fit in a buffer.
+   * @param numberOfVariables Number of variables of each solution.
+   * @param numberOfObjectives Number of objectives of each solution.
+   * @throws IllegalArgumentException if a single row does not fit in a buffer.
+   */
+  public OffHeapSolutions(int capacity, int numberOfVariables, int numberOfObjectives) {
+    super();
+    this.numberOfVariables = numberOfVariables;
+    this.numberOfObjectives = numberOfObjectives;
+    long rowBytes = (long) Double.BYTES * Math.max(1, Math.max(numberOfVariables, numberOfObjectives));
+    if (rowBytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("A row of " + numberOfVariables + " variables does not fit in a direct buffer.");
+    }
+    this.rowsPerChunk = (int) Math.max(1, Math.min(capacity, Integer.MAX_VALUE / rowBytes));
+    this.collectionThreshold = 2 * rowsPerChunk;
+  }
+
+  /**
+   * Allocates a direct buffer of doubles.
+   * @param length Number of doubles.
+   * @return The buffer.
+   */
+  private static DoubleBuffer allocate(int length) {
+    return ByteBuffer.allocateDirect(length * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+  }
+
+  /**
+   * Creates a set of random solutions of a problem, within the bounds of its
+   * variables. Problems can return it from
+   * <code>newRandomSetOfSolutions</code>. The copies that the algorithm takes
+   * of these solutions are rows of the same set, freed when the algorithm
+   * drops them and the GC collects them, or at once if the algorithm
+   * recycles them through a {@link SolutionPool}.
+   * @param problem The problem.
+   * @param size Number of solutions.
+   * @return The set of solutions.
+   */
+  public static OffHeapSolutions newRandomSetOfSolutions(Problem<Variable<Double>> problem, int size) {
+    int nVar = problem.getNumberOfVariables();
+    OffHeapSolutions solutions = new OffHeapSolutions(size, nVar, problem.getNumberOfObjectives());
+    for (int i = 0; i < size; ++i) {
+      OffHeapSolution solI = solutions.newSolution();
+      for (int j = 0; j < nVar; ++j) {
+        solI.setGene(j, RandomGenerator.nextDouble(problem.getLowerBound(j), problem.getUpperBound(j)));
+      }
+    }
+    return solutions;
+  }
+
+  /**
+   * Creates a new solution in a free row and adds it to the set. Its genes
+   * and objectives are zero.
+   * @return The new solution.
+   */
+  public OffHeapSolution newSolution() {
+    OffHeapSolution solution = newView();
+    super.add(solution);
+    return solution;
+  }
+
+  /**
+   * Copies a solution into a free row and adds the copy to the set.
+   * @param solution Solution to copy. Properties are copied too.
+   * @return The copy.
+   */
+  public OffHeapSolution newSolution(Solution<? extends Variable<Double>> solution) {
+    OffHeapSolution copy = newSolution();
+    for (int j = 0; j < numberOfVariables; ++j) {
+      copy.setGene(j, DoubleSolution.getValue(solution, j));
+    }
+    for (int i = 0; i < numberOfObjectives; ++i) {
+      copy.setObjective(i, solution.getObjectiveValue(i));
+    }
+    solution.copyPropertiesTo(copy);
+    copy.setModified(solution.isModified());
+    return copy;
+  }
+
+  /**
+   * Creates a view of a free row, with zero genes and objectives, without
+   * adding it to the set.
+   * @return The view.
+   */
+  protected OffHeapSolution newView() {
+    reclaim();
+    if (numberOfFree == 0 && rows == getCapacity() && rows >= collectionThreshold) {
+      collect();
+    }
+    int row;
+    if (numberOfFree > 0) {
+      row = free[--numberOfFree];
+    } else {
+      if (rows == Integer.MAX_VALUE) {
+        throw new IllegalStateException("Too many rows in the off-heap set.");
+      }
+      row = rows++;
+      if (row / rowsPerChunk == geneChunks.size()) {
+        geneChunks.add(allocate(rowsPerChunk * numberOfVariables));
+        objectiveChunks.add(allocate(rowsPerChunk * numberOfObjectives));
+      }
+    }
+    OffHeapSolution solution = new OffHeapSolution(this, row);
+    if (row >= references.length) {
+      references = Arrays.copyOf(references, Math.max(row + 1, references.length * 2));
+    }
+    references[row] = new RowReference(solution, row, collected);
+    solution.clear();
+    return solution;
+  }
+
+  /**
+   * Frees the rows of the views collected by the GC.
+   */
+  private void reclaim() {
+    Reference<? extends OffHeapSolution> reference;
+    while ((reference = collected.poll()) != null) {
+      freeRow((RowReference) reference);
+    }
+  }
+
+  /**
+   * Requests a collection and frees the rows of the views collected, so that
+   * the rows discarded since the last collection are reused instead of
+   * allocating a new chunk.
+   */
+  private void collect() {
+    System.gc();
+    try {
+      // The references are enqueued by another thread, after the collection
+      Reference<? extends OffHeapSolution> reference = collected.remove(COLLECTION_WAIT);
+      while (reference != null) {
+        freeRow((RowReference) reference);
+        reference = collected.remove(1);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    reclaim();
+    collectionThreshold = 2 * Math.max(rowsPerChunk, rows - numberOfFree);
+  }
+
+  /**
+   * Frees the row of a collected view.
+   * @param reference Reference to the view.
+   */
+  private void freeRow(RowReference reference) {
+    if (references[reference.row] == reference) {
+      references[reference.row] = null;
+      pushFree(reference.row);
+    }
+  }
+
+  /**
+   * Adds a row to the free rows.
+   * @param row The row.
+   */
+  private void pushFree(int row) {
+    if (numberOfFree == free.length) {
+      free = Arrays.copyOf(free, numberOfFree * 2);
+    }
+    free[numberOfFree++] = row;
+  }
+
+  /**
+   * Frees the row of a solution, which will be reused by the next solutions.
+   * The solution must not be used afterwards, and it should be removed from
+   * the set first if it is there.
+   * @param solution The solution.
+   * @throws IllegalArgumentException if the solution does not belong to this
+   * set or has already been released.
+   */
+  public void release(OffHeapSolution solution) {
+    if (solution.storage != this) {
+      throw new IllegalArgumentException("The solution does not belong to this set, or has already been released.");
+    }
+    references[solution.row].clear();
+    references[solution.row] = null;
+    pushFree(solution.row);
+    solution.detach();
+  }
+
+  /**
+   * Returns a read-only view of the genomes of a chunk (row-major), without
+   * copying. Genes must be written through the solutions, which keep track
+   * of their changes.
+   * @param chunk Index of the chunk.
+   * @return The genome buffer.
+   */
+  public DoubleBuffer getGenes(int chunk) {
+    return geneChunks.get(chunk).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns the buffer with the objectives of a chunk (row-major). Changes in
+   * the buffer are changes in the solutions, so evaluators can write the
+   * objectives directly.
+   * @param chunk Index of the chunk.
+   * @return The objectives buffer.
+   */
+  public DoubleBuffer getObjectives(int chunk) {
+    return objectiveChunks.get(chunk);
+  }
+
+  /**
+   * Get the number of chunks allocated.
+   * @return Number of chunks.
+   */
+  public int getNumberOfChunks() {
+    return geneChunks.size();
+  }
+
+  /**
+   * Get the number of rows of each chunk. Row r is row
+   * <code>r % getRowsPerChunk()</code> of chunk
+   * <code>r / getRowsPerChunk()</code>.
+   * @return Number of rows per chunk.
+   */
+  public int getRowsPerChunk() {
+    return rowsPerChunk;
+  }
+
+  /**
+   * Get the number of rows allocated, free or not.
+   * @return The capacity of the chunks allocated.
+   */
+  public long getCapacity() {
+    return (long) geneChunks.size() * rowsPerChunk;
+  }
+
+  /**
+   * Get the number of rows in use. The rows of the views already collected
+   * by the GC are freed first.
+   * @return Number of rows.
+   */
+  public int getRows() {
+    reclaim();
+    return rows - numberOfFree;
+  }
+
+  /**
+   * Get the number of variables per row.
+   * @return Number of variables.
+   */
+  public int getNumberOfVariables() {
+    return numberOfVariables;
+  }
+
+  /**
+   * Get the number of objectives per row.
+   * @return Number of objectives.
+   */
+  public int getNumberOfObjectives() {
+    return numberOfObjectives;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    throw new NotSerializableException(OffHeapSolutions.class.getName());
+  }
+
+  /**
+   * Weak reference to the view of a row, which frees the row once the view
+   * has been collected.
+   */
+  private static final class RowReference extends WeakReference<OffHeapSolution> {
+    private final int row;
+
+    RowReference(OffHeapSolution view, int row, ReferenceQueue<OffHeapSolution> queue) {
+      super(view, queue);
+      this.row = row;
+    }
+  }
+}
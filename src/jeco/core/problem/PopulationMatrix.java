@@ -0,0 +1,314 @@
+/*
+* File: PopulationMatrix.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.util.List;
+
+/**
+ * Struct-of-arrays representation of a population. All the genomes are stored
+ * in one contiguous <code>double[]</code> (row-major, size x numberOfVariables)
+ * and all the objectives in another one (size x numberOfObjectives), so
+ * whole-population kernels (dominance, distances, variation) run over flat
+ * arrays instead of per-solution object graphs.
+ *
+ * Row <code>i</code> of the matrix corresponds to the solution at index
+ * <code>i</code> of the set it was loaded from.
+ */
+public class PopulationMatrix {
+
+  /**
+   * Number of rows (solutions).
+   */
+  protected int size;
+  /**
+   * Number of variables per row.
+   */
+  protected int numberOfVariables;
+  /**
+   * Number of objectives per row.
+   */
+  protected int numberOfObjectives;
+  /**
+   * Genomes, row-major.
+   */
+  protected double[] genes;
+  /**
+   * Objectives, row-major.
+   */
+  protected double[] objectives;
+
+  /**
+   * Largest length of a Java array.
+   */
+  private static final long MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+  /**
+   * Constructor.
+   * @param size Number of solutions.
+   * @param numberOfVariables Number of variables of each solution.
+   * @param numberOfObjectives Number of objectives of each solution.
+   * @throws IllegalArgumentException If the genomes or the objectives do not
+   * fit in one array.
+   */
+  public PopulationMatrix(int size, int numberOfVariables, int numberOfObjectives) {
+    this.size = size;
+    this.numberOfVariables = numberOfVariables;
+    this.numberOfObjectives = numberOfObjectives;
+    this.genes = allocate(size, numberOfVariables, "variables");
+    this.objectives = allocate(size, numberOfObjectives, "objectives");
+  }
+
+  /**
+   * Allocates a row-major array, checking that it fits in one array.
+   * @param rows Number of rows.
+   * @param columns Number of elements per row.
+   * @param name Name of the elements, for the error message.
+   * @return The array.
+   */
+  private static double[] allocate(int rows, int columns, String name) {
+    long length = (long) rows * columns;
+    if (length > MAX_LENGTH) {
+      throw new IllegalArgumentException(rows + " rows of " + columns + " " + name + " need " + length + " elements, more than an array can hold.");
+    }
+    return new double[(int) length];
+  }
+
+  /**
+   * Builds a matrix with the genomes and objectives of a set of real-coded
+   * solutions.
+   * @param <V> Type of the variables.
+   * @param solutions Set of solutions.
+   * @return The matrix.
+   */
+  public static <V extends Variable<Double>> PopulationMatrix of(List<Solution<V>> solutions) {
+    int n = solutions.size();
+    int nVar = (n > 0) ? solutions.get(0).getNumberOfVariables() : 0;
+    int nObj = (n > 0) ? solutions.get(0).getNumberOfObjectives() : 0;
+    PopulationMatrix matrix = new PopulationMatrix(n, nVar, nObj);
+    for (int i = 0; i < n; ++i) {
+      Solution<V> solution = solutions.get(i);
+      matrix.loadGenes(i, solution);
+      matrix.loadObjectives(i, solution);
+    }
+    return matrix;
+  }
+
+  /**
+   * Builds a matrix with only the objectives of a set of solutions. It can be
+   * used with any type of variable.
+   * @param <V> Type of the variables.
+   * @param solutions Set of solutions.
+   * @return The matrix, with zero variables per row.
+   */
+  public static <V extends Variable<?>> PopulationMatrix ofObjectives(List<Solution<V>> solutions) {
+    int n = solutions.size();
+    int nObj = (n > 0) ? solutions.get(0).getNumberOfObjectives() : 0;
+    PopulationMatrix matrix = new PopulationMatrix(n, 0, nObj);
+    for (int i = 0; i < n; ++i) {
+      matrix.loadObjectives(i, solutions.get(i));
+    }
+    return matrix;
+  }
+
+  /**
+   * Copies the genome of a solution into a row.
+   * @param row Row index.
+   * @param solution Source solution.
+   */
+  public void loadGenes(int row, Solution<? extends Variable<Double>> solution) {
+    int offset = row * numberOfVariables;
+    if (solution instanceof DoubleSolution) {
+      System.arraycopy(((DoubleSolution) solution).genes, 0, genes, offset, numberOfVariables);
+    } else if (solution instanceof OffHeapSolution) {
+      ((OffHeapSolution) solution).readGenes(genes, offset);
+    } else {
+      for (int j = 0; j < numberOfVariables; ++j) {
+        genes[offset + j] = solution.getVariable(j).getValue();
+      }
+    }
+  }
+
+  /**
+   * Copies the objectives of a solution into a row.
+   * @param row Row index.
+   * @param solution Source solution.
+   */
+  public void loadObjectives(int row, Solution<?> solution) {
+    if (solution instanceof OffHeapSolution) {
+      ((OffHeapSolution) solution).readObjectives(objectives, row * numberOfObjectives);
+    } else {
+      System.arraycopy(solution.objectives, 0, objectives, row * numberOfObjectives, numberOfObjectives);
+    }
+  }
+
+  /**
+   * Copies a row of genes into a solution.
+   * @param row Row index.
+   * @param solution Destination solution.
+   */
+  public void storeGenes(int row, Solution<? extends Variable<Double>> solution) {
+    int offset = row * numberOfVariables;
+    if (solution instanceof DoubleSolution) {
+      System.arraycopy(genes, offset, ((DoubleSolution) solution).getGenes(), 0, numberOfVariables);
+    } else if (solution instanceof OffHeapSolution) {
+      ((OffHeapSolution) solution).writeGenes(genes, offset);
+    } else {
+      for (int j = 0; j < numberOfVariables; ++j) {
+        DoubleSolution.setValue(solution, j, genes[offset + j]);
+      }
+    }
+  }
+
+  /**
+   * Copies a row of objectives into a solution.
+   * @param row Row index.
+   * @param solution Destination solution.
+   */
+  public void storeObjectives(int row, Solution<?> solution) {
+    if (solution instanceof OffHeapSolution) {
+      ((OffHeapSolution) solution).writeObjectives(objectives, row * numberOfObjectives);
+    } else {
+      System.arraycopy(objectives, row * numberOfObjectives, solution.objectives, 0, numberOfObjectives);
+    }
+  }
+
+  /**
+   * Compares two rows according to the Pareto dominance relation, as
+   * <code>SolutionDominance</code> does.
+   * @param i First row.
+   * @param j Second row.
+   * @return -1 if row i dominates row j, 1 if row j dominates row i, 0 otherwise.
+   */
+  public int compare(int i, int j) {
+    return DominanceKernel.compare(objectives, i * numberOfObjectives, objectives, j * numberOfObjectives, numberOfObjectives);
+  }
+
+  /**
+   * Compares one row with a block of rows in a single call.
+   * @param i Row compared.
+   * @param from First row of the block.
+   * @param to Row after the last one of the block.
+   * @param result Relation of row i with each row of the block, stored from
+   * <code>result[0]</code>, as returned by {@link #compare(int, int)}.
+   */
+  public void compare(int i, int from, int to, int[] result) {
+    DominanceKernel.compare(objectives, numberOfObjectives, i, from, to, result);
+  }
+
+  /**
+   * Euclidean distance between two rows in objective space.
+   * @param i First row.
+   * @param j Second row.
+   * @return The distance.
+   */
+  public double distance(int i, int j) {
+    int offsetI = i * numberOfObjectives;
+    int offsetJ = j * numberOfObjectives;
+    double sum = 0;
+    for (int k = 0; k < numberOfObjectives; ++k) {
+      double diff = objectives[offsetI + k] - objectives[offsetJ + k];
+      sum += diff * diff;
+    }
+    return Math.sqrt(sum);
+  }
+
+  /**
+   * Gets a gene.
+   * @param row Row index.
+   * @param idx Variable index.
+   * @return The value of the gene.
+   */
+  public double getGene(int row, int idx) {
+    return genes[row * numberOfVariables + idx];
+  }
+
+  /**
+   * Sets a gene.
+   * @param row Row index.
+   * @param idx Variable index.
+   * @param value New value.
+   */
+  public void setGene(int row, int idx, double value) {
+    genes[row * numberOfVariables + idx] = value;
+  }
+
+  /**
+   * Gets an objective.
+   * @param row Row index.
+   * @param idx Objective index.
+   * @return The value of the objective.
+   */
+  public double getObjective(int row, int idx) {
+    return objectives[row * numberOfObjectives + idx];
+  }
+
+  /**
+   * Sets an objective.
+   * @param row Row index.
+   * @param idx Objective index.
+   * @param value New value.
+   */
+  public void setObjective(int row, int idx, double value) {
+    objectives[row * numberOfObjectives + idx] = value;
+  }
+
+  /**
+   * Returns the genome array (row-major). Changes in the array are changes in
+   * the matrix.
+   * @return The genome array.
+   */
+  public double[] getGenes() {
+    return genes;
+  }
+
+  /**
+   * Returns the objectives array (row-major). Changes in the array are
+   * changes in the matrix.
+   * @return The objectives array.
+   */
+  public double[] getObjectives() {
+    return objectives;
+  }
+
+  /**
+   * Get the number of rows.
+   * @return Number of solutions.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Get the number of variables per row.
+   * @return Number of variables.
+   */
+  public int getNumberOfVariables() {
+    return numberOfVariables;
+  }
+
+  /**
+   * Get the number of objectives per row.
+   * @return Number of objectives.
+   */
+  public int getNumberOfObjectives() {
+    return numberOfObjectives;
+  }
+}
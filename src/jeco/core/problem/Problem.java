@@ -100,12 +100,18 @@ public abstract class Problem<V extends Variable<?>> {
   public abstract Solutions<V> newRandomSetOfSolutions(int size);
 
   /**
-   * Function to evaluate a set of solutions.
+   * Function to evaluate a set of solutions. Solutions whose genome has not
+   * changed since their last evaluation (see <code>Solution.isModified()</code>)
+   * are skipped. Problems whose objectives may change for the same genome
+   * (noisy or dynamic problems) must override this method.
    * @param solutions Set of solutions to evaluate.
    */
   public void evaluate(Solutions<V> solutions) {
     for(Solution<V> solution : solutions) {
-      evaluate(solution);
+      if (solution.isModified()) {
+        evaluate(solution);
+        solution.setModified(false);
+      }
     }
   }
   
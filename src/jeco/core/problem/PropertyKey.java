@@ -0,0 +1,157 @@
+/*
+* File: PropertyKey.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registered key of a numeric solution property. Each key is resolved once to
+ * a slot index, so reading or writing the property is an array access on a
+ * primitive <code>double</code> instead of a string lookup in a map.
+ *
+ * Keys are registered by name. Registering the same name twice returns the
+ * same key.
+ *
+ * @param <T> Logical type of the property (Double or Integer). Values are
+ * always stored as double; the type is used when the property is published
+ * through <code>Solution.getProperties()</code>.
+ */
+public class PropertyKey<T extends Number> {
+
+  /**
+   * Registered keys, by name.
+   */
+  private static final ConcurrentHashMap<String, PropertyKey<?>> registry = new ConcurrentHashMap<String, PropertyKey<?>>();
+  /**
+   * Registered keys, by slot. The array is replaced, never modified, when a
+   * key is registered, so it can be read without locking.
+   */
+  private static volatile PropertyKey<?>[] keys = new PropertyKey<?>[0];
+
+  /**
+   * Name of the property.
+   */
+  protected final String name;
+  /**
+   * Logical type of the property.
+   */
+  protected final Class<T> type;
+  /**
+   * Slot index of the property.
+   */
+  protected final int index;
+
+  /**
+   * Constructor.
+   * @param name Name of the property.
+   * @param type Logical type of the property.
+   * @param index Slot index.
+   */
+  private PropertyKey(String name, Class<T> type, int index) {
+    this.name = name;
+    this.type = type;
+    this.index = index;
+  }
+
+  /**
+   * Registers a property, or returns the existing key if the name is already
+   * registered.
+   * @param <T> Logical type of the property.
+   * @param name Name of the property.
+   * @param type Logical type of the property.
+   * @return The key of the property.
+   * @throws IllegalArgumentException if the name is registered with another type.
+   */
+  @SuppressWarnings("unchecked")
+  public static synchronized <T extends Number> PropertyKey<T> register(String name, Class<T> type) {
+    PropertyKey<?> key = registry.get(name);
+    if (key == null) {
+      PropertyKey<?>[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+      key = new PropertyKey<T>(name, type, keys.length);
+      newKeys[key.index] = key;
+      registry.put(name, key);
+      keys = newKeys;
+    } else if (!key.type.equals(type)) {
+      throw new IllegalArgumentException("Property " + name + " is already registered as " + key.type.getSimpleName());
+    }
+    return (PropertyKey<T>) key;
+  }
+
+  /**
+   * Returns the key registered with a given name.
+   * @param name Name of the property.
+   * @return The key, or null if the name is not registered.
+   */
+  public static PropertyKey<?> get(String name) {
+    return registry.get(name);
+  }
+
+  /**
+   * Number of registered keys.
+   * @return Number of keys.
+   */
+  static int count() {
+    return keys.length;
+  }
+
+  /**
+   * Returns all the registered keys, indexed by slot. The array is shared
+   * and must not be modified.
+   * @return The keys.
+   */
+  static PropertyKey<?>[] keys() {
+    return keys;
+  }
+
+  /**
+   * Boxes a slot value in the logical type of the key.
+   * @param value Slot value.
+   * @return The boxed value.
+   */
+  Number box(double value) {
+    if (type.equals(Integer.class)) {
+      return Integer.valueOf((int) value);
+    }
+    return Double.valueOf(value);
+  }
+
+  /**
+   * Get the name of the property.
+   * @return Name of the property.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the slot index of the property.
+   * @return Slot index.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -20,10 +20,27 @@
 */
 package jeco.core.problem;
 
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * Class representing a solution in a problem.
@@ -38,20 +55,62 @@ public class Solution<V extends Variable<?>> {
   /**
    * Objectives of the solution.
    */
-  protected ArrayList<Double> objectives = new ArrayList<Double>();
+  protected double[] objectives;
   /**
-   * User properties of the solution.
+   * List view of the objectives, created on demand.
+   */
+  private ObjectiveList objectivesView = null;
+  /**
+   * User properties of the solution whose names are not registered.
    */
   protected HashMap<String, Number> properties = new HashMap<String, Number>();
+  /**
+   * Map view of all the properties, created on demand.
+   */
+  private PropertyMap propertiesView = null;
+  /**
+   * Values of the registered properties, indexed by <code>PropertyKey</code> slot.
+   */
+  protected double[] propertySlots = null;
+  /**
+   * Flags telling which registered properties have been set.
+   */
+  protected boolean[] propertySet = null;
+  /**
+   * Whether the genome may have changed since the last evaluation.
+   */
+  protected boolean modified = true;
 
   /**
    * Constructor.
    * @param numberOfObjectives Number of objectives.
    */
   public Solution(int numberOfObjectives) {
-    for (int i = 0; i < numberOfObjectives; ++i) {
-      objectives.add(0.0);
-    }
+    objectives = new double[numberOfObjectives];
+  }
+
+  /**
+   * Checks whether the genome may have changed since the solution was last
+   * evaluated through <code>Problem.evaluate(Solutions)</code>. Writes
+   * through <code>Variable.setValue</code> or <code>getVariables()</code>
+   * cannot be tracked, so generic solutions are always considered modified.
+   * Primitive solutions (<code>DoubleSolution</code>, <code>IntSolution</code>,
+   * <code>OffHeapSolution</code>) track their writes and override this
+   * method, and their clones keep the flag of the original.
+   * @return true if the solution must be evaluated.
+   */
+  public boolean isModified() {
+    return true;
+  }
+
+  /**
+   * Sets whether the genome has changed since the last evaluation. Operators
+   * that modify a primitive solution in a way that is not tracked can set it
+   * to force a new evaluation. Generic solutions are always evaluated.
+   * @param modified true if the solution must be evaluated.
+   */
+  public void setModified(boolean modified) {
+    this.modified = modified;
   }
 
   /**
@@ -72,11 +131,24 @@ public class Solution<V extends Variable<?>> {
   }
 
   /**
-   * Returns the set of objectives.
+   * Gets the number of decision variables.
+   * @return Number of variables.
+   */
+  public int getNumberOfVariables() {
+    return variables.size();
+  }
+
+  /**
+   * Returns the set of objectives. The list reads and writes through to the
+   * objectives of this solution: setting, adding or removing an element
+   * changes them.
    * @return The set of objectives.
    */
   public ArrayList<Double> getObjectives() {
-    return objectives;
+    if (objectivesView == null) {
+      objectivesView = new ObjectiveList(this);
+    }
+    return objectivesView;
   }
 
   /**
@@ -85,33 +157,265 @@ public class Solution<V extends Variable<?>> {
    * @return The value of the objective.
    */
   public Double getObjective(int idx) {
-    return objectives.get(idx);
+    return getObjectiveValue(idx);
+  }
+
+  /**
+   * Gets the value of a given objective, without boxing.
+   * @param idx Index of the objective.
+   * @return The value of the objective.
+   */
+  public double getObjectiveValue(int idx) {
+    return objectives[idx];
+  }
+
+  /**
+   * Sets the value of a given objective.
+   * @param idx Index of the objective.
+   * @param value New value of the objective.
+   */
+  public void setObjective(int idx, double value) {
+    objectives[idx] = value;
+  }
+
+  /**
+   * Copies the objectives into a new array.
+   * @return The objectives.
+   */
+  public double[] objectivesArray() {
+    double[] result = new double[getNumberOfObjectives()];
+    for (int i = 0; i < result.length; ++i) {
+      result[i] = getObjectiveValue(i);
+    }
+    return result;
   }
 
   /**
-   * Returns the user properties of the solution.
-   * @return The user properties of the solution.
+   * Inserts an objective, shifting the following ones.
+   * @param idx Index of the new objective.
+   * @param value Value of the new objective.
+   */
+  protected void insertObjective(int idx, double value) {
+    double[] aux = new double[objectives.length + 1];
+    System.arraycopy(objectives, 0, aux, 0, idx);
+    aux[idx] = value;
+    System.arraycopy(objectives, idx, aux, idx + 1, objectives.length - idx);
+    objectives = aux;
+  }
+
+  /**
+   * Removes an objective, shifting the following ones.
+   * @param idx Index of the objective.
+   */
+  protected void removeObjective(int idx) {
+    double[] aux = new double[objectives.length - 1];
+    System.arraycopy(objectives, 0, aux, 0, idx);
+    System.arraycopy(objectives, idx + 1, aux, idx, objectives.length - idx - 1);
+    objectives = aux;
+  }
+
+  /**
+   * Gets the number of objectives.
+   * @return Number of objectives.
+   */
+  public int getNumberOfObjectives() {
+    return objectives.length;
+  }
+
+  /**
+   * Returns the properties of the solution. The map reads and writes through
+   * to the solution: the properties with a registered name (see
+   * {@link PropertyKey}) are kept in their slots, so writing "rank" in the
+   * map is the same as setting its key, and the other ones in a plain map.
+   * @return The properties of the solution.
    */
   public HashMap<String, Number> getProperties() {
-    return properties;
+    if (propertiesView == null) {
+      propertiesView = new PropertyMap(this);
+    }
+    return propertiesView;
+  }
+
+  /**
+   * Gets the value of a registered property.
+   * @param key Key of the property.
+   * @return The value of the property, or 0 if it has not been set.
+   */
+  public double getProperty(PropertyKey<?> key) {
+    int idx = key.index;
+    if (propertySlots == null || idx >= propertySlots.length || !propertySet[idx]) {
+      return migrateProperty(key) ? propertySlots[idx] : 0.0;
+    }
+    return propertySlots[idx];
+  }
+
+  /**
+   * Sets the value of a registered property.
+   * @param key Key of the property.
+   * @param value New value of the property.
+   */
+  public void setProperty(PropertyKey<?> key, double value) {
+    int idx = key.index;
+    if (propertySlots == null || idx >= propertySlots.length) {
+      int size = Math.max(idx + 1, PropertyKey.count());
+      double[] slots = new double[size];
+      boolean[] set = new boolean[size];
+      if (propertySlots != null) {
+        System.arraycopy(propertySlots, 0, slots, 0, propertySlots.length);
+        System.arraycopy(propertySet, 0, set, 0, propertySet.length);
+      }
+      propertySlots = slots;
+      propertySet = set;
+    }
+    propertySlots[idx] = value;
+    propertySet[idx] = true;
+  }
+
+  /**
+   * Checks whether a registered property has been set.
+   * @param key Key of the property.
+   * @return true if the property has a value.
+   */
+  public boolean hasProperty(PropertyKey<?> key) {
+    int idx = key.index;
+    return (propertySlots != null && idx < propertySlots.length && propertySet[idx]) || migrateProperty(key);
+  }
+
+  /**
+   * Removes the value of a registered property.
+   * @param key Key of the property.
+   */
+  private void clearProperty(PropertyKey<?> key) {
+    migrateProperty(key);
+    int idx = key.index;
+    if (propertySlots != null && idx < propertySlots.length) {
+      propertySlots[idx] = 0.0;
+      propertySet[idx] = false;
+    }
+  }
+
+  /**
+   * Moves a property written in the map before its name was registered into
+   * its slot.
+   * @param key Key of the property.
+   * @return true if the property has been moved.
+   */
+  private boolean migrateProperty(PropertyKey<?> key) {
+    if (properties.isEmpty()) {
+      return false;
+    }
+    Number value = properties.remove(key.name);
+    if (value == null) {
+      return false;
+    }
+    setProperty(key, value.doubleValue());
+    return true;
+  }
+
+  /**
+   * Moves every property written in the map before its name was registered
+   * into its slot.
+   */
+  private void migrateProperties() {
+    if (properties.isEmpty()) {
+      return;
+    }
+    Iterator<Map.Entry<String, Number>> it = properties.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, Number> entry = it.next();
+      PropertyKey<?> key = PropertyKey.get(entry.getKey());
+      if (key != null && entry.getValue() != null) {
+        it.remove();
+        setProperty(key, entry.getValue().doubleValue());
+      }
+    }
   }
 
   @SuppressWarnings("unchecked")
   @Override
   public Solution<V> clone() {
-    Solution<V> clone = new Solution<V>(objectives.size());
-    for (int i = 0; i < objectives.size(); ++i) {
-      clone.objectives.set(i, objectives.get(i));
-    }
+    Solution<V> clone = new Solution<V>(objectives.length);
+    System.arraycopy(objectives, 0, clone.objectives, 0, objectives.length);
     for (int i = 0; i < variables.size(); ++i) {
       clone.variables.add((V) variables.get(i).clone());
     }
 
+    copyPropertiesTo(clone);
+    return clone;
+  }
+
+  /**
+   * Copies this solution into another one of the same class and size,
+   * reusing the storage of the destination. It is used to recycle discarded
+   * solutions (see {@link SolutionPool}).
+   * @param destination Destination solution.
+   * @return true if the solution has been copied, false if the destination
+   * cannot hold it.
+   */
+  @SuppressWarnings("unchecked")
+  public boolean copyTo(Solution<V> destination) {
+    if (getClass() != Solution.class || destination.getClass() != Solution.class || destination.objectives.length != objectives.length) {
+      return false;
+    }
+    System.arraycopy(objectives, 0, destination.objectives, 0, objectives.length);
+    destination.variables.clear();
+    for (int i = 0; i < variables.size(); ++i) {
+      destination.variables.add((V) variables.get(i).clone());
+    }
+    copyPropertiesTo(destination);
+    destination.modified = true;
+    return true;
+  }
+
+  /**
+   * Exchanges the value of a variable of this solution with the value of a
+   * variable of another solution, or of this one. Between two generic
+   * solutions the variable objects are exchanged; otherwise their values
+   * are, because the variables of primitive-backed solutions are views of
+   * their genomes and setting one copies its value.
+   * @param idx Index of the variable in this solution.
+   * @param other The other solution (it can be this one).
+   * @param otherIdx Index of the variable in the other solution.
+   */
+  @SuppressWarnings("unchecked")
+  public void swapVariables(int idx, Solution<V> other, int otherIdx) {
+    if (getClass() == Solution.class && other.getClass() == Solution.class) {
+      V tmp = variables.get(idx);
+      variables.set(idx, other.variables.get(otherIdx));
+      other.variables.set(otherIdx, tmp);
+    } else {
+      Variable<Object> mine = (Variable<Object>) getVariable(idx);
+      Variable<Object> theirs = (Variable<Object>) other.getVariable(otherIdx);
+      Object value = mine.getValue();
+      mine.setValue(theirs.getValue());
+      theirs.setValue(value);
+    }
+    modified = true;
+    other.modified = true;
+  }
+
+  /**
+   * Copies the user and registered properties of this solution into another
+   * one, replacing the properties it had.
+   * @param clone Destination solution.
+   */
+  protected void copyPropertiesTo(Solution<?> clone) {
+    clone.properties.clear();
     for (Map.Entry<String, Number> entry : properties.entrySet()) {
       clone.properties.put(entry.getKey(), entry.getValue());
     }
-
-    return clone;
+    if (propertySlots == null) {
+      if (clone.propertySlots != null) {
+        Arrays.fill(clone.propertySlots, 0.0);
+        Arrays.fill(clone.propertySet, false);
+      }
+    } else if (clone.propertySlots != null && clone.propertySlots.length == propertySlots.length) {
+      System.arraycopy(propertySlots, 0, clone.propertySlots, 0, propertySlots.length);
+      System.arraycopy(propertySet, 0, clone.propertySet, 0, propertySet.length);
+    } else {
+      clone.propertySlots = propertySlots.clone();
+      clone.propertySet = propertySet.clone();
+    }
   }
 
   /**
@@ -124,20 +428,93 @@ public class Solution<V extends Variable<?>> {
     return comparator.compare(this, solution);
   }
 
-  @SuppressWarnings("unchecked")
-	@Override
+  /**
+   * Two solutions are equal if they have the same number of variables and
+   * objectives, and the same values.
+   */
+  @Override
   public boolean equals(Object right) {
-    Solution<V> sol = (Solution<V>) right;
-    int nVar = Math.min(variables.size(), sol.variables.size());
+    if (this == right) {
+      return true;
+    }
+    if (!(right instanceof Solution<?>)) {
+      return false;
+    }
+    Solution<?> sol = (Solution<?>) right;
+    return getNumberOfVariables() == sol.getNumberOfVariables() && getNumberOfObjectives() == sol.getNumberOfObjectives()
+            && equalVariables(sol) && equalObjectives(sol);
+  }
+
+  /**
+   * Hash code of the solution, derived from the fingerprint of its genome.
+   * Equal solutions have the same hash code.
+   */
+  @Override
+  public int hashCode() {
+    long h = fingerprint();
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * Returns a 64-bit fingerprint of the genome. Solutions with the same
+   * variables have the same fingerprint, and different genomes collide with
+   * a negligible probability. This implementation walks the variables on
+   * each call; primitive solutions maintain it as genes are written.
+   * @return The fingerprint.
+   */
+  public long fingerprint() {
+    long h = 0;
+    for (int i = 0; i < getNumberOfVariables(); ++i) {
+      Object value = getVariable(i).getValue();
+      long bits;
+      if (value instanceof Double) {
+        bits = Double.doubleToLongBits((Double) value);
+      } else {
+        bits = (value == null) ? 0 : value.hashCode();
+      }
+      h += mix(i, bits);
+    }
+    return h;
+  }
+
+  /**
+   * Hash of one gene. The fingerprint is the sum of the hashes of all the
+   * genes, so it can be updated when a single gene changes.
+   * @param idx Index of the gene.
+   * @param bits Bits of the value of the gene.
+   * @return The hash of the gene.
+   */
+  protected static long mix(int idx, long bits) {
+    long z = bits + (idx + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Checks whether the variables of both solutions are the same.
+   * @param sol Solution to compare.
+   * @return true if every shared variable has the same value.
+   */
+  public boolean equalVariables(Solution<?> sol) {
+    int nVar = Math.min(getNumberOfVariables(), sol.getNumberOfVariables());
     for (int i = 0; i < nVar; ++i) {
       if (!this.getVariable(i).equals(sol.getVariable(i))) {
         return false;
       }
     }
-    int nObj = Math.min(objectives.size(), sol.objectives.size());
+    return true;
+  }
 
+  /**
+   * Checks whether the objectives of both solutions are the same.
+   * @param sol Solution to compare.
+   * @return true if every shared objective has the same value.
+   */
+  protected boolean equalObjectives(Solution<?> sol) {
+    int nObj = Math.min(getNumberOfObjectives(), sol.getNumberOfObjectives());
     for (int i = 0; i < nObj; ++i) {
-      if (!this.getObjective(i).equals(sol.getObjective(i))) {
+      if (Double.compare(getObjectiveValue(i), sol.getObjectiveValue(i)) != 0) {
         return false;
       }
     }
@@ -147,9 +524,575 @@ public class Solution<V extends Variable<?>> {
   @Override
   public String toString() {
     StringBuilder buffer = new StringBuilder();
-    for (int i = 0; i < this.objectives.size(); ++i) {
-      buffer.append(objectives.get(i)).append(" ");
+    for (int i = 0; i < getNumberOfObjectives(); ++i) {
+      buffer.append(getObjectiveValue(i)).append(" ");
     }
     return buffer.toString();
   }
+
+  /**
+   * List of the objectives of a solution. It is an <code>ArrayList</code>
+   * for compatibility with existing code, but every operation goes through
+   * the accessors of the solution, so the list and the solution never
+   * diverge. It is serialized as a plain <code>ArrayList</code>.
+   */
+  private static class ObjectiveList extends ArrayList<Double> {
+
+    private static final long serialVersionUID = 1L;
+    /**
+     * View that implements the list operations.
+     */
+    private final transient List<Double> view;
+
+    ObjectiveList(final Solution<?> solution) {
+      super(0);
+      view = new AbstractList<Double>() {
+        @Override
+        public Double get(int idx) {
+          checkIndex(idx, size());
+          return solution.getObjectiveValue(idx);
+        }
+
+        @Override
+        public Double set(int idx, Double value) {
+          checkIndex(idx, size());
+          double old = solution.getObjectiveValue(idx);
+          solution.setObjective(idx, value);
+          return old;
+        }
+
+        @Override
+        public void add(int idx, Double value) {
+          checkIndex(idx, size() + 1);
+          solution.insertObjective(idx, value);
+          modCount++;
+        }
+
+        @Override
+        public Double remove(int idx) {
+          checkIndex(idx, size());
+          double old = solution.getObjectiveValue(idx);
+          solution.removeObjective(idx);
+          modCount++;
+          return old;
+        }
+
+        @Override
+        public int size() {
+          return solution.getNumberOfObjectives();
+        }
+      };
+    }
+
+    /**
+     * Checks an index.
+     * @param idx The index.
+     * @param size Number of valid indices.
+     */
+    private static void checkIndex(int idx, int size) {
+      if (idx < 0 || idx >= size) {
+        throw new IndexOutOfBoundsException("Index: " + idx + ", Size: " + size);
+      }
+    }
+
+    private Object writeReplace() {
+      return new ArrayList<Double>(view);
+    }
+
+    @Override
+    public int size() {
+      return view.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return view.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return view.contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+      return view.indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+      return view.lastIndexOf(o);
+    }
+
+    @Override
+    public Object clone() {
+      return new ArrayList<Double>(view);
+    }
+
+    @Override
+    public Object[] toArray() {
+      return view.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+      return view.toArray(a);
+    }
+
+    @Override
+    public Double get(int idx) {
+      return view.get(idx);
+    }
+
+    @Override
+    public Double getFirst() {
+      return view.getFirst();
+    }
+
+    @Override
+    public Double getLast() {
+      return view.getLast();
+    }
+
+    @Override
+    public Double set(int idx, Double value) {
+      return view.set(idx, value);
+    }
+
+    @Override
+    public boolean add(Double value) {
+      return view.add(value);
+    }
+
+    @Override
+    public void add(int idx, Double value) {
+      view.add(idx, value);
+    }
+
+    @Override
+    public void addFirst(Double value) {
+      view.addFirst(value);
+    }
+
+    @Override
+    public void addLast(Double value) {
+      view.addLast(value);
+    }
+
+    @Override
+    public Double remove(int idx) {
+      return view.remove(idx);
+    }
+
+    @Override
+    public Double removeFirst() {
+      return view.removeFirst();
+    }
+
+    @Override
+    public Double removeLast() {
+      return view.removeLast();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      return view.remove(o);
+    }
+
+    @Override
+    public void clear() {
+      view.clear();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Double> c) {
+      return view.addAll(c);
+    }
+
+    @Override
+    public boolean addAll(int idx, Collection<? extends Double> c) {
+      return view.addAll(idx, c);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+      view.subList(fromIndex, toIndex).clear();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+      return view.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+      return view.retainAll(c);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Double> filter) {
+      return view.removeIf(filter);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<Double> operator) {
+      view.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(Comparator<? super Double> c) {
+      view.sort(c);
+    }
+
+    @Override
+    public Iterator<Double> iterator() {
+      return view.iterator();
+    }
+
+    @Override
+    public ListIterator<Double> listIterator() {
+      return view.listIterator();
+    }
+
+    @Override
+    public ListIterator<Double> listIterator(int idx) {
+      return view.listIterator(idx);
+    }
+
+    @Override
+    public List<Double> subList(int fromIndex, int toIndex) {
+      return view.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Double> action) {
+      view.forEach(action);
+    }
+
+    @Override
+    public Spliterator<Double> spliterator() {
+      return view.spliterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return view.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+      return view.hashCode();
+    }
+  }
+
+  /**
+   * Map of the properties of a solution. It is a <code>HashMap</code> for
+   * compatibility with existing code, but every operation goes through the
+   * solution: registered names are read and written in their slots, and the
+   * other ones in the map of unregistered properties. It is serialized as a
+   * plain <code>HashMap</code>.
+   */
+  private static class PropertyMap extends HashMap<String, Number> {
+
+    private static final long serialVersionUID = 1L;
+    /**
+     * View that implements the map operations.
+     */
+    private final transient Map<String, Number> view;
+
+    PropertyMap(final Solution<?> solution) {
+      super(0);
+      view = new AbstractMap<String, Number>() {
+        @Override
+        public Number get(Object name) {
+          PropertyKey<?> key = keyOf(name);
+          if (key == null) {
+            return solution.properties.get(name);
+          }
+          return solution.hasProperty(key) ? key.box(solution.getProperty(key)) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object name) {
+          PropertyKey<?> key = keyOf(name);
+          return (key == null) ? solution.properties.containsKey(name) : solution.hasProperty(key);
+        }
+
+        @Override
+        public Number put(String name, Number value) {
+          PropertyKey<?> key = keyOf(name);
+          if (key == null) {
+            return solution.properties.put(name, value);
+          }
+          Number old = get(name);
+          solution.setProperty(key, value.doubleValue());
+          return old;
+        }
+
+        @Override
+        public Number remove(Object name) {
+          PropertyKey<?> key = keyOf(name);
+          if (key == null) {
+            return solution.properties.remove(name);
+          }
+          Number old = get(name);
+          solution.clearProperty(key);
+          return old;
+        }
+
+        @Override
+        public void clear() {
+          solution.properties.clear();
+          if (solution.propertySlots != null) {
+            Arrays.fill(solution.propertySlots, 0.0);
+            Arrays.fill(solution.propertySet, false);
+          }
+        }
+
+        @Override
+        public Set<Map.Entry<String, Number>> entrySet() {
+          return new AbstractSet<Map.Entry<String, Number>>() {
+            @Override
+            public Iterator<Map.Entry<String, Number>> iterator() {
+              solution.migrateProperties();
+              return new EntryIterator(solution);
+            }
+
+            @Override
+            public int size() {
+              solution.migrateProperties();
+              int size = solution.properties.size();
+              if (solution.propertySet != null) {
+                for (boolean set : solution.propertySet) {
+                  if (set) {
+                    size++;
+                  }
+                }
+              }
+              return size;
+            }
+          };
+        }
+      };
+    }
+
+    /**
+     * Finds the registered key of a name.
+     * @param name The name.
+     * @return The key, or null if the name is not a registered one.
+     */
+    private static PropertyKey<?> keyOf(Object name) {
+      return (name instanceof String) ? PropertyKey.get((String) name) : null;
+    }
+
+    private Object writeReplace() {
+      return new HashMap<String, Number>(view);
+    }
+
+    @Override
+    public int size() {
+      return view.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return view.isEmpty();
+    }
+
+    @Override
+    public Number get(Object name) {
+      return view.get(name);
+    }
+
+    @Override
+    public Number getOrDefault(Object name, Number defaultValue) {
+      return view.getOrDefault(name, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+      return view.containsKey(name);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+      return view.containsValue(value);
+    }
+
+    @Override
+    public Number put(String name, Number value) {
+      return view.put(name, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Number> m) {
+      view.putAll(m);
+    }
+
+    @Override
+    public Number remove(Object name) {
+      return view.remove(name);
+    }
+
+    @Override
+    public boolean remove(Object name, Object value) {
+      return view.remove(name, value);
+    }
+
+    @Override
+    public void clear() {
+      view.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+      return view.keySet();
+    }
+
+    @Override
+    public Collection<Number> values() {
+      return view.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Number>> entrySet() {
+      return view.entrySet();
+    }
+
+    @Override
+    public Number putIfAbsent(String name, Number value) {
+      return view.putIfAbsent(name, value);
+    }
+
+    @Override
+    public boolean replace(String name, Number oldValue, Number newValue) {
+      return view.replace(name, oldValue, newValue);
+    }
+
+    @Override
+    public Number replace(String name, Number value) {
+      return view.replace(name, value);
+    }
+
+    @Override
+    public Number computeIfAbsent(String name, Function<? super String, ? extends Number> mappingFunction) {
+      return view.computeIfAbsent(name, mappingFunction);
+    }
+
+    @Override
+    public Number computeIfPresent(String name, BiFunction<? super String, ? super Number, ? extends Number> remappingFunction) {
+      return view.computeIfPresent(name, remappingFunction);
+    }
+
+    @Override
+    public Number compute(String name, BiFunction<? super String, ? super Number, ? extends Number> remappingFunction) {
+      return view.compute(name, remappingFunction);
+    }
+
+    @Override
+    public Number merge(String name, Number value, BiFunction<? super Number, ? super Number, ? extends Number> remappingFunction) {
+      return view.merge(name, value, remappingFunction);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Number> action) {
+      view.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Number, ? extends Number> function) {
+      view.replaceAll(function);
+    }
+
+    @Override
+    public Object clone() {
+      return new HashMap<String, Number>(view);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return view.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+      return view.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return view.toString();
+    }
+  }
+
+  /**
+   * Iterator over the properties of a solution: first the registered ones
+   * that are set, then the unregistered ones.
+   */
+  private static class EntryIterator implements Iterator<Map.Entry<String, Number>> {
+    private final Solution<?> solution;
+    private final Iterator<Map.Entry<String, Number>> others;
+    private int next = -1;
+    private PropertyKey<?> last = null;
+    private boolean lastIsOther = false;
+
+    EntryIterator(Solution<?> solution) {
+      this.solution = solution;
+      this.others = solution.properties.entrySet().iterator();
+      advance();
+    }
+
+    /**
+     * Moves to the next set slot.
+     */
+    private void advance() {
+      boolean[] set = solution.propertySet;
+      do {
+        next++;
+      } while (set != null && next < set.length && !set[next]);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return (solution.propertySet != null && next < solution.propertySet.length) || others.hasNext();
+    }
+
+    @Override
+    public Map.Entry<String, Number> next() {
+      if (solution.propertySet != null && next < solution.propertySet.length) {
+        final PropertyKey<?> key = PropertyKey.keys()[next];
+        advance();
+        last = key;
+        lastIsOther = false;
+        return new AbstractMap.SimpleEntry<String, Number>(key.getName(), key.box(solution.propertySlots[key.index])) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          public Number setValue(Number value) {
+            solution.setProperty(key, value.doubleValue());
+            return super.setValue(value);
+          }
+        };
+      }
+      if (!others.hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = null;
+      lastIsOther = true;
+      return others.next();
+    }
+
+    @Override
+    public void remove() {
+      if (lastIsOther) {
+        others.remove();
+      } else if (last != null) {
+        solution.clearProperty(last);
+      } else {
+        throw new IllegalStateException();
+      }
+      last = null;
+      lastIsOther = false;
+    }
+  }
 }
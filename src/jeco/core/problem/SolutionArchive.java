@@ -0,0 +1,62 @@
+/*
+* File: SolutionArchive.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+/**
+ * Archive of non-dominated solutions, updated one solution at a time.
+ *
+ * @param <V> Type of the variables of the solutions.
+ */
+public interface SolutionArchive<V extends Variable<?>> {
+
+  /**
+   * Offers a solution to the archive. The archive decides whether the
+   * solution is kept and which members it replaces.
+   * @param solution Solution to add. It is stored, not copied.
+   * @return true if the solution has been added.
+   */
+  boolean add(Solution<V> solution);
+
+  /**
+   * Removes a solution (by identity).
+   * @param solution Solution to remove.
+   * @return true if the solution was in the archive.
+   */
+  boolean remove(Solution<V> solution);
+
+  /**
+   * Removes all the solutions.
+   */
+  void clear();
+
+  /**
+   * Get the number of solutions in the archive.
+   * @return Number of solutions.
+   */
+  int size();
+
+  /**
+   * Returns the solutions of the archive in a new set. Changes in the set
+   * do not change the archive.
+   * @return The solutions.
+   */
+  Solutions<V> getSolutions();
+}
@@ -0,0 +1,159 @@
+/*
+* File: SolutionPool.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pool of discarded solutions. Algorithms release the solutions they drop in
+ * each generation, and operators obtain copies of the parents from the pool,
+ * so the storage of the discarded solutions is reused by the next offspring
+ * instead of being collected by the GC.
+ *
+ * A solution must not be released while it is still referenced by the
+ * algorithm or by the user. The pool is not thread safe: use one pool per
+ * algorithm (or per thread).
+ *
+ * Solutions dropped by the pool (beyond its capacity, or when it is
+ * cleared) are left to the GC, except {@link OffHeapSolution} views, whose
+ * rows are released to their set at once.
+ *
+ * @param <V> Type of the variables of the solutions.
+ */
+public class SolutionPool<V extends Variable<?>> {
+
+  /**
+   * Released solutions.
+   */
+  protected ArrayDeque<Solution<V>> free = new ArrayDeque<Solution<V>>();
+  /**
+   * Maximum number of solutions kept in the pool.
+   */
+  protected int capacity;
+
+  /**
+   * Constructor.
+   * @param capacity Maximum number of solutions kept in the pool.
+   */
+  public SolutionPool(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Constructor of a pool without size limit.
+   */
+  public SolutionPool() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns a copy of a solution, recycling a released solution when
+   * possible.
+   * @param source Solution to copy.
+   * @return The copy.
+   */
+  public Solution<V> copyOf(Solution<V> source) {
+    Solution<V> recycled = free.pollLast();
+    if (recycled != null) {
+      if (source.copyTo(recycled)) {
+        return recycled;
+      }
+      // It cannot hold this source, but it may hold the next one
+      free.addFirst(recycled);
+    }
+    return source.clone();
+  }
+
+  /**
+   * Releases a solution that is no longer used.
+   * @param solution The solution.
+   */
+  public void release(Solution<V> solution) {
+    if (free.size() < capacity) {
+      free.addLast(solution);
+    } else {
+      drop(solution);
+    }
+  }
+
+  /**
+   * Releases all the solutions of a set.
+   * @param solutions The solutions.
+   */
+  public void releaseAll(List<Solution<V>> solutions) {
+    for (Solution<V> solution : solutions) {
+      release(solution);
+    }
+  }
+
+  /**
+   * Releases the solutions of a set that are not in another one (by
+   * reference). It is used after a reduction, with the set before and after
+   * reducing.
+   * @param all Solutions before the reduction.
+   * @param kept Solutions after the reduction.
+   */
+  public void releaseDiscarded(List<Solution<V>> all, List<Solution<V>> kept) {
+    Set<Solution<V>> seen = Collections.newSetFromMap(new IdentityHashMap<Solution<V>, Boolean>());
+    seen.addAll(kept);
+    for (Solution<V> solution : all) {
+      if (seen.add(solution)) {
+        release(solution);
+      }
+    }
+  }
+
+  /**
+   * Number of solutions available in the pool.
+   * @return Number of solutions.
+   */
+  public int size() {
+    return free.size();
+  }
+
+  /**
+   * Removes all the solutions of the pool.
+   */
+  public void clear() {
+    for (Solution<V> solution : free) {
+      drop(solution);
+    }
+    free.clear();
+  }
+
+  /**
+   * Drops a solution that is not kept by the pool, freeing its row if it is
+   * stored off the heap.
+   * @param solution The solution.
+   */
+  private void drop(Solution<V> solution) {
+    if (solution instanceof OffHeapSolution) {
+      OffHeapSolution view = (OffHeapSolution) solution;
+      if (view.getStorage() != null) {
+        view.getStorage().release(view);
+      }
+    }
+  }
+}
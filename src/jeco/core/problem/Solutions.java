@@ -28,6 +28,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 
+import jeco.core.operator.comparator.SolutionDominance;
+
 /**
  * Class representing a set of solutions in a problem.
  * @param <V> Type of the variables.
@@ -41,14 +43,24 @@ public class Solutions<V extends Variable<?>> extends ArrayList<Solution<V>> {
     super();
   }
 
+  /**
+   * Minimum size of a set reduced with an ND-Tree instead of pairwise
+   * comparisons.
+   */
+  private static final int TREE_THRESHOLD = 64;
+
   /**
    * Keep this set of solutions non-dominated. Returns the set of dominated
-   * solutions.
+   * solutions. Large sets compared with Pareto dominance are reduced with an
+   * {@link NDTreeArchive}.
    *
    * @param comparator Comparator used.
    * @return The set of dominated solutions.
    */
   public Solutions<V> reduceToNonDominated(Comparator<Solution<V>> comparator) {
+    if (size() > TREE_THRESHOLD && comparator.getClass() == SolutionDominance.class && sameNumberOfObjectives()) {
+      return NDTreeArchive.reduceToNonDominated(this);
+    }
     Solutions<V> rest = new Solutions<V>();
     int compare;
     Solution<V> solI;
@@ -73,6 +85,50 @@ public class Solutions<V extends Variable<?>> extends ArrayList<Solution<V>> {
     return rest;
   }
 
+  /**
+   * Checks whether all the solutions have the same number of objectives.
+   * @return true if they have.
+   */
+  private boolean sameNumberOfObjectives() {
+    for (Solution<V> solution : this) {
+      if (solution.getNumberOfObjectives() != get(0).getNumberOfObjectives()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds a solution to this set, which must be non-dominated, and keeps it
+   * non-dominated. The solution is rejected if a member dominates it or is
+   * equal to it; otherwise the members it dominates are removed. This is the
+   * incremental version of <code>reduceToNonDominated</code>: it costs one
+   * comparison per member instead of a full reduction of the set.
+   *
+   * @param solution Solution to add.
+   * @param comparator Comparator used.
+   * @return true if the solution has been added.
+   */
+  public boolean addNonDominated(Solution<V> solution, Comparator<Solution<V>> comparator) {
+    boolean add = true;
+    int kept = 0;
+    for (int i = 0; i < size(); i++) {
+      Solution<V> member = get(i);
+      int compare = add ? comparator.compare(member, solution) : -1;
+      if (compare < 0 || (compare == 0 && member.equals(solution))) {
+        add = false;
+      }
+      if (compare <= 0) { // member is not dominated
+        set(kept++, member);
+      }
+    }
+    subList(kept, size()).clear();
+    if (add) {
+      add(solution);
+    }
+    return add;
+  }
+
   @Override
   public String toString() {
     StringBuilder buffer = new StringBuilder();
@@ -59,6 +59,6 @@ public class Variable<T> {
 	@Override
     public boolean equals(Object right) {
         Variable<T> var = (Variable<T>)right;
-        return this.value.equals(var.value);
+        return this.getValue().equals(var.getValue());
     }
 }
@@ -0,0 +1,144 @@
+/*
+* File: VectorDominanceKernel.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.problem;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Pareto dominance with the Vector API. This class is only loaded by
+ * {@link DominanceKernel} when the <code>jdk.incubator.vector</code> module
+ * is present.
+ *
+ * A pair of long vectors is compared one register of objectives at a time.
+ * A block of rows is compared one register of rows at a time: objective k of
+ * the compared row is broadcast and checked against objective k of every row
+ * in the register, so the lanes hold different rows and the method also
+ * pays off with few objectives.
+ */
+final class VectorDominanceKernel {
+
+  /**
+   * Preferred vector shape of the platform.
+   */
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+  private VectorDominanceKernel() {
+  }
+
+  /**
+   * Number of objectives per vector.
+   * @return Number of lanes.
+   */
+  static int length() {
+    return SPECIES.length();
+  }
+
+  /**
+   * Compares two objective vectors, one register of objectives at a time.
+   * @param a Array with the first vector.
+   * @param offsetA Position of the first vector in <code>a</code>.
+   * @param b Array with the second vector.
+   * @param offsetB Position of the second vector in <code>b</code>.
+   * @param m Number of objectives.
+   * @return -1 if the first vector dominates the second one, 1 if the second
+   * one dominates the first one, 0 otherwise.
+   */
+  static int compare(double[] a, int offsetA, double[] b, int offsetB, int m) {
+    boolean bigger = false;
+    boolean smaller = false;
+    int bound = SPECIES.loopBound(m);
+    int k = 0;
+    for (; k < bound; k += SPECIES.length()) {
+      DoubleVector va = DoubleVector.fromArray(SPECIES, a, offsetA + k);
+      DoubleVector vb = DoubleVector.fromArray(SPECIES, b, offsetB + k);
+      bigger |= va.compare(VectorOperators.GT, vb).anyTrue();
+      smaller |= va.compare(VectorOperators.LT, vb).anyTrue();
+      if (bigger && smaller) {
+        return 0;
+      }
+    }
+    for (; k < m; ++k) {
+      double za = a[offsetA + k];
+      double zb = b[offsetB + k];
+      if (za > zb) {
+        bigger = true;
+      } else if (za < zb) {
+        smaller = true;
+      }
+      if (bigger && smaller) {
+        return 0;
+      }
+    }
+    if (smaller) {
+      return -1;
+    } else if (bigger) {
+      return 1;
+    }
+    return 0;
+  }
+
+  /**
+   * Compares one row of a row-major objective matrix with a block of rows,
+   * one register of rows at a time. The rows left over at the end of the
+   * block are compared with the scalar loop.
+   * @param objectives Objectives, row-major.
+   * @param m Number of objectives per row.
+   * @param row Row compared.
+   * @param from First row of the block.
+   * @param to Row after the last one of the block.
+   * @param result Relation of <code>row</code> with each row of the block,
+   * stored from <code>result[0]</code>, as in
+   * {@link DominanceKernel#compare(double[], int, int, int, int, int[])}.
+   */
+  static void compare(double[] objectives, int m, int row, int from, int to, int[] result) {
+    int lanes = SPECIES.length();
+    int[] rowOffsets = new int[lanes];
+    for (int l = 0; l < lanes; ++l) {
+      rowOffsets[l] = l * m;
+    }
+    int offset = row * m;
+    int j = from;
+    for (; j + lanes <= to; j += lanes) {
+      VectorMask<Double> bigger = SPECIES.maskAll(false);
+      VectorMask<Double> smaller = SPECIES.maskAll(false);
+      for (int k = 0; k < m; ++k) {
+        DoubleVector others = DoubleVector.fromArray(SPECIES, objectives, j * m + k, rowOffsets, 0);
+        double za = objectives[offset + k];
+        bigger = bigger.or(others.compare(VectorOperators.LT, za));
+        smaller = smaller.or(others.compare(VectorOperators.GT, za));
+        if (bigger.and(smaller).allTrue()) {
+          break;
+        }
+      }
+      for (int l = 0; l < lanes; ++l) {
+        boolean b = bigger.laneIsSet(l);
+        boolean s = smaller.laneIsSet(l);
+        result[j - from + l] = (s == b) ? 0 : (s ? -1 : 1);
+      }
+    }
+    for (; j < to; ++j) {
+      result[j - from] = DominanceKernel.compareScalar(objectives, offset, objectives, j * m, m);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+* File: IndexSort.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.util;
+
+/**
+ * Stable sort of an array of indices by a key that the caller compares, so
+ * that indices can be sorted by the values of primitive arrays without
+ * boxing them. Short ranges are sorted by insertion, and the merge is
+ * skipped when both halves are already in order.
+ */
+public final class IndexSort {
+
+  /**
+   * Ranges of at most this length are sorted by insertion.
+   */
+  private static final int INSERTION_THRESHOLD = 16;
+
+  /**
+   * Order of two indices.
+   */
+  public interface IndexComparator {
+    /**
+     * Compares two indices.
+     * @param i First index.
+     * @param j Second index.
+     * @return Negative, zero or positive, as a comparator.
+     */
+    int compare(int i, int j);
+  }
+
+  private IndexSort() {
+  }
+
+  /**
+   * Sorts an array of indices. Indices that compare equal keep their order.
+   * @param order Indices to sort.
+   * @param comparator Order of the indices.
+   */
+  public static void sort(int[] order, IndexComparator comparator) {
+    mergeSort(order, new int[order.length], 0, order.length, comparator);
+  }
+
+  /**
+   * Merge sort of a range of an index array.
+   * @param order Index array.
+   * @param buffer Auxiliary array, as long as order.
+   * @param from First position of the range.
+   * @param to Position after the range.
+   * @param comparator Order of the indices.
+   */
+  private static void mergeSort(int[] order, int[] buffer, int from, int to, IndexComparator comparator) {
+    if (to - from <= INSERTION_THRESHOLD) {
+      for (int i = from + 1; i < to; ++i) {
+        int value = order[i];
+        int j = i - 1;
+        while (j >= from && comparator.compare(order[j], value) > 0) {
+          order[j + 1] = order[j];
+          j--;
+        }
+        order[j + 1] = value;
+      }
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    mergeSort(order, buffer, from, middle, comparator);
+    mergeSort(order, buffer, middle, to, comparator);
+    if (comparator.compare(order[middle - 1], order[middle]) <= 0) {
+      return;
+    }
+    System.arraycopy(order, from, buffer, from, to - from);
+    int left = from;
+    int right = middle;
+    for (int k = from; k < to; ++k) {
+      if (right >= to || (left < middle && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+        order[k] = buffer[left++];
+      } else {
+        order[k] = buffer[right++];
+      }
+    }
+  }
+}
@@ -0,0 +1,296 @@
+/*
+* File: HyperVolume.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.util.indicator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exact hypervolume of a set of points (minimization), that is, the volume
+ * of the region dominated by the points and bounded by a reference point.
+ * The algorithm depends on the number of objectives:
+ * <ul>
+ * <li>2 objectives: sort and sweep, O(n log n).</li>
+ * <li>3 objectives: sweep along the third objective keeping the 2D front in
+ * a balanced tree, O(n log n) (Beume et al., 2009).</li>
+ * <li>4 or more objectives: WFG (While, Bradstreet and Barone, 2012). Points
+ * are processed by decreasing value of the last objective, so that each
+ * exclusive contribution is a slice whose volume is computed in one
+ * dimension less, down to the 3D case.</li>
+ * </ul>
+ * Points are plain <code>double[]</code> arrays; only the first M
+ * coordinates are used, M being the length of the reference point.
+ */
+public class HyperVolume {
+
+  /**
+   * Computes the hypervolume of a set of points. Points that do not strictly
+   * dominate the reference point do not contribute and are ignored, as well
+   * as dominated and repeated points. The points are not modified.
+   * @param points Points, minimization.
+   * @param reference Reference point.
+   * @return The hypervolume.
+   */
+  public static double compute(double[][] points, double[] reference) {
+    int m = reference.length;
+    double[][] inside = new double[points.length][];
+    int n = 0;
+    for (double[] point : points) {
+      if (strictlyDominates(point, reference, m)) {
+        inside[n++] = point;
+      }
+    }
+    return hypervolume(inside, n, reference, m);
+  }
+
+  /**
+   * Hypervolume of the first n points, in the first m objectives. All the
+   * points strictly dominate the reference point.
+   * @param points Points. They may be reordered.
+   * @param n Number of points.
+   * @param reference Reference point.
+   * @param m Number of objectives.
+   * @return The hypervolume.
+   */
+  static double hypervolume(double[][] points, int n, double[] reference, int m) {
+    if (n == 0) {
+      return 0;
+    }
+    if (m == 1) {
+      double min = points[0][0];
+      for (int i = 1; i < n; ++i) {
+        min = Math.min(min, points[i][0]);
+      }
+      return reference[0] - min;
+    }
+    if (n == 1) {
+      return inclusive(points[0], reference, m);
+    }
+    if (m == 2) {
+      return hypervolume2D(points, n, reference);
+    }
+    if (m == 3) {
+      return hypervolume3D(points, n, reference);
+    }
+    return wfg(points, n, reference, m);
+  }
+
+  /**
+   * Volume of the box between a point and the reference point.
+   * @param point The point.
+   * @param reference Reference point.
+   * @param m Number of objectives.
+   * @return The volume.
+   */
+  static double inclusive(double[] point, double[] reference, int m) {
+    double volume = 1;
+    for (int k = 0; k < m; ++k) {
+      volume *= reference[k] - point[k];
+    }
+    return volume;
+  }
+
+  /**
+   * Two objectives: sort by the first one and sweep.
+   * @param points Points. They are reordered.
+   * @param n Number of points.
+   * @param reference Reference point.
+   * @return The hypervolume.
+   */
+  private static double hypervolume2D(double[][] points, int n, double[] reference) {
+    Arrays.sort(points, 0, n, LEXICOGRAPHIC_2D);
+    double volume = 0;
+    double lastY = reference[1];
+    for (int i = 0; i < n; ++i) {
+      double[] point = points[i];
+      if (point[1] < lastY) {
+        volume += (reference[0] - point[0]) * (lastY - point[1]);
+        lastY = point[1];
+      }
+    }
+    return volume;
+  }
+
+  /**
+   * Three objectives: sweep by increasing value of the third objective,
+   * keeping the non-dominated 2D front of the points already seen (x
+   * increasing, y decreasing) and its area. The points dominated by a new
+   * point are removed, subtracting their exclusive rectangles, and the
+   * exclusive rectangle of the new point between its neighbours is added.
+   * @param points Points. They are reordered.
+   * @param n Number of points.
+   * @param reference Reference point.
+   * @return The hypervolume.
+   */
+  private static double hypervolume3D(double[][] points, int n, double[] reference) {
+    Arrays.sort(points, 0, n, new Comparator<double[]>() {
+      @Override
+      public int compare(double[] left, double[] right) {
+        return Double.compare(left[2], right[2]);
+      }
+    });
+    TreeMap<Double, Double> front = new TreeMap<Double, Double>();
+    double area = 0;
+    double volume = 0;
+    for (int i = 0; i < n; ++i) {
+      double x = points[i][0];
+      double y = points[i][1];
+      Map.Entry<Double, Double> floor = front.floorEntry(x);
+      if (floor == null || floor.getValue() > y) {
+        Map.Entry<Double, Double> lower = front.lowerEntry(x);
+        double top = (lower == null) ? reference[1] : lower.getValue();
+        Map.Entry<Double, Double> ceiling = front.ceilingEntry(x);
+        while (ceiling != null && ceiling.getValue() >= y) {
+          Map.Entry<Double, Double> next = front.higherEntry(ceiling.getKey());
+          double nextX = (next == null) ? reference[0] : next.getKey();
+          area -= (nextX - ceiling.getKey()) * (top - ceiling.getValue());
+          front.remove(ceiling.getKey());
+          ceiling = next;
+        }
+        double right = (ceiling == null) ? reference[0] : ceiling.getKey();
+        area += (right - x) * (top - y);
+        front.put(x, y);
+      }
+      double nextZ = (i + 1 < n) ? points[i + 1][2] : reference[2];
+      volume += area * (nextZ - points[i][2]);
+    }
+    return volume;
+  }
+
+  /**
+   * WFG algorithm. Points are sorted by decreasing value of the last
+   * objective, so that the points after a given one are not worse in that
+   * objective. The exclusive contribution of each point with respect to the
+   * following ones is then the slice between its last objective and the
+   * reference point, times the exclusive contribution of its projection
+   * with respect to the projected limit set.
+   * @param points Points. They are reordered.
+   * @param n Number of points.
+   * @param reference Reference point.
+   * @param m Number of objectives.
+   * @return The hypervolume.
+   */
+  private static double wfg(double[][] points, int n, double[] reference, int m) {
+    final int last = m - 1;
+    Arrays.sort(points, 0, n, new Comparator<double[]>() {
+      @Override
+      public int compare(double[] left, double[] right) {
+        return Double.compare(right[last], left[last]);
+      }
+    });
+    double volume = 0;
+    double[][] limited = new double[n][];
+    for (int i = 0; i < n; ++i) {
+      double[] point = points[i];
+      double depth = reference[last] - point[last];
+      int size = limitSet(points, i, n, last, limited);
+      double excluded = hypervolume(limited, size, reference, last);
+      volume += depth * (inclusive(point, reference, last) - excluded);
+    }
+    return volume;
+  }
+
+  /**
+   * Builds the limit set of a point in the first m objectives: the points
+   * after it, limited to be not better than it, keeping only the
+   * non-dominated ones.
+   * @param points Points.
+   * @param i Index of the point.
+   * @param n Number of points.
+   * @param m Number of objectives.
+   * @param limited Limit set (output).
+   * @return Size of the limit set.
+   */
+  private static int limitSet(double[][] points, int i, int n, int m, double[][] limited) {
+    double[] point = points[i];
+    int size = 0;
+    for (int j = i + 1; j < n; ++j) {
+      double[] other = points[j];
+      double[] worse = new double[m];
+      for (int k = 0; k < m; ++k) {
+        worse[k] = Math.max(point[k], other[k]);
+      }
+      boolean dominated = false;
+      int kept = 0;
+      for (int s = 0; s < size; ++s) {
+        double[] member = limited[s];
+        if (!dominated && weaklyDominates(member, worse, m)) {
+          dominated = true;
+        }
+        if (dominated || !weaklyDominates(worse, member, m)) {
+          limited[kept++] = member;
+        }
+      }
+      size = kept;
+      if (!dominated) {
+        limited[size++] = worse;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Checks weak dominance in the first m objectives.
+   * @param left First point.
+   * @param right Second point.
+   * @param m Number of objectives.
+   * @return true if the first point is not worse than the second one in any
+   * objective.
+   */
+  static boolean weaklyDominates(double[] left, double[] right, int m) {
+    for (int k = 0; k < m; ++k) {
+      if (left[k] > right[k]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks strict dominance in the first m objectives.
+   * @param left First point.
+   * @param right Second point.
+   * @param m Number of objectives.
+   * @return true if the first point is better than the second one in all
+   * the objectives.
+   */
+  static boolean strictlyDominates(double[] left, double[] right, int m) {
+    for (int k = 0; k < m; ++k) {
+      if (!(left[k] < right[k])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Order by the first objective, then by the second one.
+   */
+  private static final Comparator<double[]> LEXICOGRAPHIC_2D = new Comparator<double[]>() {
+    @Override
+    public int compare(double[] left, double[] right) {
+      int compare = Double.compare(left[0], right[0]);
+      return (compare != 0) ? compare : Double.compare(left[1], right[1]);
+    }
+  };
+}
@@ -0,0 +1,550 @@
+/*
+* File: HyperVolumeContributions.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.util.indicator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import jeco.core.util.IndexSort;
+
+/**
+ * Exclusive hypervolume contributions (minimization) of a set of mutually
+ * non-dominated points, updated when one point is added or removed. The
+ * contribution of a point is the volume dominated by it and by no other
+ * point of the set.
+ *
+ * Contributions are cached and only the ones that can change are marked
+ * dirty and recomputed when they are queried:
+ * <ul>
+ * <li>2 objectives: the points are kept sorted by the first objective, and
+ * the contribution of a point is the rectangle between it and its two
+ * neighbours. Adding or removing a point only changes its neighbours, so an
+ * update costs O(log n).</li>
+ * <li>3 objectives: any change makes all the contributions stale, and the
+ * next query recomputes all of them in one sweep along the third objective,
+ * keeping the 2D staircase of the points swept. The exclusive slice of a
+ * point in the staircase is the rectangle between its two neighbours minus
+ * the quadrants of the points it removed from the staircase, and a new point
+ * only changes the slices of itself and its neighbours, so each point's
+ * contribution is accumulated as the sweep goes. An update costs
+ * O(n log n), as computing the hypervolume once.</li>
+ * <li>4 or more objectives: adding or removing a point q can only change the
+ * contribution of a point p if the corner <code>max(p, q)</code> is not
+ * weakly dominated by a third point. Finding those points compares every
+ * pair, O(n^2 M) per update in the worst case, although the search for a
+ * third point usually stops early. Each of them is recomputed when queried
+ * as the volume of its box minus the hypervolume of its limit set, with
+ * {@link HyperVolume}, whose cost grows exponentially with M.</li>
+ * </ul>
+ * Changing the reference point only changes the contributions whose
+ * exclusive region reaches a changed coordinate of it. With 2 objectives
+ * those are the two extreme points, and with 3 the next sweep recomputes
+ * them all. With more objectives, a point p is left unchanged
+ * in objective k if another point is not worse than p in the other
+ * objectives and is not above the old and new reference in k, which takes
+ * O(n^2 M) to check; the extreme points of the front are usually the only
+ * ones marked.
+ * Points are identified by the index returned by {@link #add(double[])}.
+ */
+public class HyperVolumeContributions {
+
+  /**
+   * Number of objectives.
+   */
+  protected int numberOfObjectives;
+  /**
+   * Reference point.
+   */
+  protected double[] reference;
+  /**
+   * Points by index, null if removed.
+   */
+  protected double[][] points = new double[16][];
+  /**
+   * Cached contributions by index.
+   */
+  protected double[] contributions = new double[16];
+  /**
+   * Contributions that must be recomputed.
+   */
+  protected boolean[] dirty = new boolean[16];
+  /**
+   * Number of indices used, including removed points.
+   */
+  protected int capacity = 0;
+  /**
+   * Number of points.
+   */
+  protected int size = 0;
+  /**
+   * Indices of removed points, reused by the next additions.
+   */
+  private int[] free = new int[16];
+  /**
+   * Number of free indices.
+   */
+  private int numberOfFree = 0;
+  /**
+   * Indices sorted by the first objective (only with 2 objectives).
+   */
+  private TreeSet<Integer> sorted = null;
+  /**
+   * Whether all the contributions must be recomputed (only with 3
+   * objectives).
+   */
+  private boolean stale = false;
+
+  /**
+   * Constructor.
+   * @param numberOfObjectives Number of objectives.
+   * @param reference Reference point. It must be strictly dominated by all
+   * the points.
+   */
+  public HyperVolumeContributions(int numberOfObjectives, double[] reference) {
+    this.numberOfObjectives = numberOfObjectives;
+    this.reference = reference.clone();
+    if (numberOfObjectives == 2) {
+      sorted = new TreeSet<Integer>(new Comparator<Integer>() {
+        @Override
+        public int compare(Integer left, Integer right) {
+          int compare = Double.compare(points[left][0], points[right][0]);
+          return (compare != 0) ? compare : Integer.compare(left, right);
+        }
+      });
+    }
+  }
+
+  /**
+   * Adds a point. It must not be dominated by, nor dominate, any point of
+   * the set.
+   * @param point The point. It is stored, not copied.
+   * @return Index of the point.
+   */
+  public int add(double[] point) {
+    int idx;
+    if (numberOfFree > 0) {
+      idx = free[--numberOfFree];
+    } else {
+      if (capacity == points.length) {
+        points = Arrays.copyOf(points, capacity * 2);
+        contributions = Arrays.copyOf(contributions, capacity * 2);
+        dirty = Arrays.copyOf(dirty, capacity * 2);
+      }
+      idx = capacity++;
+    }
+    points[idx] = point;
+    dirty[idx] = true;
+    size++;
+    if (sorted != null) {
+      sorted.add(idx);
+      markNeighbours(idx);
+    } else if (numberOfObjectives == 3) {
+      stale = true;
+    } else {
+      markAffected(idx);
+    }
+    return idx;
+  }
+
+  /**
+   * Removes a point. Its index can be reused by the next additions.
+   * @param idx Index of the point.
+   */
+  public void remove(int idx) {
+    if (sorted != null) {
+      markNeighbours(idx);
+      sorted.remove(idx);
+    } else if (numberOfObjectives == 3) {
+      stale = true;
+    } else {
+      markAffected(idx);
+    }
+    points[idx] = null;
+    size--;
+    if (numberOfFree == free.length) {
+      free = Arrays.copyOf(free, numberOfFree * 2);
+    }
+    free[numberOfFree++] = idx;
+  }
+
+  /**
+   * Removes all the points.
+   */
+  public void clear() {
+    Arrays.fill(points, 0, capacity, null);
+    capacity = 0;
+    size = 0;
+    numberOfFree = 0;
+    if (sorted != null) {
+      sorted.clear();
+    }
+  }
+
+  /**
+   * Changes the reference point. Only the contributions that reach a changed
+   * coordinate of the reference point are recomputed.
+   * @param reference The new reference point.
+   */
+  public void setReference(double[] reference) {
+    if (Arrays.equals(this.reference, reference)) {
+      return;
+    }
+    double[] old = this.reference;
+    this.reference = reference.clone();
+    if (sorted != null) {
+      if (!sorted.isEmpty()) {
+        dirty[sorted.first()] = true;
+        dirty[sorted.last()] = true;
+      }
+    } else if (numberOfObjectives == 3) {
+      stale = true;
+    } else {
+      for (int p = 0; p < capacity; ++p) {
+        if (points[p] != null && !dirty[p] && reachesReference(p, old)) {
+          dirty[p] = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the contribution of a point.
+   * @param idx Index of the point.
+   * @return The exclusive hypervolume of the point.
+   */
+  public double getContribution(int idx) {
+    if (stale) {
+      sweep();
+    }
+    if (dirty[idx]) {
+      contributions[idx] = compute(idx);
+      dirty[idx] = false;
+    }
+    return contributions[idx];
+  }
+
+  /**
+   * Finds the point with the smallest contribution. Ties are broken by the
+   * lowest index.
+   * @return Index of the point, or -1 if the set is empty.
+   */
+  public int getMinimumContributor() {
+    int min = -1;
+    for (int i = 0; i < capacity; ++i) {
+      if (points[i] != null && (min < 0 || getContribution(i) < getContribution(min))) {
+        min = i;
+      }
+    }
+    return min;
+  }
+
+  /**
+   * Get the number of points.
+   * @return Number of points.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Marks the neighbours of a point, in the order of the first objective,
+   * as dirty (2 objectives).
+   * @param idx Index of the point.
+   */
+  private void markNeighbours(int idx) {
+    Integer lower = sorted.lower(idx);
+    if (lower != null) {
+      dirty[lower] = true;
+    }
+    Integer higher = sorted.higher(idx);
+    if (higher != null) {
+      dirty[higher] = true;
+    }
+  }
+
+  /**
+   * Marks as dirty the points whose contribution can change when a point is
+   * added or removed: p is affected by q unless max(p, q) is weakly
+   * dominated by a third point.
+   * @param idx Index of the point added or removed.
+   */
+  private void markAffected(int idx) {
+    double[] q = points[idx];
+    double[] corner = new double[numberOfObjectives];
+    for (int p = 0; p < capacity; ++p) {
+      if (p == idx || points[p] == null || dirty[p]) {
+        continue;
+      }
+      for (int k = 0; k < numberOfObjectives; ++k) {
+        corner[k] = Math.max(points[p][k], q[k]);
+      }
+      boolean covered = false;
+      for (int r = 0; r < capacity && !covered; ++r) {
+        if (r != p && r != idx && points[r] != null && HyperVolume.weaklyDominates(points[r], corner, numberOfObjectives)) {
+          covered = true;
+        }
+      }
+      if (!covered) {
+        dirty[p] = true;
+      }
+    }
+  }
+
+  /**
+   * Checks whether the exclusive region of a point can reach a coordinate in
+   * which the old and the current reference points differ. In objective k,
+   * another point r that is not worse in the other objectives dominates the
+   * part of the box of p above r[k], so if r[k] is not above the old and the
+   * new reference, the region does not depend on that coordinate.
+   * @param idx Index of the point.
+   * @param old Old reference point.
+   * @return true if the contribution can have changed.
+   */
+  private boolean reachesReference(int idx, double[] old) {
+    double[] point = points[idx];
+    for (int k = 0; k < numberOfObjectives; ++k) {
+      if (old[k] == reference[k]) {
+        continue;
+      }
+      double bound = Math.min(old[k], reference[k]);
+      boolean bounded = false;
+      for (int r = 0; r < capacity && !bounded; ++r) {
+        if (r != idx && points[r] != null && points[r][k] <= bound) {
+          bounded = true;
+          for (int j = 0; j < numberOfObjectives && bounded; ++j) {
+            if (j != k && points[r][j] > point[j]) {
+              bounded = false;
+            }
+          }
+        }
+      }
+      if (!bounded) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Computes the contributions of all the points with 3 objectives, sweeping
+   * them by increasing value of the third one. The points swept so far that
+   * are non-dominated in the first two objectives form a staircase (x
+   * increasing, y decreasing). The slice exclusively dominated by one of
+   * them is the rectangle up to the x of the next one and the y of the
+   * previous one, minus the quadrants of the points it removed from the
+   * staircase when it was swept (its shadow), which still dominate their
+   * part of it. Sweeping a point only changes the slices of the point and of
+   * its two neighbours, and the volume of a slice is accumulated whenever it
+   * changes.
+   */
+  private void sweep() {
+    int[] order = new int[size];
+    int n = 0;
+    for (int i = 0; i < capacity; ++i) {
+      if (points[i] != null) {
+        order[n++] = i;
+        contributions[i] = 0;
+        dirty[i] = false;
+      }
+    }
+    IndexSort.sort(order, new IndexSort.IndexComparator() {
+      @Override
+      public int compare(int i, int j) {
+        return Double.compare(points[i][2], points[j][2]);
+      }
+    });
+    Slices slices = new Slices(capacity);
+    TreeMap<Double, Integer> front = new TreeMap<Double, Integer>();
+    int[] removed = new int[n];
+    for (int t = 0; t < n; ++t) {
+      int p = order[t];
+      double[] point = points[p];
+      double z = point[2];
+      Map.Entry<Double, Integer> floor = front.floorEntry(point[0]);
+      if (floor != null && points[floor.getValue()][1] <= point[1]) {
+        // Weakly dominated by a point swept before
+        continue;
+      }
+      int numberOfRemoved = 0;
+      Map.Entry<Double, Integer> ceiling = front.ceilingEntry(point[0]);
+      while (ceiling != null && points[ceiling.getValue()][1] >= point[1]) {
+        int q = ceiling.getValue();
+        slices.close(q, z);
+        removed[numberOfRemoved++] = q;
+        front.remove(ceiling.getKey());
+        ceiling = front.higherEntry(ceiling.getKey());
+      }
+      front.put(point[0], p);
+      slices.open(p, Arrays.copyOf(removed, numberOfRemoved), z);
+      slices.update(front, p, z);
+      Map.Entry<Double, Integer> lower = front.lowerEntry(point[0]);
+      if (lower != null) {
+        slices.update(front, lower.getValue(), z);
+      }
+      Map.Entry<Double, Integer> higher = front.higherEntry(point[0]);
+      if (higher != null) {
+        slices.update(front, higher.getValue(), z);
+      }
+    }
+    for (int q : front.values()) {
+      slices.close(q, reference[2]);
+    }
+    stale = false;
+  }
+
+  /**
+   * Exclusive slices of the points of the staircase, during a sweep.
+   */
+  private class Slices {
+    /**
+     * Area of the slice of each point.
+     */
+    private final double[] area;
+    /**
+     * Value of the third objective from which the slice has that area.
+     */
+    private final double[] since;
+    /**
+     * Shadow of each point: the points it removed, x increasing.
+     */
+    private final int[][] shadow;
+    /**
+     * First point of the shadow that still overlaps the rectangle.
+     */
+    private final int[] first;
+    /**
+     * Point after the last one of the shadow that overlaps the rectangle.
+     */
+    private final int[] last;
+    /**
+     * Sum, over the overlapping points of the shadow but the last one, of
+     * the distance to the next point in x times their y.
+     */
+    private final double[] inner;
+
+    Slices(int capacity) {
+      area = new double[capacity];
+      since = new double[capacity];
+      shadow = new int[capacity][];
+      first = new int[capacity];
+      last = new int[capacity];
+      inner = new double[capacity];
+    }
+
+    /**
+     * Starts the slice of a point that enters the staircase.
+     * @param p The point.
+     * @param removed Its shadow.
+     * @param z Value of the third objective.
+     */
+    void open(int p, int[] removed, double z) {
+      shadow[p] = removed;
+      first[p] = 0;
+      last[p] = removed.length;
+      double sum = 0;
+      for (int i = 0; i + 1 < removed.length; ++i) {
+        sum += (points[removed[i + 1]][0] - points[removed[i]][0]) * points[removed[i]][1];
+      }
+      inner[p] = sum;
+      area[p] = 0;
+      since[p] = z;
+    }
+
+    /**
+     * Accumulates the volume of the slice of a point up to a given value of
+     * the third objective.
+     * @param q The point.
+     * @param z Value of the third objective.
+     */
+    void close(int q, double z) {
+      contributions[q] += area[q] * (z - since[q]);
+      since[q] = z;
+    }
+
+    /**
+     * Recomputes the slice of a point after a change of its neighbours. The
+     * rectangle only shrinks, so the points of the shadow left out of it are
+     * dropped for good from the ends of the shadow.
+     * @param front The staircase.
+     * @param q The point.
+     * @param z Value of the third objective.
+     */
+    void update(TreeMap<Double, Integer> front, int q, double z) {
+      close(q, z);
+      double[] point = points[q];
+      Map.Entry<Double, Integer> lower = front.lowerEntry(point[0]);
+      Map.Entry<Double, Integer> higher = front.higherEntry(point[0]);
+      double top = (lower == null) ? reference[1] : points[lower.getValue()][1];
+      double right = (higher == null) ? reference[0] : points[higher.getValue()][0];
+      int[] s = shadow[q];
+      while (first[q] < last[q] && points[s[first[q]]][1] >= top) {
+        if (last[q] - first[q] >= 2) {
+          inner[q] -= (points[s[first[q] + 1]][0] - points[s[first[q]]][0]) * points[s[first[q]]][1];
+        }
+        first[q]++;
+      }
+      while (last[q] > first[q] && points[s[last[q] - 1]][0] >= right) {
+        if (last[q] - first[q] >= 2) {
+          inner[q] -= (points[s[last[q] - 1]][0] - points[s[last[q] - 2]][0]) * points[s[last[q] - 2]][1];
+        }
+        last[q]--;
+      }
+      double covered = 0;
+      if (first[q] < last[q]) {
+        double[] lowest = points[s[last[q] - 1]];
+        double sum = inner[q] + (right - lowest[0]) * lowest[1];
+        covered = top * (right - points[s[first[q]]][0]) - sum;
+      }
+      area[q] = (right - point[0]) * (top - point[1]) - covered;
+    }
+  }
+
+  /**
+   * Computes the contribution of a point.
+   * @param idx Index of the point.
+   * @return The exclusive hypervolume of the point.
+   */
+  private double compute(int idx) {
+    double[] point = points[idx];
+    if (sorted != null) {
+      Integer lower = sorted.lower(idx);
+      Integer higher = sorted.higher(idx);
+      double top = (lower == null) ? reference[1] : points[lower][1];
+      double right = (higher == null) ? reference[0] : points[higher][0];
+      return (right - point[0]) * (top - point[1]);
+    }
+    double[][] limited = new double[size - 1][];
+    int n = 0;
+    for (int r = 0; r < capacity; ++r) {
+      if (r != idx && points[r] != null) {
+        double[] corner = new double[numberOfObjectives];
+        for (int k = 0; k < numberOfObjectives; ++k) {
+          corner[k] = Math.max(point[k], points[r][k]);
+        }
+        limited[n++] = corner;
+      }
+    }
+    return HyperVolume.inclusive(point, reference, numberOfObjectives) - HyperVolume.compute(limited, reference);
+  }
+}
@@ -0,0 +1,439 @@
+/*
+* File: IndicatorBatch.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.util.indicator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import jeco.core.problem.Solutions;
+import jeco.core.problem.Variable;
+import jeco.unstable.util.Maths;
+
+/**
+ * Computes several quality indicators for all the fronts of a set of files
+ * at once (minimization). Files have the format of
+ * <code>Solutions.readFrontsFromFile</code>: one front after another,
+ * separated by blank lines.
+ *
+ * The fronts and the reference front are read and converted to primitive
+ * arrays once, and all of them are normalized to [0, 1] with the bounds of
+ * the whole batch. The indicators of the different fronts are then computed
+ * in parallel in a <code>ForkJoinPool</code>. Indicators:
+ * <ul>
+ * <li>{@link #HYPERVOLUME}: hypervolume with reference point (1.1, ..., 1.1).
+ * Higher is better.</li>
+ * <li>{@link #IGD}: average distance from each point of the reference front
+ * to the nearest point of the front.</li>
+ * <li>{@link #IGD_PLUS}: IGD with the dominance-compliant distance
+ * ||max(a - r, 0)|| (Ishibuchi et al., 2015).</li>
+ * <li>{@link #GD}: average distance from each point of the front to the
+ * nearest point of the reference front.</li>
+ * <li>{@link #EPSILON}: additive epsilon indicator with respect to the
+ * reference front.</li>
+ * <li>{@link #SPREAD}: generalized spread (Zhou et al., 2006), which is
+ * Deb's spread extended to any number of objectives.</li>
+ * </ul>
+ * Nearest-point searches use kd-trees ({@link ReferenceFrontIndex}): the one
+ * of the reference front is built once and shared by all the fronts, and the
+ * one of each front is built once for all its indicators.
+ * All the indicators but the hypervolume need a reference front, and are NaN
+ * without it.
+ */
+public class IndicatorBatch {
+
+  /**
+   * Hypervolume.
+   */
+  public static final int HYPERVOLUME = 0;
+  /**
+   * Inverted generational distance.
+   */
+  public static final int IGD = 1;
+  /**
+   * Inverted generational distance plus.
+   */
+  public static final int IGD_PLUS = 2;
+  /**
+   * Generational distance.
+   */
+  public static final int GD = 3;
+  /**
+   * Additive epsilon indicator.
+   */
+  public static final int EPSILON = 4;
+  /**
+   * Generalized spread.
+   */
+  public static final int SPREAD = 5;
+  /**
+   * Names of the indicators, by index.
+   */
+  public static final String[] NAMES = {"HV", "IGD", "IGD+", "GD", "EPSILON", "SPREAD"};
+
+  /**
+   * Number of objectives
+   */
+  protected int dim;
+  /**
+   * Paths to the files
+   */
+  protected ArrayList<String> pathsToDataFiles;
+  /**
+   * Fronts of each file, normalized
+   */
+  protected double[][][][] fronts;
+  /**
+   * Reference front, normalized, null if there is none
+   */
+  protected double[][] referenceFront;
+  /**
+   * Index of the reference front, built once for all the fronts, null if
+   * there is none
+   */
+  protected ReferenceFrontIndex referenceIndex;
+  /**
+   * Indicators of each front of each file
+   */
+  protected double[][][] values;
+  /**
+   * Pool used to read the files and compute the indicators
+   */
+  protected ForkJoinPool pool;
+
+  /**
+   * Constructor. Reads and normalizes the fronts.
+   * @param pathsToDataFiles Paths to the files containing the fronts
+   * @param pathToReferenceFront Path to the file containing the reference
+   * front, or null
+   * @param pool Pool used to read the files and compute the indicators
+   * @throws IOException
+   */
+  public IndicatorBatch(ArrayList<String> pathsToDataFiles, String pathToReferenceFront, ForkJoinPool pool) throws IOException {
+    this.pathsToDataFiles = pathsToDataFiles;
+    this.pool = pool;
+    if (pathsToDataFiles.size() <= 0) {
+      throw new IOException("The number of files is zero or impossible to read.");
+    }
+    Solutions<Variable<?>> reference = null;
+    if (pathToReferenceFront != null) {
+      reference = Solutions.readFrontFromFile(pathToReferenceFront);
+    }
+    final ArrayList<ArrayList<Solutions<Variable<?>>>> solutions = new ArrayList<ArrayList<Solutions<Variable<?>>>>();
+    final IOException[] errors = new IOException[pathsToDataFiles.size()];
+    for (int i = 0; i < pathsToDataFiles.size(); ++i) {
+      solutions.add(null);
+    }
+    pool.invoke(new Tasks(pathsToDataFiles.size()) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      void run(int i) {
+        try {
+          solutions.set(i, Solutions.readFrontsFromFile(IndicatorBatch.this.pathsToDataFiles.get(i)));
+        } catch (IOException e) {
+          errors[i] = e;
+        }
+      }
+    });
+    dim = Integer.MAX_VALUE;
+    for (int i = 0; i < solutions.size(); ++i) {
+      if (errors[i] != null) {
+        throw errors[i];
+      }
+      if (solutions.get(i).size() <= 0) {
+        throw new IOException("The number of fronts in the file " + pathsToDataFiles.get(i) + " is zero.");
+      }
+      dim = Math.min(dim, solutions.get(i).get(0).get(0).getNumberOfObjectives());
+    }
+
+    // Bounds of the whole batch
+    double[] mins = new double[dim];
+    double[] maxs = new double[dim];
+    Arrays.fill(mins, Double.POSITIVE_INFINITY);
+    Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+    fronts = new double[solutions.size()][][][];
+    for (int i = 0; i < solutions.size(); ++i) {
+      fronts[i] = new double[solutions.get(i).size()][][];
+      for (int j = 0; j < fronts[i].length; ++j) {
+        fronts[i][j] = toArray(solutions.get(i).get(j), mins, maxs);
+      }
+    }
+    if (reference != null) {
+      referenceFront = toArray(reference, mins, maxs);
+    }
+    for (double[][][] file : fronts) {
+      for (double[][] front : file) {
+        normalize(front, mins, maxs);
+      }
+    }
+    if (referenceFront != null) {
+      normalize(referenceFront, mins, maxs);
+      referenceIndex = new ReferenceFrontIndex(referenceFront, dim);
+    }
+  }
+
+  /**
+   * Constructor. Uses the common pool.
+   * @param pathsToDataFiles Paths to the files containing the fronts
+   * @param pathToReferenceFront Path to the file containing the reference
+   * front, or null
+   * @throws IOException
+   */
+  public IndicatorBatch(ArrayList<String> pathsToDataFiles, String pathToReferenceFront) throws IOException {
+    this(pathsToDataFiles, pathToReferenceFront, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes all the indicators of all the fronts.
+   */
+  public void calculate() {
+    int total = 0;
+    for (double[][][] file : fronts) {
+      total += file.length;
+    }
+    final int[] fileOf = new int[total];
+    final int[] frontOf = new int[total];
+    values = new double[fronts.length][][];
+    for (int i = 0, t = 0; i < fronts.length; ++i) {
+      values[i] = new double[fronts[i].length][];
+      for (int j = 0; j < fronts[i].length; ++j, ++t) {
+        fileOf[t] = i;
+        frontOf[t] = j;
+      }
+    }
+    final double[] hvReference = new double[dim];
+    Arrays.fill(hvReference, 1.1);
+    pool.invoke(new Tasks(total) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      void run(int t) {
+        values[fileOf[t]][frontOf[t]] = calculate(fronts[fileOf[t]][frontOf[t]], hvReference);
+      }
+    });
+  }
+
+  /**
+   * Gets the values of one indicator, by file and front.
+   * @param indicator One of the indicator constants
+   * @return The values
+   */
+  public ArrayList<ArrayList<Double>> getValues(int indicator) {
+    ArrayList<ArrayList<Double>> result = new ArrayList<ArrayList<Double>>();
+    for (double[][] file : values) {
+      ArrayList<Double> aux = new ArrayList<Double>();
+      for (double[] front : file) {
+        aux.add(front[indicator]);
+      }
+      result.add(aux);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the indicators of a front.
+   * @param front The front, normalized
+   * @param hvReference Reference point of the hypervolume
+   * @return The indicators, by index
+   */
+  protected double[] calculate(double[][] front, double[] hvReference) {
+    double[] result = new double[NAMES.length];
+    Arrays.fill(result, Double.NaN);
+    result[HYPERVOLUME] = HyperVolume.compute(front, hvReference);
+    if (referenceFront == null || front.length == 0) {
+      return result;
+    }
+    // Nearest-point queries from the reference front go to an index over the
+    // front, and the ones from the front to the index of the reference front
+    ReferenceFrontIndex frontIndex = new ReferenceFrontIndex(front, dim);
+    double igd = 0, igdPlus = 0, epsilon = Double.NEGATIVE_INFINITY;
+    for (double[] r : referenceFront) {
+      igd += frontIndex.nearestDistance(r);
+      igdPlus += frontIndex.nearestDistancePlus(r);
+      epsilon = Math.max(epsilon, frontIndex.nearestEpsilon(r));
+    }
+    result[IGD] = igd / referenceFront.length;
+    result[IGD_PLUS] = igdPlus / referenceFront.length;
+    result[EPSILON] = epsilon;
+    double gd = 0;
+    for (double[] a : front) {
+      gd += referenceIndex.nearestDistance(a);
+    }
+    result[GD] = gd / front.length;
+    result[SPREAD] = spread(front, frontIndex);
+    return result;
+  }
+
+  /**
+   * Generalized spread of a front with respect to the reference front.
+   * @param front The front, normalized
+   * @param frontIndex Index of the front
+   * @return The spread
+   */
+  protected double spread(double[][] front, ReferenceFrontIndex frontIndex) {
+    // Distances from the extreme points of the reference front to the front
+    double extremes = 0;
+    for (int k = 0; k < dim; ++k) {
+      double[] extreme = referenceFront[0];
+      for (double[] r : referenceFront) {
+        if (r[k] > extreme[k]) {
+          extreme = r;
+        }
+      }
+      extremes += frontIndex.nearestDistance(extreme);
+    }
+    if (front.length < 2) {
+      return (extremes > 0) ? 1.0 : 0.0;
+    }
+    double[] distances = new double[front.length];
+    double mean = 0;
+    for (int i = 0; i < front.length; ++i) {
+      distances[i] = frontIndex.nearestDistanceToOthers(i, front[i]);
+      mean += distances[i];
+    }
+    mean /= front.length;
+    double deviation = 0;
+    for (double distance : distances) {
+      deviation += Math.abs(distance - mean);
+    }
+    double denominator = extremes + front.length * mean;
+    return (denominator > 0) ? (extremes + deviation) / denominator : 0.0;
+  }
+
+  /**
+   * Copies the first objectives of a set of solutions and updates the bounds.
+   * @param solutions The solutions
+   * @param mins Minimum of each objective (updated)
+   * @param maxs Maximum of each objective (updated)
+   * @return The points
+   */
+  private double[][] toArray(Solutions<Variable<?>> solutions, double[] mins, double[] maxs) {
+    double[][] points = new double[solutions.size()][dim];
+    for (int i = 0; i < points.length; ++i) {
+      for (int k = 0; k < dim; ++k) {
+        points[i][k] = solutions.get(i).getObjectiveValue(k);
+        mins[k] = Math.min(mins[k], points[i][k]);
+        maxs[k] = Math.max(maxs[k], points[i][k]);
+      }
+    }
+    return points;
+  }
+
+  /**
+   * Normalizes a set of points to [0, 1].
+   * @param points The points
+   * @param mins Minimum of each objective
+   * @param maxs Maximum of each objective
+   */
+  private void normalize(double[][] points, double[] mins, double[] maxs) {
+    for (double[] point : points) {
+      for (int k = 0; k < dim; ++k) {
+        double range = maxs[k] - mins[k];
+        point[k] = (range > 0) ? (point[k] - mins[k]) / range : 0.0;
+      }
+    }
+  }
+
+  /**
+   * Runs a task for each index of a range, splitting the range in two tasks
+   * while it has more than one index.
+   */
+  private abstract static class Tasks extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+    private final int size;
+
+    Tasks(int size) {
+      this.size = size;
+    }
+
+    /**
+     * Runs the task of an index.
+     * @param i The index
+     */
+    abstract void run(int i);
+
+    @Override
+    protected void compute() {
+      split(0, size);
+    }
+
+    /**
+     * Splits a range of indices.
+     * @param from First index, inclusive
+     * @param to Last index, exclusive
+     */
+    private void split(int from, int to) {
+      if (to - from <= 1) {
+        if (to > from) {
+          run(from);
+        }
+        return;
+      }
+      final int middle = (from + to) >>> 1;
+      RecursiveAction left = new RecursiveAction() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+          split(from, middle);
+        }
+      };
+      left.fork();
+      split(middle, to);
+      left.join();
+    }
+  }
+
+  public static void main(String[] args) {
+    if (args.length == 0) {
+      System.err.println("Usage:");
+      System.err.println("java -cp jeco.jar " + IndicatorBatch.class.getName() + " [-ref <PathToReferenceFront>] -dat <PathToFrontsFile1> -dat <PathToFrontsFile2> ...");
+      return;
+    }
+    ArrayList<String> dataPaths = new ArrayList<String>();
+    String refPath = null;
+    int i = 0;
+    while (i < args.length) {
+      if (args[i].equals("-ref")) {
+        refPath = args[++i];
+      } else if (args[i].equals("-dat")) {
+        dataPaths.add(args[++i]);
+      }
+      i++;
+    }
+    try {
+      IndicatorBatch batch = new IndicatorBatch(dataPaths, refPath);
+      batch.calculate();
+      for (int indicator = 0; indicator < NAMES.length; ++indicator) {
+        ArrayList<ArrayList<Double>> valuesSet = batch.getValues(indicator);
+        for (i = 0; i < valuesSet.size(); ++i) {
+          System.out.println(NAMES[indicator] + " for " + dataPaths.get(i) + ": AVG=" + Maths.mean(valuesSet.get(i)) + ", STD=" + Maths.std(valuesSet.get(i)));
+        }
+      }
+    } catch (IOException e) {
+      System.err.println(e.getLocalizedMessage());
+    }
+  }
+}
@@ -0,0 +1,316 @@
+/*
+* File: MonteCarloHyperVolume.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.util.indicator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo approximation of the hypervolume (minimization), for fronts
+ * with many objectives where the exact algorithms of {@link HyperVolume} are
+ * too slow.
+ *
+ * Points are sampled uniformly in the box between the ideal point of the
+ * front and the reference point, and the hypervolume is estimated as the
+ * volume of the box times the fraction of samples dominated by the front.
+ * Samples are drawn in rounds until the half-width of the confidence
+ * interval of the estimate (normal approximation) is below the requested
+ * error, or the maximum number of samples is reached.
+ *
+ * Each round is split across a <code>ForkJoinPool</code>. There is a fixed
+ * number of streams of samples, each one with its own generator split from
+ * a seeded root generator, and each stream draws a fixed number of samples
+ * per round, so the estimate only depends on the seed, not on the pool or
+ * the scheduling of the tasks.
+ */
+public class MonteCarloHyperVolume {
+
+  /**
+   * Number of independent streams of samples.
+   */
+  public static final int STREAMS = 32;
+  /**
+   * Samples drawn by each stream in each round.
+   */
+  public static final int SAMPLES_PER_ROUND = 2048;
+
+  /**
+   * Result of an estimation.
+   */
+  public static class Estimate {
+
+    /**
+     * Estimated hypervolume.
+     */
+    protected final double value;
+    /**
+     * Half-width of the confidence interval.
+     */
+    protected final double errorBound;
+    /**
+     * Number of samples drawn.
+     */
+    protected final long samples;
+
+    /**
+     * Constructor.
+     * @param value Estimated hypervolume.
+     * @param errorBound Half-width of the confidence interval.
+     * @param samples Number of samples drawn.
+     */
+    public Estimate(double value, double errorBound, long samples) {
+      this.value = value;
+      this.errorBound = errorBound;
+      this.samples = samples;
+    }
+
+    /**
+     * Get the estimated hypervolume.
+     * @return The estimate.
+     */
+    public double getValue() {
+      return value;
+    }
+
+    /**
+     * Get the half-width of the confidence interval: the hypervolume is in
+     * [value - errorBound, value + errorBound] with the requested confidence.
+     * @return The error bound.
+     */
+    public double getErrorBound() {
+      return errorBound;
+    }
+
+    /**
+     * Get the number of samples drawn.
+     * @return Number of samples.
+     */
+    public long getSamples() {
+      return samples;
+    }
+
+    @Override
+    public String toString() {
+      return value + " +/- " + errorBound;
+    }
+  }
+
+  /**
+   * Confidence level of the interval, in (0, 1).
+   */
+  protected double confidence;
+  /**
+   * Maximum half-width of the confidence interval.
+   */
+  protected double maxError;
+  /**
+   * Maximum number of samples.
+   */
+  protected long maxSamples;
+  /**
+   * Seed of the root generator.
+   */
+  protected long seed;
+  /**
+   * Pool used to draw the samples.
+   */
+  protected ForkJoinPool pool;
+
+  /**
+   * Constructor.
+   * @param confidence Confidence level of the interval, in (0, 1), e.g. 0.95.
+   * @param maxError Maximum half-width of the confidence interval.
+   * @param maxSamples Maximum number of samples.
+   * @param seed Seed of the root generator.
+   * @param pool Pool used to draw the samples.
+   */
+  public MonteCarloHyperVolume(double confidence, double maxError, long maxSamples, long seed, ForkJoinPool pool) {
+    this.confidence = confidence;
+    this.maxError = maxError;
+    this.maxSamples = maxSamples;
+    this.seed = seed;
+    this.pool = pool;
+  }
+
+  /**
+   * Constructor. Uses the common pool.
+   * @param confidence Confidence level of the interval, in (0, 1), e.g. 0.95.
+   * @param maxError Maximum half-width of the confidence interval.
+   * @param maxSamples Maximum number of samples.
+   * @param seed Seed of the root generator.
+   */
+  public MonteCarloHyperVolume(double confidence, double maxError, long maxSamples, long seed) {
+    this(confidence, maxError, maxSamples, seed, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Estimates the hypervolume of a set of points. Points that do not
+   * strictly dominate the reference point are ignored. The points are not
+   * modified.
+   * @param points Points, minimization.
+   * @param reference Reference point.
+   * @return The estimate and its error bound.
+   */
+  public Estimate estimate(double[][] points, double[] reference) {
+    int m = reference.length;
+    double[][] inside = new double[points.length][];
+    int n = 0;
+    for (double[] point : points) {
+      if (HyperVolume.strictlyDominates(point, reference, m)) {
+        inside[n++] = point;
+      }
+    }
+    if (n == 0) {
+      return new Estimate(0, 0, 0);
+    }
+    final double[][] front = Arrays.copyOf(inside, n);
+    // Sorted by the first objective, to stop the dominance test early
+    Arrays.sort(front, new Comparator<double[]>() {
+      @Override
+      public int compare(double[] left, double[] right) {
+        return Double.compare(left[0], right[0]);
+      }
+    });
+    double[] ideal = front[0].clone();
+    for (double[] point : front) {
+      for (int k = 0; k < m; ++k) {
+        ideal[k] = Math.min(ideal[k], point[k]);
+      }
+    }
+    double boxVolume = HyperVolume.inclusive(ideal, reference, m);
+    double z = quantile(0.5 + confidence / 2);
+
+    SplittableRandom root = new SplittableRandom(seed);
+    SplittableRandom[] streams = new SplittableRandom[STREAMS];
+    for (int s = 0; s < streams.length; ++s) {
+      streams[s] = root.split();
+    }
+    long samples = 0;
+    long hits = 0;
+    double errorBound;
+    do {
+      int perStream = (int) Math.max(1, Math.min(SAMPLES_PER_ROUND, (maxSamples - samples + streams.length - 1) / streams.length));
+      hits += pool.invoke(new Sampler(front, ideal, reference, streams, 0, streams.length, perStream));
+      samples += (long) perStream * streams.length;
+      // Variance of the adjusted proportion, which does not vanish when no
+      // sample or every sample is dominated
+      double adjusted = (hits + z * z / 2) / (samples + z * z);
+      errorBound = z * boxVolume * Math.sqrt(adjusted * (1 - adjusted) / samples);
+    } while (samples < maxSamples && errorBound > maxError);
+    return new Estimate(boxVolume * hits / samples, errorBound, samples);
+  }
+
+  /**
+   * Draws the samples of a round for a range of streams, splitting the
+   * range in two tasks while it has more than one stream.
+   */
+  private static class Sampler extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+    private final double[][] front;
+    private final double[] ideal;
+    private final double[] reference;
+    private final transient SplittableRandom[] streams;
+    private final int from;
+    private final int to;
+    private final int samples;
+
+    Sampler(double[][] front, double[] ideal, double[] reference, SplittableRandom[] streams, int from, int to, int samples) {
+      this.front = front;
+      this.ideal = ideal;
+      this.reference = reference;
+      this.streams = streams;
+      this.from = from;
+      this.to = to;
+      this.samples = samples;
+    }
+
+    @Override
+    protected Long compute() {
+      if (to - from > 1) {
+        int middle = (from + to) >>> 1;
+        Sampler left = new Sampler(front, ideal, reference, streams, from, middle, samples);
+        left.fork();
+        long right = new Sampler(front, ideal, reference, streams, middle, to, samples).compute();
+        return left.join() + right;
+      }
+      SplittableRandom random = streams[from];
+      int m = reference.length;
+      double[] sample = new double[m];
+      long hits = 0;
+      for (int i = 0; i < samples; ++i) {
+        for (int k = 0; k < m; ++k) {
+          sample[k] = ideal[k] + random.nextDouble() * (reference[k] - ideal[k]);
+        }
+        if (dominated(sample, m)) {
+          hits++;
+        }
+      }
+      return hits;
+    }
+
+    /**
+     * Checks whether a sample is dominated by some point of the front.
+     * @param sample The sample.
+     * @param m Number of objectives.
+     * @return true if it is dominated.
+     */
+    private boolean dominated(double[] sample, int m) {
+      for (double[] point : front) {
+        if (point[0] > sample[0]) {
+          return false;
+        }
+        if (HyperVolume.weaklyDominates(point, sample, m)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Quantile function of the standard normal distribution (Acklam's
+   * rational approximation, relative error below 1.2e-9).
+   * @param p Probability, in (0, 1).
+   * @return The quantile.
+   */
+  static double quantile(double p) {
+    final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02, 1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02, 6.680131188771972e+01, -1.328068155288572e+01};
+    final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00, -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00};
+    final double low = 0.02425;
+    if (p < low) {
+      double q = Math.sqrt(-2 * Math.log(p));
+      return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+    }
+    if (p > 1 - low) {
+      double q = Math.sqrt(-2 * Math.log(1 - p));
+      return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+    }
+    double q = p - 0.5;
+    double r = q * q;
+    return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+  }
+}
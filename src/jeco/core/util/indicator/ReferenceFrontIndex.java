@@ -0,0 +1,364 @@
+/*
+* File: ReferenceFrontIndex.java
+* Author: José Luis Risco Martín <jlrisco@ucm.es>
+* Created: 2026/10/17 (YYYY/MM/DD)
+*
+* Copyright (C) 2026
+*
+* This program is free software: you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation, either version 3 of the License, or
+* (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package jeco.core.util.indicator;
+
+/**
+ * Kd-tree over a set of points in objective space, built once and queried
+ * for the nearest point many times, as GD, IGD and similar indicators do
+ * against a reference front. Coordinates are stored in one flat array, and
+ * each node keeps the bounding box of its points, which gives the lower
+ * bound used to prune the search. Each query costs about O(log n) instead
+ * of O(n).
+ *
+ * Besides the Euclidean distance, the queries support the two asymmetric
+ * distances of IGD+ and of the additive epsilon indicator, whose lower
+ * bounds over a box are also computed from its lower corner.
+ */
+public class ReferenceFrontIndex {
+
+  /**
+   * Maximum number of points in a leaf.
+   */
+  public static final int LEAF_SIZE = 8;
+
+  /**
+   * Euclidean distance, ||p - q||.
+   */
+  private static final int EUCLIDEAN = 0;
+  /**
+   * IGD+ distance from q to p, ||max(p - q, 0)||.
+   */
+  private static final int PLUS = 1;
+  /**
+   * Additive epsilon needed by p to weakly dominate q, max(p - q).
+   */
+  private static final int EPSILON = 2;
+
+  /**
+   * Number of objectives.
+   */
+  protected int dim;
+  /**
+   * Number of points.
+   */
+  protected int size;
+  /**
+   * Coordinates of the points, row-major, in tree order.
+   */
+  protected double[] coords;
+  /**
+   * Original row of each point, in tree order.
+   */
+  protected int[] rows;
+  /**
+   * First point of each node.
+   */
+  private int[] from;
+  /**
+   * Last point (exclusive) of each node.
+   */
+  private int[] to;
+  /**
+   * Right child of each node, -1 for leaves. The left child is the next node.
+   */
+  private int[] right;
+  /**
+   * Lower corner of the bounding box of each node, row-major.
+   */
+  private double[] lower;
+  /**
+   * Upper corner of the bounding box of each node, row-major.
+   */
+  private double[] upper;
+  /**
+   * Number of nodes.
+   */
+  private int numberOfNodes = 0;
+
+  /**
+   * Constructor. Builds the tree.
+   * @param points Points. Only the first dim coordinates are used, and they
+   * are copied.
+   * @param dim Number of objectives.
+   */
+  public ReferenceFrontIndex(double[][] points, int dim) {
+    this.dim = dim;
+    this.size = points.length;
+    coords = new double[size * dim];
+    rows = new int[size];
+    for (int i = 0; i < size; ++i) {
+      System.arraycopy(points[i], 0, coords, i * dim, dim);
+      rows[i] = i;
+    }
+    int maxNodes = 4 * (size / LEAF_SIZE + 1);
+    from = new int[maxNodes];
+    to = new int[maxNodes];
+    right = new int[maxNodes];
+    lower = new double[maxNodes * dim];
+    upper = new double[maxNodes * dim];
+    if (size > 0) {
+      build(0, size);
+    }
+  }
+
+  /**
+   * Get the number of points.
+   * @return Number of points.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Euclidean distance from a point to the nearest point of the index.
+   * @param query The point.
+   * @return The distance, infinity if the index is empty.
+   */
+  public double nearestDistance(double[] query) {
+    return Math.sqrt(nearest(query, EUCLIDEAN, -1));
+  }
+
+  /**
+   * Euclidean distance from a point of the index to the nearest other point
+   * of the index.
+   * @param row Original row of the point.
+   * @param query The point.
+   * @return The distance, infinity if there are no other points.
+   */
+  public double nearestDistanceToOthers(int row, double[] query) {
+    return Math.sqrt(nearest(query, EUCLIDEAN, row));
+  }
+
+  /**
+   * IGD+ distance from a point to the index: the minimum, over the points p
+   * of the index, of ||max(p - query, 0)||.
+   * @param query The point.
+   * @return The distance, infinity if the index is empty.
+   */
+  public double nearestDistancePlus(double[] query) {
+    return Math.sqrt(nearest(query, PLUS, -1));
+  }
+
+  /**
+   * Minimum additive epsilon for a point of the index to weakly dominate a
+   * given point: the minimum, over the points p, of max(p - query).
+   * @param query The point.
+   * @return The epsilon, infinity if the index is empty.
+   */
+  public double nearestEpsilon(double[] query) {
+    return nearest(query, EPSILON, -1);
+  }
+
+  /**
+   * Builds the subtree of a range of points, splitting by the median of the
+   * widest coordinate.
+   * @param first First point.
+   * @param last Last point (exclusive).
+   * @return Index of the node.
+   */
+  private int build(int first, int last) {
+    int node = numberOfNodes++;
+    from[node] = first;
+    to[node] = last;
+    right[node] = -1;
+    int offset = node * dim;
+    for (int k = 0; k < dim; ++k) {
+      lower[offset + k] = Double.POSITIVE_INFINITY;
+      upper[offset + k] = Double.NEGATIVE_INFINITY;
+    }
+    for (int i = first; i < last; ++i) {
+      for (int k = 0; k < dim; ++k) {
+        double value = coords[i * dim + k];
+        lower[offset + k] = Math.min(lower[offset + k], value);
+        upper[offset + k] = Math.max(upper[offset + k], value);
+      }
+    }
+    if (last - first <= LEAF_SIZE) {
+      return node;
+    }
+    int split = 0;
+    for (int k = 1; k < dim; ++k) {
+      if (upper[offset + k] - lower[offset + k] > upper[offset + split] - lower[offset + split]) {
+        split = k;
+      }
+    }
+    int middle = (first + last) >>> 1;
+    select(first, last - 1, middle, split);
+    build(first, middle);
+    right[node] = build(middle, last);
+    return node;
+  }
+
+  /**
+   * Quickselect of the points by one coordinate, so that the point at
+   * position k is the one a sort would place there.
+   * @param left First point.
+   * @param rightEnd Last point (inclusive).
+   * @param k Position to select.
+   * @param coordinate Coordinate.
+   */
+  private void select(int left, int rightEnd, int k, int coordinate) {
+    while (rightEnd > left) {
+      double pivot = coords[((left + rightEnd) >>> 1) * dim + coordinate];
+      int i = left;
+      int j = rightEnd;
+      while (i <= j) {
+        while (coords[i * dim + coordinate] < pivot) {
+          i++;
+        }
+        while (coords[j * dim + coordinate] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(i++, j--);
+        }
+      }
+      if (k <= j) {
+        rightEnd = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Swaps two points.
+   * @param i First point.
+   * @param j Second point.
+   */
+  private void swap(int i, int j) {
+    for (int k = 0; k < dim; ++k) {
+      double tmp = coords[i * dim + k];
+      coords[i * dim + k] = coords[j * dim + k];
+      coords[j * dim + k] = tmp;
+    }
+    int tmp = rows[i];
+    rows[i] = rows[j];
+    rows[j] = tmp;
+  }
+
+  /**
+   * Searches the nearest point.
+   * @param query The point.
+   * @param metric Distance used.
+   * @param excluded Original row skipped, or -1.
+   * @return The distance (squared for the Euclidean and IGD+ distances).
+   */
+  private double nearest(double[] query, int metric, int excluded) {
+    double[] best = {Double.POSITIVE_INFINITY};
+    if (size > 0) {
+      search(0, query, metric, excluded, best);
+    }
+    return best[0];
+  }
+
+  /**
+   * Searches a subtree, visiting first the child with the smallest bound.
+   * @param node The node.
+   * @param query The point.
+   * @param metric Distance used.
+   * @param excluded Original row skipped, or -1.
+   * @param best Best distance found (updated).
+   */
+  private void search(int node, double[] query, int metric, int excluded, double[] best) {
+    if (right[node] < 0) {
+      for (int i = from[node]; i < to[node]; ++i) {
+        if (rows[i] != excluded) {
+          double distance = distance(coords, i * dim, query, metric);
+          if (distance < best[0]) {
+            best[0] = distance;
+          }
+        }
+      }
+      return;
+    }
+    int left = node + 1;
+    int other = right[node];
+    double boundLeft = bound(left, query, metric);
+    double boundRight = bound(other, query, metric);
+    if (boundRight < boundLeft) {
+      int tmp = left;
+      left = other;
+      other = tmp;
+      double tmpBound = boundLeft;
+      boundLeft = boundRight;
+      boundRight = tmpBound;
+    }
+    if (boundLeft < best[0]) {
+      search(left, query, metric, excluded, best);
+    }
+    if (boundRight < best[0]) {
+      search(other, query, metric, excluded, best);
+    }
+  }
+
+  /**
+   * Distance between a point of the index and the query.
+   * @param point Coordinates.
+   * @param offset Position of the point in the coordinates.
+   * @param query The query.
+   * @param metric Distance used.
+   * @return The distance (squared for the Euclidean and IGD+ distances).
+   */
+  private double distance(double[] point, int offset, double[] query, int metric) {
+    double result = (metric == EPSILON) ? Double.NEGATIVE_INFINITY : 0;
+    for (int k = 0; k < dim; ++k) {
+      double diff = point[offset + k] - query[k];
+      if (metric == EUCLIDEAN) {
+        result += diff * diff;
+      } else if (metric == PLUS) {
+        if (diff > 0) {
+          result += diff * diff;
+        }
+      } else if (diff > result) {
+        result = diff;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Lower bound of the distance between the query and the points of a node.
+   * @param node The node.
+   * @param query The query.
+   * @param metric Distance used.
+   * @return The bound (squared for the Euclidean and IGD+ distances).
+   */
+  private double bound(int node, double[] query, int metric) {
+    int offset = node * dim;
+    if (metric != EUCLIDEAN) {
+      return distance(lower, offset, query, metric);
+    }
+    double result = 0;
+    for (int k = 0; k < dim; ++k) {
+      double diff = 0;
+      if (query[k] < lower[offset + k]) {
+        diff = lower[offset + k] - query[k];
+      } else if (query[k] > upper[offset + k]) {
+        diff = query[k] - upper[offset + k];
+      }
+      result += diff * diff;
+    }
+    return result;
+  }
+}
@@ -37,6 +37,9 @@ import jeco.unstable.util.Maths;
  * Performance Assessment of Multiobjective Optimizers: An Analysis and Review.
  * IEEE Transactions on Evolutionary Computation, 7(2), 117-132.
  *
+ * The hypervolumes are computed by {@link HyperVolume}: a sweep for 2 and 3
+ * objectives, and WFG for more objectives.
+ *
  * IMPORTANT: A lower indicator value corresponds to a better approximation set.
  *
  * @author José L. Risco-Martín
@@ -64,6 +67,14 @@ public class UnaryHyperVolume {
    * Hypervolumes
    */
   ArrayList<ArrayList<Double>> hyperVolumes;
+  /**
+   * Error bounds of the hypervolumes (zero if they are exact)
+   */
+  ArrayList<ArrayList<Double>> errorBounds;
+  /**
+   * Monte Carlo approximation, null to compute exact hypervolumes
+   */
+  protected MonteCarloHyperVolume approximation = null;
 
   /**
    * Constructor
@@ -178,248 +189,94 @@ public class UnaryHyperVolume {
     }
 
     hyperVolumes = new ArrayList<ArrayList<Double>>();
+    errorBounds = new ArrayList<ArrayList<Double>>();
     double referenceFrontHyperVolume = 0.0;
+    double referenceFrontError = 0.0;
     if (referenceFront != null) {
-      referenceFrontHyperVolume = calcIndValue(referenceFront);
+      MonteCarloHyperVolume.Estimate estimate = calcIndValue(referenceFront);
+      referenceFrontHyperVolume = estimate.getValue();
+      referenceFrontError = estimate.getErrorBound();
     }
 
     double value;
     for (int i = 0; i < fronts.size(); ++i) {
       ArrayList<Double> aux = new ArrayList<Double>();
+      ArrayList<Double> auxErrors = new ArrayList<Double>();
       ArrayList<Solutions<Variable<?>>> solutionsSet = fronts.get(i);
       for (int j = 0; j < solutionsSet.size(); ++j) {
-        value = referenceFrontHyperVolume - calcIndValue(solutionsSet.get(j));
+        MonteCarloHyperVolume.Estimate estimate = calcIndValue(solutionsSet.get(j));
+        value = referenceFrontHyperVolume - estimate.getValue();
         aux.add(value);
+        auxErrors.add(referenceFrontError + estimate.getErrorBound());
       }
       hyperVolumes.add(aux);
+      errorBounds.add(auxErrors);
     }
 
     return hyperVolumes;
   }
 
   /**
-   * Returns true if point1 dominates point2 with respect to the first
-   * 'no_objectives' objectives.
-   *
-   * @param point1 Point 1
-   * @param point2 Point 2
-   * @param no_objectives Number of objectives
-   * @return true if point1 dominates point2 with respect to the first
-   * 'no_objectives' objectives.
-   */
-  private boolean dominates(ArrayList<Double> point1, ArrayList<Double> point2, int no_objectives) {
-    int i;
-    boolean better_in_any_objective, worse_in_any_objective;
-    better_in_any_objective = false;
-    worse_in_any_objective = false;
-    for (i = 0; i < no_objectives && !worse_in_any_objective; i++) {
-      if (point1.get(i) > point2.get(i)) {
-        better_in_any_objective = true;
-      } else if (point1.get(i) < point2.get(i)) {
-        worse_in_any_objective = true;
-      }
-    }
-    return (!worse_in_any_objective && better_in_any_objective);
-  }
-
-  /**
-   * Returns true if point1 weakly dominates 'points2' with respect to the to
-   * the first 'no_objectives' objectives
-   *
-   * @param point1 Point 1
-   * @param point2 Point 2
-   * @param no_objectives Number of objectives
-   * @return true if point1 weakly dominates 'points2' with respect to the to
-   * the first 'no_objectives' objectives
-   */
-  /*private boolean weaklyDominates(ArrayList<Double> point1, ArrayList<Double> point2, int no_objectives) {
-   int i;
-   boolean worse_in_any_objective;
-
-   worse_in_any_objective = false;
-   for (i = 0; i < no_objectives && !worse_in_any_objective; i++) {
-   if (point1.get(i) < point2.get(i)) {
-   worse_in_any_objective = true;
-   }
-   }
-   return (!worse_in_any_objective);
-   }*/
-
-  /**
-   * Swap two points in a front
-   * @param front The front
-   * @param i Point i
-   * @param j Point j
-   */
-  private void swap(Solutions<Variable<?>> front, int i, int j) {
-    Solution<Variable<?>> tempI, tempJ;
-
-    tempI = front.get(i);
-    tempJ = front.get(j);
-    front.set(i, tempJ);
-    front.set(j, tempI);
-  }
-
-  /**
-   * All non-dominated points regarding the first 'no_objectives' dimensions are
-   * collected; the points 0..no_points-1 in 'front' are considered; the points
-   * in 'front' are resorted, such that points [0..n-1] represent the
-   * non-dominated points; n is returned
-   *
-   * @param front The Front under consideration
-   * @param no_points Number of points considered (from 0 to no_points-1)
-   * @param no_objectives Numbger of objectives considered
-   * @return The first n points that are non-dominated
-   */
-  private int filterNondominatedSet(Solutions<Variable<?>> front, int no_points, int no_objectives) {
-    int i, j;
-    int n;
-
-    n = no_points;
-    i = 0;
-    while (i < n) {
-      j = i + 1;
-      while (j < n) {
-        if (dominates(front.get(i).getObjectives(), front.get(j).getObjectives(), no_objectives)) {
-          // remove point 'j'
-          n--;
-          swap(front, j, n);
-        } else if (dominates(front.get(j).getObjectives(), front.get(i).getObjectives(), no_objectives)) {
-          // remove point 'i'; ensure that the point 
-          // copied to index 'i' is considered in the next 
-          // outer loop (thus, decrement i)
-          n--;
-          swap(front, i, n);
-          i--;
-          break;
-        } else {
-          j++;
-        }
-      }
-      i++;
-    }
-    return n;
-  }
-
-  /**
-   * calculate next value regarding dimension 'objective'; consider points
-   * 0..no_points-1 in 'front'
-   *
-   * @param front Front under consideration
-   * @param no_points Number of points
-   * @param objective Objective
-   * @return The minimum value
-   * @throws Exception if no_points is less than 1
+   * Get the error bounds of the last hypervolumes calculated, that is, the
+   * half-widths of their confidence intervals. They are zero unless the
+   * hypervolumes are approximated.
+   * @return The error bounds, with the same layout as the hypervolumes
    */
-  private double surfaceUnchangedTo(Solutions<Variable<?>> front, int no_points, int objective) {
-    int i;
-    double min;
-    double value;
-
-    if (no_points < 1) {
-      System.err.println("Run-time error. no_points must be greater or equal than 1");
-    }
-    min = front.get(0).getObjectives().get(objective);
-    for (i = 1; i < no_points; i++) {
-      value = front.get(i).getObjectives().get(objective);
-      if (value < min) {
-        min = value;
-      }
-    }
-
-    return min;
+  public ArrayList<ArrayList<Double>> getErrorBounds() {
+    return errorBounds;
   }
 
   /**
-   * Remove all points which have a value <= 'threshold' regarding the dimension
-   * 'objective'; the points [0..no_points-1] in 'front' are considered; 'front'
-   * is resorted, such that points [0..n-1] represent the remaining points; 'n'
-   * is returned
+   * Sets the Monte Carlo approximation used instead of the exact
+   * hypervolume, for fronts with many objectives.
+   * @param approximation Monte Carlo approximation, or null to compute exact
+   * hypervolumes
    */
-  int reduceNondominatedSet(Solutions<Variable<?>> front, int no_points, int objective, double threshold) {
-    int n;
-    int i;
-
-    n = no_points;
-    for (i = 0; i < n; i++) {
-      if (front.get(i).getObjectives().get(objective) <= threshold) {
-        n--;
-        swap(front, i, n);
-      }
-    }
-    return n;
+  public void setApproximation(MonteCarloHyperVolume approximation) {
+    this.approximation = approximation;
   }
 
   /**
-   * Calculate the hypervolume of a front
+   * Calculate the hypervolume of a front with respect to the nadir point,
+   * with the exact algorithms of {@link HyperVolume}, or with the Monte
+   * Carlo approximation if it is set. The objectives of the front are not
+   * modified.
    * @param front The front
-   * @param no_points Number of points
-   * @param no_objectives Number of objectives
-   * @return The hypervolume
+   * @return The hypervolume and its error bound
    */
-  private double calcHypervolume(Solutions<Variable<?>> front, int no_points, int no_objectives) {
-    int n;
-    double volume, distance;
-
-    volume = 0;
-    distance = 0;
-    n = no_points;
-    while (n > 0) {
-      int no_nondominated_points;
-      double temp_vol, temp_dist;
-
-      no_nondominated_points = filterNondominatedSet(front, n,
-              no_objectives - 1);
-      if (no_objectives < 3) {
-        if (no_nondominated_points < 1) {
-          System.err.println("Run-time error. The number of non-dominated points must be greater than zero.");
-        }
-        temp_vol = front.get(0).getObjectives().get(0);
-      } else {
-        temp_vol = calcHypervolume(front, no_nondominated_points,
-                no_objectives - 1);
-      }
-      temp_dist = surfaceUnchangedTo(front, n, no_objectives - 1);
-      volume += temp_vol * (temp_dist - distance);
-      distance = temp_dist;
-      n = reduceNondominatedSet(front, n, no_objectives - 1, distance);
-    }
-
-    return volume;
-  }
-
-  private double calcIndValue(Solutions<Variable<?>> front) {
-    int i, k;
-    double temp;
-
-    /* re-calculate objective values relative to reference point */
-    for (i = 0; i < front.size(); i++) {
+  private MonteCarloHyperVolume.Estimate calcIndValue(Solutions<Variable<?>> front) {
+    double[][] points = new double[front.size()][dim];
+    for (int i = 0; i < front.size(); i++) {
       Solution<Variable<?>> solution = front.get(i);
-      for (k = 0; k < dim; k++) {
-        temp = nadir[k] - solution.getObjectives().get(k);
-        if (temp < 0) {
+      for (int k = 0; k < dim; k++) {
+        points[i][k] = solution.getObjectives().get(k);
+        if (points[i][k] > nadir[k]) {
           System.err.println("Error in data or reference set file. Reference points must be the anti-optimal values.");
         }
-        solution.getObjectives().set(k, temp);
       }
     }
-    /* calculate indicator values */
-    return calcHypervolume(front, front.size(), dim);
+    if (approximation != null) {
+      return approximation.estimate(points, nadir);
+    }
+    return new MonteCarloHyperVolume.Estimate(HyperVolume.compute(points, nadir), 0, 0);
   }
 
   public static void main(String[] args) {
     if (args.length == 0) {
       System.err.println("Usage:");
-      System.err.println("java -jar " + UnaryHyperVolume.class.getSimpleName() + ".jar [-ref <PathToReferenceFront>] -dat <PathToFrontsFile1> -dat <PathToFrontsFile2> ...");
+      System.err.println("java -jar " + UnaryHyperVolume.class.getSimpleName() + ".jar [-ref <PathToReferenceFront>] [-mc <MaxError>] -dat <PathToFrontsFile1> -dat <PathToFrontsFile2> ...");
       System.err.println("java -jar " + UnaryHyperVolume.class.getSimpleName() + ".jar -dat NSGAIIfronts.txt");
       return;
     }
     ArrayList<String> dataPaths = new ArrayList<String>();
     String refPath = null;
+    double maxError = -1;
     int i = 0;
     while (i < args.length) {
       if (args[i].equals("-ref")) {
         refPath = args[++i];
+      } else if (args[i].equals("-mc")) {
+        maxError = Double.valueOf(args[++i]);
       } else if (args[i].equals("-dat")) {
         dataPaths.add(args[++i]);
       }
@@ -433,13 +290,21 @@ public class UnaryHyperVolume {
       } else {
         hyperVolume = new UnaryHyperVolume(dataPaths, refPath);
       }
+      if (maxError > 0) {
+        hyperVolume.setApproximation(new MonteCarloHyperVolume(0.95, maxError, 100000000L, 1));
+      }
       hyperVolume.normalize();
       ArrayList<ArrayList<Double>> volumesSet = hyperVolume.calculateHyperVolumes();
       for (i = 0; i < volumesSet.size(); ++i) {
         ArrayList<Double> volumes = volumesSet.get(i);
+        ArrayList<Double> errors = hyperVolume.getErrorBounds().get(i);
         System.out.println("HyperVolumes for:  " + dataPaths.get(i));
-        for (Double volume : volumes) {
-          System.out.println(volume);
+        for (int j = 0; j < volumes.size(); ++j) {
+          if (maxError > 0) {
+            System.out.println(volumes.get(j) + " +/- " + errors.get(j));
+          } else {
+            System.out.println(volumes.get(j));
+          }
         }
         System.out.println("--------------------------------------");
         System.out.println("AVG=" + Maths.mean(volumes) + ", STD=" + Maths.std(volumes) + "\n");